@@ -0,0 +1,65 @@
+package com.blog.reactive.controller;
+
+import com.blog.dto.CommentDto;
+import com.blog.reactive.service.ReactiveCommentService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/posts/{postId}/comments")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveCommentController {
+
+    private final ReactiveCommentService commentService;
+
+    @GetMapping
+    public Mono<ResponseEntity<List<CommentDto>>> getComments(@PathVariable Long postId) {
+        return commentService.getCommentsByPostId(postId)
+                .collectList()
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<CommentDto>> getComment(
+            @PathVariable Long postId,
+            @PathVariable Long id
+    ) {
+        return commentService.getCommentById(postId, id)
+                .map(ResponseEntity::ok);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<CommentDto>> createComment(
+            @PathVariable Long postId,
+            @RequestBody CommentDto commentDto
+    ) {
+        return commentService.createComment(postId, commentDto)
+                .map(created -> ResponseEntity.status(HttpStatus.CREATED).body(created));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<CommentDto>> updateComment(
+            @PathVariable Long postId,
+            @PathVariable Long id,
+            @RequestBody CommentDto commentDto
+    ) {
+        return commentService.updateComment(postId, id, commentDto)
+                .map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteComment(
+            @PathVariable Long postId,
+            @PathVariable Long id
+    ) {
+        return commentService.deleteComment(postId, id)
+                .then(Mono.just(ResponseEntity.ok().build()));
+    }
+}
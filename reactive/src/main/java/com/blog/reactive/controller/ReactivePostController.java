@@ -0,0 +1,90 @@
+package com.blog.reactive.controller;
+
+import com.blog.dto.PostDto;
+import com.blog.dto.PostListResponseDto;
+import com.blog.reactive.service.ReactivePostService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.multipart.FilePart;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/posts")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactivePostController {
+
+    private final ReactivePostService postService;
+
+    @GetMapping
+    public Mono<ResponseEntity<PostListResponseDto>> getPosts(
+            @RequestParam String search,
+            @RequestParam int pageNumber,
+            @RequestParam int pageSize
+    ) {
+        return postService.getPostsWithPagination(search, pageNumber, pageSize)
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<PostDto>> getPost(@PathVariable Long id) {
+        return postService.getPostById(id)
+                .map(ResponseEntity::ok);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<PostDto>> createPost(@RequestBody PostDto postDto) {
+        return postService.createPost(postDto)
+                .map(created -> ResponseEntity.status(HttpStatus.CREATED).body(created));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<PostDto>> updatePost(@PathVariable Long id, @RequestBody PostDto postDto) {
+        return postService.updatePost(id, postDto)
+                .map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deletePost(@PathVariable Long id) {
+        return postService.deletePost(id)
+                .then(Mono.just(ResponseEntity.ok().build()));
+    }
+
+    @PostMapping("/{id}/likes")
+    public Mono<ResponseEntity<Integer>> addLike(@PathVariable Long id) {
+        return postService.addLike(id)
+                .map(ResponseEntity::ok);
+    }
+
+    @PutMapping("/{id}/image")
+    public Mono<ResponseEntity<Void>> updatePostImage(
+            @PathVariable Long id,
+            @RequestPart("image") Mono<FilePart> imageFile
+    ) {
+        return imageFile
+                .flatMap(file -> DataBufferUtils.join(file.content()))
+                .map(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    DataBufferUtils.release(buffer);
+                    return bytes;
+                })
+                .flatMap(bytes -> postService.updatePostImage(id, bytes))
+                .then(Mono.just(ResponseEntity.ok().build()));
+    }
+
+    @GetMapping("/{id}/image")
+    public Mono<ResponseEntity<byte[]>> getPostImage(@PathVariable Long id) {
+        return postService.getPostImage(id)
+                .filter(imageData -> imageData.length > 0)
+                .map(imageData -> ResponseEntity.ok()
+                        .contentType(MediaType.IMAGE_JPEG)
+                        .body(imageData))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
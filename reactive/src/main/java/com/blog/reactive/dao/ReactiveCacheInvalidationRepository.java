@@ -0,0 +1,37 @@
+package com.blog.reactive.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Publishes cache invalidations for the servlet nodes, with the same log row and {@code NOTIFY}
+ * payload as {@link com.blog.dao.CacheInvalidationRepository}. This module caches nothing itself,
+ * so it only writes and never listens.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveCacheInvalidationRepository {
+
+    // Entity names understood by the servlet caches.
+    public static final String POST = "post";
+    public static final String POST_IMAGE = "post-image";
+    public static final String TAGS = "tags";
+
+    private static final String CHANNEL = "cache_invalidations";
+    private static final String ORIGIN = "reactive";
+
+    private final DatabaseClient databaseClient;
+
+    // Must run inside the writing transaction; the notification goes out when it commits.
+    public Mono<Void> publish(String entity, Long entityId) {
+        return databaseClient.sql("WITH inserted AS (INSERT INTO cache_invalidations (entity, entity_id, origin) VALUES ($1, $2, $3) RETURNING id, entity, entity_id, origin) " +
+                        "SELECT pg_notify('" + CHANNEL + "', id || ':' || entity || ':' || COALESCE(entity_id::text, '') || ':' || origin || ':' || " +
+                        "(extract(epoch FROM clock_timestamp()) * 1000)::bigint) FROM inserted")
+                .bind(0, entity)
+                .bind(1, entityId)
+                .bind(2, ORIGIN)
+                .then();
+    }
+}
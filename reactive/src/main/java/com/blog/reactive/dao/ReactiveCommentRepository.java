@@ -0,0 +1,82 @@
+package com.blog.reactive.dao;
+
+import com.blog.model.Comment;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@Repository
+@RequiredArgsConstructor
+public class ReactiveCommentRepository {
+
+    private final DatabaseClient databaseClient;
+
+    private static Comment mapComment(Readable row) {
+        return Comment.builder()
+                .id(row.get("id", Long.class))
+                .text(row.get("text", String.class))
+                .postId(row.get("post_id", Long.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .build();
+    }
+
+    public Mono<Comment> findByIdAndPostId(Long id, Long postId) {
+        return databaseClient.sql("SELECT c.* FROM comments c INNER JOIN posts p ON p.id = c.post_id WHERE c.id = $1 AND c.post_id = $2 AND p.deleted_at IS NULL")
+                .bind(0, id)
+                .bind(1, postId)
+                .map(ReactiveCommentRepository::mapComment)
+                .one();
+    }
+
+    public Flux<Comment> findByPostId(Long postId) {
+        return databaseClient.sql("SELECT * FROM comments WHERE post_id = $1 ORDER BY created_at DESC")
+                .bind(0, postId)
+                .map(ReactiveCommentRepository::mapComment)
+                .all();
+    }
+
+    public Mono<Integer> countByPostId(Long postId) {
+        return databaseClient.sql("SELECT COUNT(*) FROM comments WHERE post_id = $1")
+                .bind(0, postId)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .map(Long::intValue)
+                .defaultIfEmpty(0);
+    }
+
+    public Mono<Comment> save(Comment comment) {
+        if (comment.getId() == null) {
+            return databaseClient.sql("INSERT INTO comments (text, post_id, created_at, updated_at) VALUES ($1, $2, $3, $4) RETURNING id")
+                    .bind(0, comment.getText())
+                    .bind(1, comment.getPostId())
+                    .bind(2, comment.getCreatedAt())
+                    .bind(3, comment.getUpdatedAt())
+                    .map(row -> row.get("id", Long.class))
+                    .one()
+                    .map(id -> {
+                        comment.setId(id);
+                        return comment;
+                    });
+        }
+        return databaseClient.sql("UPDATE comments SET text = $1, updated_at = $2 WHERE id = $3 AND post_id = $4")
+                .bind(0, comment.getText())
+                .bind(1, comment.getUpdatedAt())
+                .bind(2, comment.getId())
+                .bind(3, comment.getPostId())
+                .then()
+                .thenReturn(comment);
+    }
+
+    public Mono<Void> deleteByIdAndPostId(Long id, Long postId) {
+        return databaseClient.sql("DELETE FROM comments WHERE id = $1 AND post_id = $2")
+                .bind(0, id)
+                .bind(1, postId)
+                .then();
+    }
+}
@@ -0,0 +1,199 @@
+package com.blog.reactive.dao;
+
+import com.blog.model.Post;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Non-blocking counterpart of {@link com.blog.dao.PostRepository} with the same SQL. Nothing
+ * waits on a thread while a query is in flight; results are emitted on the R2DBC event loop.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactivePostRepository {
+
+    // The image is not needed for post bodies and is read separately.
+    private static final String POST_COLUMNS = "id, title, text, likes_count, view_count, created_at, updated_at";
+
+    private final DatabaseClient databaseClient;
+
+    private static Post mapPost(Readable row) {
+        return Post.builder()
+                .id(row.get("id", Long.class))
+                .title(row.get("title", String.class))
+                .text(row.get("text", String.class))
+                .likesCount(row.get("likes_count", Integer.class))
+                .viewCount(row.get("view_count", Long.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .build();
+    }
+
+    public Mono<Post> findById(Long id) {
+        return databaseClient.sql("SELECT " + POST_COLUMNS + " FROM posts WHERE id = $1 AND deleted_at IS NULL")
+                .bind(0, id)
+                .map(ReactivePostRepository::mapPost)
+                .one();
+    }
+
+    public Mono<Boolean> existsById(Long id) {
+        return databaseClient.sql("SELECT EXISTS (SELECT 1 FROM posts WHERE id = $1 AND deleted_at IS NULL)")
+                .bind(0, id)
+                .map(row -> row.get(0, Boolean.class))
+                .one();
+    }
+
+    public Flux<Post> findByTitleContainingPaginated(String title, int pageSize, int offset) {
+        return databaseClient.sql("SELECT " + POST_COLUMNS + " FROM posts WHERE deleted_at IS NULL AND LOWER(title) LIKE LOWER($1) ORDER BY created_at DESC LIMIT $2 OFFSET $3")
+                .bind(0, "%" + title + "%")
+                .bind(1, pageSize)
+                .bind(2, offset)
+                .map(ReactivePostRepository::mapPost)
+                .all();
+    }
+
+    public Flux<Post> findByTagsPaginated(List<String> tags, int tagCount, int pageSize, int offset) {
+        return databaseClient.sql("SELECT p.id, p.title, p.text, p.likes_count, p.view_count, p.created_at, p.updated_at FROM posts p INNER JOIN post_tags pt ON p.id = pt.post_id WHERE p.deleted_at IS NULL AND pt.tag = ANY($1) GROUP BY p.id HAVING COUNT(DISTINCT pt.tag) = $2 ORDER BY p.created_at DESC LIMIT $3 OFFSET $4")
+                .bind(0, toSqlArray(tags))
+                .bind(1, tagCount)
+                .bind(2, pageSize)
+                .bind(3, offset)
+                .map(ReactivePostRepository::mapPost)
+                .all();
+    }
+
+    public Flux<Post> findByTitleAndTagsPaginated(String title, List<String> tags, int tagCount, int pageSize, int offset) {
+        return databaseClient.sql("SELECT p.id, p.title, p.text, p.likes_count, p.view_count, p.created_at, p.updated_at FROM posts p INNER JOIN post_tags pt ON p.id = pt.post_id WHERE p.deleted_at IS NULL AND LOWER(p.title) LIKE LOWER($1) AND pt.tag = ANY($2) GROUP BY p.id HAVING COUNT(DISTINCT pt.tag) = $3 ORDER BY p.created_at DESC LIMIT $4 OFFSET $5")
+                .bind(0, "%" + title + "%")
+                .bind(1, toSqlArray(tags))
+                .bind(2, tagCount)
+                .bind(3, pageSize)
+                .bind(4, offset)
+                .map(ReactivePostRepository::mapPost)
+                .all();
+    }
+
+    public Mono<Integer> countByTitleContaining(String title) {
+        return count(databaseClient.sql("SELECT COUNT(*) FROM posts WHERE deleted_at IS NULL AND LOWER(title) LIKE LOWER($1)")
+                .bind(0, "%" + title + "%"));
+    }
+
+    public Mono<Integer> countByTags(List<String> tags, int tagCount) {
+        return count(databaseClient.sql("SELECT COUNT(*) FROM (SELECT pt.post_id FROM post_tags pt INNER JOIN posts p ON p.id = pt.post_id WHERE p.deleted_at IS NULL AND pt.tag = ANY($1) GROUP BY pt.post_id HAVING COUNT(DISTINCT pt.tag) = $2) matched")
+                .bind(0, toSqlArray(tags))
+                .bind(1, tagCount));
+    }
+
+    public Mono<Integer> countByTitleAndTags(String title, List<String> tags, int tagCount) {
+        return count(databaseClient.sql("SELECT COUNT(*) FROM (SELECT p.id FROM posts p INNER JOIN post_tags pt ON p.id = pt.post_id WHERE p.deleted_at IS NULL AND LOWER(p.title) LIKE LOWER($1) AND pt.tag = ANY($2) GROUP BY p.id HAVING COUNT(DISTINCT pt.tag) = $3) matched")
+                .bind(0, "%" + title + "%")
+                .bind(1, toSqlArray(tags))
+                .bind(2, tagCount));
+    }
+
+    public Flux<String> findTagsByPostId(Long postId) {
+        return databaseClient.sql("SELECT tag FROM post_tags WHERE post_id = $1")
+                .bind(0, postId)
+                .map(row -> row.get("tag", String.class))
+                .all();
+    }
+
+    public Mono<Post> save(Post post) {
+        if (post.getId() == null) {
+            return databaseClient.sql("INSERT INTO posts (title, text, likes_count, created_at, updated_at) VALUES ($1, $2, $3, $4, $5) RETURNING id")
+                    .bind(0, post.getTitle())
+                    .bind(1, post.getText())
+                    .bind(2, post.getLikesCount())
+                    .bind(3, post.getCreatedAt())
+                    .bind(4, post.getUpdatedAt())
+                    .map(row -> row.get("id", Long.class))
+                    .one()
+                    .map(id -> {
+                        post.setId(id);
+                        return post;
+                    });
+        }
+        return databaseClient.sql("UPDATE posts SET title = $1, text = $2, updated_at = $3 WHERE id = $4 AND deleted_at IS NULL")
+                .bind(0, post.getTitle())
+                .bind(1, post.getText())
+                .bind(2, post.getUpdatedAt())
+                .bind(3, post.getId())
+                .then()
+                .thenReturn(post);
+    }
+
+    // Atomic in one statement, so concurrent likes need neither a read nor a row lock held across round trips.
+    public Mono<Integer> incrementLikes(Long id, LocalDateTime updatedAt) {
+        return databaseClient.sql("UPDATE posts SET likes_count = likes_count + 1, updated_at = $1 WHERE id = $2 AND deleted_at IS NULL RETURNING likes_count")
+                .bind(0, updatedAt)
+                .bind(1, id)
+                .map(row -> row.get("likes_count", Integer.class))
+                .one();
+    }
+
+    public Mono<byte[]> findImageById(Long id) {
+        return databaseClient.sql("SELECT image FROM posts WHERE id = $1 AND deleted_at IS NULL AND image IS NOT NULL")
+                .bind(0, id)
+                .map(row -> toBytes(row.get("image", ByteBuffer.class)))
+                .one();
+    }
+
+    public Mono<Long> updateImage(Long id, byte[] image, LocalDateTime updatedAt) {
+        return databaseClient.sql("UPDATE posts SET image = $1, image_version = image_version + 1, updated_at = $2 WHERE id = $3 AND deleted_at IS NULL")
+                .bind(0, ByteBuffer.wrap(image))
+                .bind(1, updatedAt)
+                .bind(2, id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Void> saveTags(Long postId, Set<String> tags) {
+        if (tags == null || tags.isEmpty()) return Mono.empty();
+        return databaseClient.sql("INSERT INTO post_tags (post_id, tag) SELECT $1, unnest($2::varchar[])")
+                .bind(0, postId)
+                .bind(1, tags.toArray(String[]::new))
+                .then();
+    }
+
+    public Flux<String> deleteTags(Long postId) {
+        return databaseClient.sql("DELETE FROM post_tags WHERE post_id = $1 RETURNING tag")
+                .bind(0, postId)
+                .map(row -> row.get("tag", String.class))
+                .all();
+    }
+
+    // Same soft delete as PostRepository.markDeleted; PostPurgeService on the servlet nodes removes the rest.
+    public Mono<Long> markDeleted(Long id, LocalDateTime deletedAt) {
+        return databaseClient.sql("UPDATE posts SET deleted_at = $1 WHERE id = $2 AND deleted_at IS NULL")
+                .bind(0, deletedAt)
+                .bind(1, id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static Mono<Integer> count(DatabaseClient.GenericExecuteSpec spec) {
+        return spec.map(row -> row.get(0, Long.class))
+                .one()
+                .map(Long::intValue)
+                .defaultIfEmpty(0);
+    }
+
+    private static String[] toSqlArray(List<String> tags) {
+        return tags.toArray(String[]::new);
+    }
+
+    private static byte[] toBytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
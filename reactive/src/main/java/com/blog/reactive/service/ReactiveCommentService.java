@@ -0,0 +1,87 @@
+package com.blog.reactive.service;
+
+import com.blog.dto.CommentDto;
+import com.blog.exception.ResourceNotFoundException;
+import com.blog.model.Comment;
+import com.blog.reactive.dao.ReactiveCommentRepository;
+import com.blog.reactive.dao.ReactivePostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveCommentService {
+
+    private final ReactiveCommentRepository commentRepository;
+    private final ReactivePostRepository postRepository;
+
+    @Transactional(readOnly = true)
+    public Flux<CommentDto> getCommentsByPostId(Long postId) {
+        log.debug("Getting comments for post {}", postId);
+        return requirePost(postId)
+                .thenMany(commentRepository.findByPostId(postId))
+                .map(this::toDto);
+    }
+
+    @Transactional(readOnly = true)
+    public Mono<CommentDto> getCommentById(Long postId, Long commentId) {
+        log.debug("Getting comment {} for post {}", commentId, postId);
+        return findComment(postId, commentId).map(this::toDto);
+    }
+
+    @Transactional
+    public Mono<CommentDto> createComment(Long postId, CommentDto dto) {
+        log.debug("Creating comment for post {}", postId);
+        Comment comment = Comment.builder()
+                .postId(postId)
+                .text(dto.getText())
+                .build();
+        comment.initializeCreatedAt();
+        comment.updateTimestamp();
+        return requirePost(postId)
+                .then(commentRepository.save(comment))
+                .map(this::toDto);
+    }
+
+    @Transactional
+    public Mono<CommentDto> updateComment(Long postId, Long commentId, CommentDto dto) {
+        log.debug("Updating comment {} for post {}", commentId, postId);
+        return findComment(postId, commentId)
+                .flatMap(comment -> {
+                    comment.setText(dto.getText());
+                    comment.updateTimestamp();
+                    return commentRepository.save(comment);
+                })
+                .map(this::toDto);
+    }
+
+    @Transactional
+    public Mono<Void> deleteComment(Long postId, Long commentId) {
+        log.debug("Deleting comment {} for post {}", commentId, postId);
+        return findComment(postId, commentId)
+                .flatMap(comment -> commentRepository.deleteByIdAndPostId(comment.getId(), postId));
+    }
+
+    private Mono<Void> requirePost(Long postId) {
+        return postRepository.existsById(postId)
+                .flatMap(exists -> exists ? Mono.<Void>empty() : Mono.<Void>error(ResourceNotFoundException.postNotFound(postId)));
+    }
+
+    private Mono<Comment> findComment(Long postId, Long commentId) {
+        return commentRepository.findByIdAndPostId(commentId, postId)
+                .switchIfEmpty(Mono.error(() -> ResourceNotFoundException.commentNotFoundInPost(postId, commentId)));
+    }
+
+    private CommentDto toDto(Comment c) {
+        return CommentDto.builder()
+                .id(c.getId())
+                .text(c.getText())
+                .postId(c.getPostId())
+                .build();
+    }
+}
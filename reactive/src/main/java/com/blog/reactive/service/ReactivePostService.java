@@ -0,0 +1,170 @@
+package com.blog.reactive.service;
+
+import com.blog.dto.PostDto;
+import com.blog.dto.PostListResponseDto;
+import com.blog.exception.ResourceNotFoundException;
+import com.blog.model.Post;
+import com.blog.reactive.dao.ReactiveCacheInvalidationRepository;
+import com.blog.reactive.dao.ReactiveCommentRepository;
+import com.blog.reactive.dao.ReactivePostRepository;
+import com.blog.service.PostSearch;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactivePostService {
+
+    private final ReactivePostRepository postRepository;
+    private final ReactiveCommentRepository commentRepository;
+    private final ReactiveCacheInvalidationRepository cacheInvalidationRepository;
+
+    @Transactional(readOnly = true)
+    public Mono<PostListResponseDto> getPostsWithPagination(String search, int pageNumber, int pageSize) {
+        log.debug("Getting posts with search: '{}', page: {}, pageSize: {}", search, pageNumber, pageSize);
+
+        PostSearch params = PostSearch.parse(search);
+        int offset = (pageNumber - 1) * pageSize;
+
+        return findPosts(params, pageSize, offset)
+                .concatMap(this::convertToDto)
+                .map(PostDto::truncateText)
+                .collectList()
+                .zipWith(countPosts(params))
+                .map(page -> PostListResponseDto.page(page.getT1(), pageNumber, pageSize, page.getT2()));
+    }
+
+    @Transactional(readOnly = true)
+    public Mono<PostDto> getPostById(Long id) {
+        log.debug("Getting post with id: {}", id);
+        return findPost(id).flatMap(this::convertToDto);
+    }
+
+    @Transactional
+    public Mono<PostDto> createPost(PostDto postDto) {
+        log.debug("Creating post with title: {}", postDto.getTitle());
+
+        Post post = Post.builder()
+                .title(postDto.getTitle())
+                .text(postDto.getText())
+                .tags(postDto.getTags() != null ? postDto.getTags() : Set.of())
+                .viewCount(0L)
+                .build();
+        post.initializeCreatedAt();
+        post.initializeLikesCount();
+        post.updateTimestamp();
+
+        return postRepository.save(post)
+                .flatMap(saved -> postRepository.saveTags(saved.getId(), saved.getTags())
+                        .then(cacheInvalidationRepository.publish(ReactiveCacheInvalidationRepository.TAGS, saved.getId()))
+                        .thenReturn(saved))
+                .flatMap(this::convertToDto);
+    }
+
+    @Transactional
+    public Mono<PostDto> updatePost(Long id, PostDto postDto) {
+        log.debug("Updating post with id: {}", id);
+        Set<String> tags = postDto.getTags() != null ? postDto.getTags() : Set.of();
+        return findPost(id)
+                .flatMap(post -> {
+                    post.setTitle(postDto.getTitle());
+                    post.setText(postDto.getText());
+                    post.updateTimestamp();
+                    return postRepository.save(post);
+                })
+                .flatMap(post -> postRepository.deleteTags(id)
+                        .then(postRepository.saveTags(id, tags))
+                        .then(cacheInvalidationRepository.publish(ReactiveCacheInvalidationRepository.POST, id))
+                        .then(cacheInvalidationRepository.publish(ReactiveCacheInvalidationRepository.TAGS, id))
+                        .thenReturn(post))
+                .flatMap(this::convertToDto);
+    }
+
+    @Transactional
+    public Mono<Void> deletePost(Long id) {
+        log.debug("Deleting post with id: {}", id);
+        // Comments, tags and the image are removed later by PostPurgeService.
+        return postRepository.markDeleted(id, LocalDateTime.now())
+                .flatMap(updated -> updated > 0
+                        ? cacheInvalidationRepository.publish(ReactiveCacheInvalidationRepository.POST, id)
+                                .then(cacheInvalidationRepository.publish(ReactiveCacheInvalidationRepository.POST_IMAGE, id))
+                                .then(cacheInvalidationRepository.publish(ReactiveCacheInvalidationRepository.TAGS, id))
+                        : Mono.<Void>error(ResourceNotFoundException.postNotFound(id)));
+    }
+
+    @Transactional
+    public Mono<Integer> addLike(Long id) {
+        log.debug("Adding like to post with id: {}", id);
+        return postRepository.incrementLikes(id, LocalDateTime.now())
+                .switchIfEmpty(Mono.error(() -> ResourceNotFoundException.postNotFound(id)));
+    }
+
+    @Transactional
+    public Mono<Void> updatePostImage(Long id, byte[] imageData) {
+        log.debug("Updating image for post with id: {}", id);
+        return postRepository.updateImage(id, imageData, LocalDateTime.now())
+                .flatMap(updated -> updated > 0
+                        ? cacheInvalidationRepository.publish(ReactiveCacheInvalidationRepository.POST_IMAGE, id)
+                        : Mono.<Void>error(ResourceNotFoundException.postNotFound(id)));
+    }
+
+    // Empty when the post exists but has no image.
+    @Transactional(readOnly = true)
+    public Mono<byte[]> getPostImage(Long id) {
+        log.debug("Getting image for post with id: {}", id);
+        return postRepository.existsById(id)
+                .flatMap(exists -> exists
+                        ? postRepository.findImageById(id)
+                        : Mono.<byte[]>error(ResourceNotFoundException.postNotFound(id)));
+    }
+
+    private Mono<Post> findPost(Long id) {
+        return postRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> ResourceNotFoundException.postNotFound(id)));
+    }
+
+    private Flux<Post> findPosts(PostSearch params, int pageSize, int offset) {
+        if (params.hasText() && params.hasTags()) {
+            return postRepository.findByTitleAndTagsPaginated(params.text(), params.tags(),
+                    params.tags().size(), pageSize, offset);
+        } else if (params.hasTags()) {
+            return postRepository.findByTagsPaginated(params.tags(), params.tags().size(), pageSize, offset);
+        } else {
+            return postRepository.findByTitleContainingPaginated(params.titleFilter(), pageSize, offset);
+        }
+    }
+
+    private Mono<Integer> countPosts(PostSearch params) {
+        if (params.hasText() && params.hasTags()) {
+            return postRepository.countByTitleAndTags(params.text(), params.tags(), params.tags().size());
+        } else if (params.hasTags()) {
+            return postRepository.countByTags(params.tags(), params.tags().size());
+        } else {
+            return postRepository.countByTitleContaining(params.titleFilter());
+        }
+    }
+
+    // Sequential on purpose: inside a transaction both queries share one connection.
+    private Mono<PostDto> convertToDto(Post post) {
+        return postRepository.findTagsByPostId(post.getId())
+                .collectList()
+                .flatMap(tags -> commentRepository.countByPostId(post.getId())
+                        .map(commentsCount -> PostDto.builder()
+                                .id(post.getId())
+                                .title(post.getTitle())
+                                .text(post.getText())
+                                .tags(Set.copyOf(tags))
+                                .likesCount(post.getLikesCount())
+                                .commentsCount(commentsCount)
+                                .viewCount(post.getViewCount() != null ? post.getViewCount() : 0)
+                                .build()));
+    }
+}
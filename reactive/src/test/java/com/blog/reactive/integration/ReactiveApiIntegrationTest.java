@@ -0,0 +1,148 @@
+package com.blog.reactive.integration;
+
+import com.blog.dto.CommentDto;
+import com.blog.dto.PostDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers
+class ReactiveApiIntegrationTest {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void databaseProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.r2dbc.url", () -> "r2dbc:postgresql://" + postgres.getHost() + ":"
+                + postgres.getFirstMappedPort() + "/" + postgres.getDatabaseName());
+        registry.add("spring.r2dbc.username", postgres::getUsername);
+        registry.add("spring.r2dbc.password", postgres::getPassword);
+        registry.add("spring.flyway.url", postgres::getJdbcUrl);
+        registry.add("spring.flyway.user", postgres::getUsername);
+        registry.add("spring.flyway.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Test
+    void postLifecycleMatchesServletContract() {
+        PostDto created = webTestClient.post().uri("/api/posts")
+                .bodyValue(PostDto.builder().title("Reactive").text("Non-blocking").tags(Set.of("r2dbc")).build())
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(PostDto.class)
+                .returnResult()
+                .getResponseBody();
+
+        webTestClient.get().uri("/api/posts/{id}", created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Reactive")
+                .jsonPath("$.tags[0]").isEqualTo("r2dbc")
+                .jsonPath("$.likesCount").isEqualTo(0);
+
+        webTestClient.get().uri("/api/posts?search={search}&pageNumber=1&pageSize=10", "#r2dbc")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.posts[0].id").isEqualTo(created.getId().intValue())
+                .jsonPath("$.hasPrev").isEqualTo(false)
+                .jsonPath("$.lastPage").isEqualTo(1);
+
+        webTestClient.post().uri("/api/posts/{id}/likes", created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Integer.class).isEqualTo(1);
+
+        webTestClient.delete().uri("/api/posts/{id}", created.getId())
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.get().uri("/api/posts/{id}", created.getId())
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404);
+        assertThat(queryLong("SELECT COUNT(*) FROM posts WHERE id = $1 AND deleted_at IS NOT NULL", created.getId()))
+                .isEqualTo(1L);
+        assertThat(queryLong("SELECT COUNT(*) FROM cache_invalidations WHERE entity = 'post' AND entity_id = $1",
+                created.getId())).isEqualTo(1L);
+    }
+
+    @Test
+    void imageUploadBumpsVersionAndInvalidatesServletCaches() {
+        PostDto post = webTestClient.post().uri("/api/posts")
+                .bodyValue(PostDto.builder().title("With image").text("Body").build())
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(PostDto.class)
+                .returnResult()
+                .getResponseBody();
+        MultipartBodyBuilder image = new MultipartBodyBuilder();
+        image.part("image", new byte[]{1, 2, 3}).filename("image.png");
+
+        webTestClient.put().uri("/api/posts/{id}/image", post.getId())
+                .bodyValue(image.build())
+                .exchange()
+                .expectStatus().isOk();
+
+        assertThat(queryLong("SELECT image_version FROM posts WHERE id = $1", post.getId())).isEqualTo(1L);
+        assertThat(queryLong("SELECT COUNT(*) FROM cache_invalidations WHERE entity = 'post-image' AND entity_id = $1",
+                post.getId())).isEqualTo(1L);
+    }
+
+    @Test
+    void commentsAreCreatedAndListed() {
+        PostDto post = webTestClient.post().uri("/api/posts")
+                .bodyValue(PostDto.builder().title("With comments").text("Body").build())
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(PostDto.class)
+                .returnResult()
+                .getResponseBody();
+
+        webTestClient.post().uri("/api/posts/{postId}/comments", post.getId())
+                .bodyValue(CommentDto.builder().text("First").build())
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.postId").isEqualTo(post.getId().intValue());
+
+        webTestClient.get().uri("/api/posts/{postId}/comments", post.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].text").isEqualTo("First");
+
+        webTestClient.get().uri("/api/posts/{postId}/comments", 999_999)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    private Long queryLong(String sql, Long postId) {
+        return databaseClient.sql(sql)
+                .bind(0, postId)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block();
+    }
+}
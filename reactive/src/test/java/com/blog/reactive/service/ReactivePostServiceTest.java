@@ -0,0 +1,183 @@
+package com.blog.reactive.service;
+
+import com.blog.dto.PostDto;
+import com.blog.exception.ResourceNotFoundException;
+import com.blog.model.Post;
+import com.blog.reactive.dao.ReactiveCacheInvalidationRepository;
+import com.blog.reactive.dao.ReactiveCommentRepository;
+import com.blog.reactive.dao.ReactivePostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactivePostServiceTest {
+
+    @Mock
+    private ReactivePostRepository postRepository;
+
+    @Mock
+    private ReactiveCommentRepository commentRepository;
+
+    @Mock
+    private ReactiveCacheInvalidationRepository cacheInvalidationRepository;
+
+    @InjectMocks
+    private ReactivePostService postService;
+
+    private Post testPost;
+
+    @BeforeEach
+    void setUp() {
+        testPost = Post.builder()
+                .id(1L)
+                .title("Test Post")
+                .text("Test content")
+                .likesCount(5)
+                .viewCount(7L)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    void getPostByIdWhenPostExistsReturnsPostDto() {
+        when(postRepository.findById(1L)).thenReturn(Mono.just(testPost));
+        when(postRepository.findTagsByPostId(1L)).thenReturn(Flux.just("java"));
+        when(commentRepository.countByPostId(1L)).thenReturn(Mono.just(2));
+
+        StepVerifier.create(postService.getPostById(1L))
+                .assertNext(post -> {
+                    assertThat(post.getTitle()).isEqualTo("Test Post");
+                    assertThat(post.getTags()).containsExactly("java");
+                    assertThat(post.getCommentsCount()).isEqualTo(2);
+                    assertThat(post.getViewCount()).isEqualTo(7L);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getPostByIdWhenPostNotExistsSignalsResourceNotFound() {
+        when(postRepository.findById(999L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(postService.getPostById(999L))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void getPostsWithPaginationUsesTagQueriesForHashtags() {
+        when(postRepository.findByTitleAndTagsPaginated("spring", List.of("java"), 1, 10, 10))
+                .thenReturn(Flux.just(testPost));
+        when(postRepository.countByTitleAndTags("spring", List.of("java"), 1)).thenReturn(Mono.just(11));
+        when(postRepository.findTagsByPostId(1L)).thenReturn(Flux.just("java"));
+        when(commentRepository.countByPostId(1L)).thenReturn(Mono.just(0));
+
+        StepVerifier.create(postService.getPostsWithPagination("spring #java", 2, 10))
+                .assertNext(page -> {
+                    assertThat(page.getPosts()).extracting(PostDto::getId).containsExactly(1L);
+                    assertThat(page.getHasPrev()).isTrue();
+                    assertThat(page.getHasNext()).isFalse();
+                    assertThat(page.getLastPage()).isEqualTo(2);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void createPostSavesPostAndTags() {
+        PostDto input = PostDto.builder().title("New").text("Body").tags(Set.of("java")).build();
+        when(postRepository.save(any(Post.class))).thenAnswer(invocation -> {
+            Post post = invocation.getArgument(0);
+            post.setId(3L);
+            return Mono.just(post);
+        });
+        when(postRepository.saveTags(3L, Set.of("java"))).thenReturn(Mono.empty());
+        when(cacheInvalidationRepository.publish(ReactiveCacheInvalidationRepository.TAGS, 3L)).thenReturn(Mono.empty());
+        when(postRepository.findTagsByPostId(3L)).thenReturn(Flux.just("java"));
+        when(commentRepository.countByPostId(3L)).thenReturn(Mono.just(0));
+
+        StepVerifier.create(postService.createPost(input))
+                .assertNext(post -> {
+                    assertThat(post.getId()).isEqualTo(3L);
+                    assertThat(post.getLikesCount()).isZero();
+                })
+                .verifyComplete();
+        verify(cacheInvalidationRepository).publish(ReactiveCacheInvalidationRepository.TAGS, 3L);
+    }
+
+    @Test
+    void deletePostMarksItDeletedAndInvalidatesServletCaches() {
+        when(postRepository.markDeleted(eq(1L), any(LocalDateTime.class))).thenReturn(Mono.just(1L));
+        when(cacheInvalidationRepository.publish(anyString(), eq(1L))).thenReturn(Mono.empty());
+
+        StepVerifier.create(postService.deletePost(1L))
+                .verifyComplete();
+        verify(cacheInvalidationRepository).publish(ReactiveCacheInvalidationRepository.POST, 1L);
+        verify(cacheInvalidationRepository).publish(ReactiveCacheInvalidationRepository.POST_IMAGE, 1L);
+        verify(cacheInvalidationRepository).publish(ReactiveCacheInvalidationRepository.TAGS, 1L);
+        verifyNoInteractions(commentRepository);
+    }
+
+    @Test
+    void deletePostWhenPostNotExistsSignalsResourceNotFound() {
+        when(postRepository.markDeleted(eq(999L), any(LocalDateTime.class))).thenReturn(Mono.just(0L));
+
+        StepVerifier.create(postService.deletePost(999L))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+        verifyNoInteractions(cacheInvalidationRepository);
+    }
+
+    @Test
+    void addLikeReturnsIncrementedCount() {
+        when(postRepository.incrementLikes(eq(1L), any(LocalDateTime.class))).thenReturn(Mono.just(6));
+
+        StepVerifier.create(postService.addLike(1L))
+                .expectNext(6)
+                .verifyComplete();
+    }
+
+    @Test
+    void addLikeWhenPostNotExistsSignalsResourceNotFound() {
+        when(postRepository.incrementLikes(eq(999L), any(LocalDateTime.class))).thenReturn(Mono.empty());
+
+        StepVerifier.create(postService.addLike(999L))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void updatePostImagePublishesImageInvalidation() {
+        byte[] image = {1, 2, 3};
+        when(postRepository.updateImage(eq(1L), eq(image), any(LocalDateTime.class))).thenReturn(Mono.just(1L));
+        when(cacheInvalidationRepository.publish(ReactiveCacheInvalidationRepository.POST_IMAGE, 1L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(postService.updatePostImage(1L, image))
+                .verifyComplete();
+        verify(cacheInvalidationRepository).publish(ReactiveCacheInvalidationRepository.POST_IMAGE, 1L);
+    }
+
+    @Test
+    void updatePostImageWhenPostNotExistsPublishesNothing() {
+        when(postRepository.updateImage(eq(999L), any(byte[].class), any(LocalDateTime.class))).thenReturn(Mono.just(0L));
+
+        StepVerifier.create(postService.updatePostImage(999L, new byte[]{1}))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+        verifyNoInteractions(cacheInvalidationRepository);
+    }
+}
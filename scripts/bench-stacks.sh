@@ -0,0 +1,70 @@
+#!/bin/sh
+# Compares the servlet and reactive stacks on the same database and the same requests.
+# Needs a running PostgreSQL (DB_URL / DB_USER / DB_PASSWORD) and wrk on PATH.
+# Usage: scripts/bench-stacks.sh [duration] [connections...]   e.g. scripts/bench-stacks.sh 30s 100 1000 5000
+set -eu
+
+DURATION=${1:-30s}
+[ $# -gt 0 ] && shift
+CONNECTIONS=${*:-"100 1000 5000"}
+DB_HOST=${DB_HOST:-localhost:5432}
+DB_NAME=${DB_NAME:-blogdb}
+DB_USER=${DB_USER:-bloguser}
+DB_PASSWORD=${DB_PASSWORD:-password}
+THREADS=${THREADS:-8}
+POSTS=${POSTS:-1000}
+
+SERVLET_JAR=$(ls build/libs/my-blog-back-app-*.jar | grep -v plain | head -n 1)
+REACTIVE_JAR=$(ls reactive/build/libs/my-blog-back-app-reactive-*.jar | grep -v plain | head -n 1)
+
+wait_for() {
+    for _ in $(seq 1 60); do
+        curl -fs "$1/actuator/health" > /dev/null && return 0
+        sleep 1
+    done
+    echo "$1 did not start" >&2
+    return 1
+}
+
+# Admission control and coalescing would measure the filters, not the stack: switch them off.
+java -jar "$SERVLET_JAR" --server.port=8080 \
+    --spring.datasource.url="jdbc:postgresql://$DB_HOST/$DB_NAME" \
+    --spring.datasource.username="$DB_USER" --spring.datasource.password="$DB_PASSWORD" \
+    --blog.admission.rate-per-second=100000000 --blog.admission.burst=100000000 \
+    --blog.admission.concurrency='{:}' --blog.cache.posts.ttl-ms=0 \
+    --server.tomcat.threads.max=200 > build/bench-servlet.log 2>&1 &
+SERVLET_PID=$!
+java -jar "$REACTIVE_JAR" --server.port=8081 \
+    --spring.r2dbc.url="r2dbc:postgresql://$DB_HOST/$DB_NAME" \
+    --spring.r2dbc.username="$DB_USER" --spring.r2dbc.password="$DB_PASSWORD" \
+    --spring.flyway.url="jdbc:postgresql://$DB_HOST/$DB_NAME" \
+    --spring.flyway.user="$DB_USER" --spring.flyway.password="$DB_PASSWORD" > build/bench-reactive.log 2>&1 &
+REACTIVE_PID=$!
+trap 'kill $SERVLET_PID $REACTIVE_PID 2>/dev/null' EXIT INT TERM
+
+wait_for http://localhost:8080
+wait_for http://localhost:8081
+
+for i in $(seq 1 "$POSTS"); do
+    curl -fs -X POST http://localhost:8080/api/posts -H 'Content-Type: application/json' \
+        -d "{\"title\":\"Bench $i\",\"text\":\"Benchmark post $i\",\"tags\":[\"bench\"]}" > /dev/null
+done
+POST_ID=$(curl -fs "http://localhost:8080/api/posts?search=&pageNumber=1&pageSize=1" | sed -n 's/.*"id":\([0-9]*\).*/\1/p')
+
+printf '%-9s %-6s %-12s %12s %10s %10s %8s\n' stack conns endpoint 'req/s' p50 p99 errors
+for conns in $CONNECTIONS; do
+    for stack in servlet:8080 reactive:8081; do
+        name=${stack%%:*}
+        port=${stack##*:}
+        for endpoint in "post:/api/posts/$POST_ID" "page:/api/posts?search=%23bench&pageNumber=1&pageSize=10"; do
+            label=${endpoint%%:*}
+            path=${endpoint#*:}
+            wrk -t"$THREADS" -c"$conns" -d"$DURATION" --latency "http://localhost:$port$path" > build/bench-wrk.txt 2>&1 || true
+            rps=$(awk '/Requests\/sec/ {print $2}' build/bench-wrk.txt)
+            p50=$(awk '$1 == "50%" {print $2}' build/bench-wrk.txt)
+            p99=$(awk '$1 == "99%" {print $2}' build/bench-wrk.txt)
+            errors=$(awk '/Socket errors|Non-2xx/ {n++} END {print n ? "yes" : "no"}' build/bench-wrk.txt)
+            printf '%-9s %-6s %-12s %12s %10s %10s %8s\n' "$name" "$conns" "$label" "$rps" "$p50" "$p99" "$errors"
+        done
+    done
+done
@@ -0,0 +1,60 @@
+#!/bin/sh
+# Cold-start benchmark: time from JVM launch to the first successful API response, and the RSS of the
+# process at that moment, for each launch mode. Prints the median of RUNS launches per mode.
+# Needs a running PostgreSQL (DB_URL / DB_USER / DB_PASSWORD) and `./gradlew cdsArchive bootJar`.
+# Usage: scripts/bench-startup.sh [runs]
+set -eu
+
+RUNS=${1:-5}
+PORT=${PORT:-8090}
+DB_URL=${DB_URL:-jdbc:postgresql://localhost:5432/my_blog_db}
+DB_USER=${DB_USER:-postgres}
+DB_PASSWORD=${DB_PASSWORD:-postgres}
+FAT_JAR=$(ls build/libs/my-blog-back-app-*.jar | grep -v plain | head -n 1)
+URL="http://localhost:$PORT/api/posts?search=&pageNumber=1&pageSize=10"
+
+now_ms() {
+    echo $(($(date +%s%N) / 1000000))
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }'
+}
+
+# Prints "<ms to first response> <RSS in MB>" for one launch of the given java arguments.
+launch() {
+    start=$(now_ms)
+    java "$@" --server.port="$PORT" \
+        --spring.datasource.url="$DB_URL" \
+        --spring.datasource.username="$DB_USER" --spring.datasource.password="$DB_PASSWORD" \
+        > build/bench-startup.log 2>&1 &
+    pid=$!
+    until curl -fs -o /dev/null "$URL"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "application exited, see build/bench-startup.log" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    elapsed=$(($(now_ms) - start))
+    rss_kb=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "$elapsed $((rss_kb / 1024))"
+}
+
+printf '%-10s %22s %18s\n' mode 'first request (ms)' 'startup RSS (MB)'
+bench() {
+    mode=$1
+    shift
+    results=$(for _ in $(seq 1 "$RUNS"); do launch "$@"; done)
+    ms=$(echo "$results" | awk '{print $1}' | median)
+    rss=$(echo "$results" | awk '{print $2}' | median)
+    printf '%-10s %22s %18s\n' "$mode" "$ms" "$rss"
+}
+
+bench fat-jar -jar "$FAT_JAR"
+bench plain -jar build/cds/app.jar
+bench aot -Dspring.aot.enabled=true -jar build/cds/app.jar
+bench cds -XX:SharedArchiveFile=build/cds/app.jsa -jar build/cds/app.jar
+bench cds+aot -XX:SharedArchiveFile=build/cds/app.jsa -Dspring.aot.enabled=true -jar build/cds/app.jar
@@ -0,0 +1,105 @@
+-- Online conversion of comments into the hash-partitioned layout of V9, for databases where
+-- copying everything under one lock (what V9 does otherwise) would block writes for too long.
+-- Run against the live database before deploying the release that contains V9:
+--
+--   psql -v ON_ERROR_STOP=1 -v batch_size=50000 -v pause_ms=100 -f scripts/partition-comments.sql blogdb
+--
+-- 1. comments_partitioned is created with the final partitions, keys and indexes.
+-- 2. A trigger mirrors every insert, update and delete on comments into it.
+-- 3. Existing rows are copied in id ranges of batch_size, each range its own committed
+--    transaction, sleeping pause_ms between ranges. Copied rows are read FOR SHARE, so a
+--    concurrent update or delete waits for the range to commit and its mirror wins.
+-- 4. The tables are swapped under a short lock. V9 then finds comments partitioned and skips.
+--
+-- Progress is reported as NOTICE lines with the next id. If the copy is interrupted, run
+-- CALL comments_partitioned_backfill(<batch_size>, <pause_ms>, <next id>) and then step 4 by hand.
+
+\if :{?batch_size}
+\else
+\set batch_size 50000
+\endif
+\if :{?pause_ms}
+\else
+\set pause_ms 100
+\endif
+
+CREATE TABLE IF NOT EXISTS comments_partitioned (
+    id BIGINT NOT NULL DEFAULT nextval('comments_id_seq'),
+    text TEXT NOT NULL,
+    post_id BIGINT NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT comments_partitioned_pkey PRIMARY KEY (id, post_id),
+    CONSTRAINT fk_comments_partitioned_post FOREIGN KEY (post_id) REFERENCES posts (id) ON DELETE CASCADE
+) PARTITION BY HASH (post_id);
+
+SELECT format('CREATE TABLE IF NOT EXISTS comments_p%s PARTITION OF comments_partitioned '
+                  'FOR VALUES WITH (MODULUS 16, REMAINDER %s)', lpad(i::text, 2, '0'), i)
+FROM generate_series(0, 15) AS i
+\gexec
+
+CREATE INDEX IF NOT EXISTS idx_comments_partitioned_post_id_created_at
+    ON comments_partitioned (post_id, created_at DESC);
+
+CREATE OR REPLACE FUNCTION comments_partitioned_mirror() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        DELETE FROM comments_partitioned WHERE id = OLD.id AND post_id = OLD.post_id;
+        RETURN OLD;
+    END IF;
+    INSERT INTO comments_partitioned (id, text, post_id, created_at, updated_at)
+    VALUES (NEW.id, NEW.text, NEW.post_id, NEW.created_at, NEW.updated_at)
+    ON CONFLICT (id, post_id) DO UPDATE
+        SET text = EXCLUDED.text, created_at = EXCLUDED.created_at, updated_at = EXCLUDED.updated_at;
+    RETURN NEW;
+END
+$$;
+
+DROP TRIGGER IF EXISTS comments_partitioned_mirror ON comments;
+CREATE TRIGGER comments_partitioned_mirror
+    AFTER INSERT OR UPDATE OR DELETE ON comments
+    FOR EACH ROW EXECUTE FUNCTION comments_partitioned_mirror();
+
+CREATE OR REPLACE PROCEDURE comments_partitioned_backfill(batch_size INT, pause_ms INT, start_id BIGINT DEFAULT NULL)
+LANGUAGE plpgsql AS $$
+DECLARE
+    next_id BIGINT;
+    max_id BIGINT;
+BEGIN
+    -- Rows created after this point reach comments_partitioned through the trigger.
+    SELECT COALESCE(start_id, MIN(id), 0), COALESCE(MAX(id), 0) INTO next_id, max_id FROM comments;
+    WHILE next_id <= max_id LOOP
+        INSERT INTO comments_partitioned (id, text, post_id, created_at, updated_at)
+        SELECT id, text, post_id, created_at, updated_at
+        FROM comments
+        WHERE id >= next_id AND id < next_id + batch_size
+        FOR SHARE
+        ON CONFLICT (id, post_id) DO NOTHING;
+        next_id := next_id + batch_size;
+        COMMIT;
+        RAISE NOTICE 'comments copied up to id %, next id % of %', next_id - 1, next_id, max_id;
+        PERFORM pg_sleep(pause_ms / 1000.0);
+    END LOOP;
+END
+$$;
+
+CALL comments_partitioned_backfill(:batch_size, :pause_ms);
+
+ANALYZE comments_partitioned;
+
+-- Waits at most lock_timeout for running statements; on timeout nothing changes, run it again.
+BEGIN;
+SET LOCAL lock_timeout = '5s';
+LOCK TABLE comments IN ACCESS EXCLUSIVE MODE;
+DROP TRIGGER comments_partitioned_mirror ON comments;
+ALTER SEQUENCE comments_id_seq OWNED BY comments_partitioned.id;
+DROP TABLE comments;
+ALTER TABLE comments_partitioned RENAME TO comments;
+ALTER TABLE comments RENAME CONSTRAINT comments_partitioned_pkey TO comments_pkey;
+ALTER TABLE comments RENAME CONSTRAINT fk_comments_partitioned_post TO fk_comments_post;
+ALTER INDEX idx_comments_partitioned_post_id_created_at RENAME TO idx_comments_post_id_created_at;
+COMMIT;
+
+DROP PROCEDURE comments_partitioned_backfill(INT, INT, BIGINT);
+DROP FUNCTION comments_partitioned_mirror();
@@ -0,0 +1,121 @@
+package com.blog.bench;
+
+import com.blog.dto.CommentDto;
+import com.blog.dto.PostDto;
+import com.blog.dto.PostListResponseDto;
+import com.blog.web.SerializedPayload;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization cost of a post page and a comment list: reflective Jackson, Blackbird,
+ * pre-serialized {@link SerializedPayload} bytes, and the Smile and CBOR binary formats.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+
+    private final ObjectMapper reflective = new ObjectMapper();
+    private final ObjectMapper blackbird = new ObjectMapper().registerModule(new BlackbirdModule());
+    private final ObjectMapper smile = new ObjectMapper(new SmileFactory()).registerModule(new BlackbirdModule());
+    private final ObjectMapper cbor = new ObjectMapper(new CBORFactory()).registerModule(new BlackbirdModule());
+
+    private PostListResponseDto postPage;
+    private List<CommentDto> comments;
+    private SerializedPayload<PostListResponseDto> cachedPostPage;
+    private SerializedPayload<List<CommentDto>> cachedComments;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<PostDto> posts = new ArrayList<>();
+        for (long i = 1; i <= 10; i++) {
+            posts.add(PostDto.builder()
+                    .id(i)
+                    .title("Post number " + i + " about Java performance")
+                    .text("Lorem ipsum dolor sit amet, consectetur adipiscing elit. ".repeat(2))
+                    .tags(Set.of("java", "spring", "performance"))
+                    .likesCount((int) (i * 7))
+                    .commentsCount((int) (i * 3))
+                    .viewCount(i * 1000)
+                    .build()
+                    .truncateText());
+        }
+        postPage = PostListResponseDto.page(posts, 1, 10, 500);
+
+        comments = new ArrayList<>();
+        for (long i = 1; i <= 100; i++) {
+            comments.add(CommentDto.builder().id(i).postId(1L).text("Comment " + i + " with some text").build());
+        }
+
+        cachedPostPage = SerializedPayload.of(postPage);
+        cachedPostPage.bytes(blackbird);
+        cachedComments = SerializedPayload.of(comments);
+        cachedComments.bytes(blackbird);
+    }
+
+    @Benchmark
+    public byte[] postPageReflective() throws IOException {
+        return reflective.writeValueAsBytes(postPage);
+    }
+
+    @Benchmark
+    public byte[] postPageBlackbird() throws IOException {
+        return blackbird.writeValueAsBytes(postPage);
+    }
+
+    @Benchmark
+    public byte[] postPageCached() throws IOException {
+        return cachedPostPage.bytes(blackbird);
+    }
+
+    @Benchmark
+    public byte[] postPageSmile() throws IOException {
+        return smile.writeValueAsBytes(postPage);
+    }
+
+    @Benchmark
+    public byte[] postPageCbor() throws IOException {
+        return cbor.writeValueAsBytes(postPage);
+    }
+
+    @Benchmark
+    public byte[] commentsReflective() throws IOException {
+        return reflective.writeValueAsBytes(comments);
+    }
+
+    @Benchmark
+    public byte[] commentsBlackbird() throws IOException {
+        return blackbird.writeValueAsBytes(comments);
+    }
+
+    @Benchmark
+    public byte[] commentsCached() throws IOException {
+        return cachedComments.bytes(blackbird);
+    }
+
+    @Benchmark
+    public byte[] commentsSmile() throws IOException {
+        return smile.writeValueAsBytes(comments);
+    }
+
+    @Benchmark
+    public byte[] commentsCbor() throws IOException {
+        return cbor.writeValueAsBytes(comments);
+    }
+}
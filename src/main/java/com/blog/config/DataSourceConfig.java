@@ -1,15 +1,23 @@
 package com.blog.config;
 
+import com.blog.jdbc.ReadYourWritesTracker;
+import com.blog.jdbc.ReplicaLagMonitor;
+import com.blog.jdbc.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import org.springframework.jdbc.datasource.DataSourceTransactionManager;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.StringUtils;
 
 import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Configuration
 @Profile("!test")
@@ -27,19 +35,73 @@ public class DataSourceConfig {
     @Value("${spring.datasource.driver-class-name}")
     private String driverClassName;
 
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int maximumPoolSize;
+
+    @Value("${blog.datasource.replicas:}")
+    private String replicaUrls;
+
+    @Value("${blog.datasource.replica-lag-query}")
+    private String replicaLagQuery;
+
+    @Value("${blog.datasource.replica-max-lag-ms:1000}")
+    private long replicaMaxLagMs;
+
+    @Value("${blog.datasource.replica-check-interval-ms:1000}")
+    private long replicaCheckIntervalMs;
+
+    @Value("${blog.datasource.read-your-writes-window-ms:5000}")
+    private long readYourWritesWindowMs;
+
+    private ReplicaRoutingDataSource routingDataSource;
+
     @Bean
     @ConditionalOnMissingBean
     public DataSource dataSource() {
-        DriverManagerDataSource dataSource = new DriverManagerDataSource();
-        dataSource.setUrl(url);
-        dataSource.setUsername(username);
-        dataSource.setPassword(password);
-        dataSource.setDriverClassName(driverClassName);
-        return dataSource;
+        HikariDataSource primary = createPool("primary", url, false);
+        String[] replicas = StringUtils.tokenizeToStringArray(replicaUrls, ",");
+        if (replicas.length == 0) {
+            return primary;
+        }
+
+        Map<String, DataSource> replicaPools = new LinkedHashMap<>();
+        for (int i = 0; i < replicas.length; i++) {
+            String name = "replica-" + i;
+            replicaPools.put(name, createPool(name, replicas[i], true));
+        }
+        ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(replicaPools, replicaLagQuery, replicaMaxLagMs);
+        routingDataSource = new ReplicaRoutingDataSource(primary, replicaPools, lagMonitor, readYourWritesTracker());
+        routingDataSource.afterPropertiesSet();
+        lagMonitor.start(replicaCheckIntervalMs);
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker() {
+        return new ReadYourWritesTracker(readYourWritesWindowMs);
     }
 
     @Bean
     public PlatformTransactionManager transactionManager(DataSource dataSource) {
         return new DataSourceTransactionManager(dataSource);
     }
-}
\ No newline at end of file
+
+    @PreDestroy
+    public void closeReplicaRouting() {
+        if (routingDataSource != null) {
+            routingDataSource.close();
+        }
+    }
+
+    private HikariDataSource createPool(String poolName, String jdbcUrl, boolean readOnly) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(poolName);
+        dataSource.setJdbcUrl(jdbcUrl);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setDriverClassName(driverClassName);
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setReadOnly(readOnly);
+        return dataSource;
+    }
+}
@@ -0,0 +1,16 @@
+package com.blog.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    // Replaces reflective getter/setter calls with generated lambdas; Boot registers it on every ObjectMapper it builds.
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,29 @@
+package com.blog.config;
+
+import com.blog.jdbc.InstrumentedDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class SqlInstrumentationConfig {
+
+    // Static, so the post-processor exists before the DataSource bean it wraps; applies to the
+    // routing setup and to Boot's auto-configured pool alike.
+    @Bean
+    public static BeanPostProcessor sqlInstrumentationPostProcessor(
+            @Value("${blog.sql.slow-query-ms:200}") long slowQueryMillis) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof InstrumentedDataSource)) {
+                    return new InstrumentedDataSource(dataSource, slowQueryMillis);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,31 +1,32 @@
 package com.blog.config;
 
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.ComponentScan;
+import com.blog.web.ByteRangesHttpMessageConverter;
+import com.blog.web.SerializedPayloadHttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.HttpMessageConverter;
-import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
-import org.springframework.transaction.annotation.EnableTransactionManagement;
-import org.springframework.web.multipart.MultipartResolver;
-import org.springframework.web.multipart.support.StandardServletMultipartResolver;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.ContentNegotiationConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.util.List;
 
+// Only customizes MVC; scanning, transactions, JSON and multipart come from Spring Boot auto-configuration.
 @Configuration
-@ComponentScan(basePackages = {
-        "com.blog.controller",
-        "com.blog.service",
-        "com.blog.dao"
-})
-@EnableTransactionManagement
-@Import({DataSourceConfig.class, JdbcConfig.class})
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/api/**")
@@ -42,15 +43,31 @@ public class WebConfig implements WebMvcConfigurer {
                 .mediaType("json", MediaType.APPLICATION_JSON);
     }
 
+    // MVC registers its own Smile and CBOR converters, after JSON, with bare mappers that lack Boot's
+    // customizers and Blackbird; they are swapped in place so the order stays the same.
     @Override
-    public void configureMessageConverters(List<HttpMessageConverter<?>> converters) {
-        MappingJackson2HttpMessageConverter jackson = new MappingJackson2HttpMessageConverter();
-        jackson.setPrefixJson(false);
-        converters.add(jackson);
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        ObjectMapper smileMapper = objectMapperBuilder.getObject().factory(new SmileFactory()).build();
+        ObjectMapper cborMapper = objectMapperBuilder.getObject().factory(new CBORFactory()).build();
+        replaceOrAdd(converters, MappingJackson2SmileHttpMessageConverter.class,
+                new MappingJackson2SmileHttpMessageConverter(smileMapper));
+        replaceOrAdd(converters, MappingJackson2CborHttpMessageConverter.class,
+                new MappingJackson2CborHttpMessageConverter(cborMapper));
+        converters.add(0, new SerializedPayloadHttpMessageConverter(objectMapper, smileMapper, cborMapper));
+        converters.add(1, new ByteRangesHttpMessageConverter());
     }
 
-    @Bean
-    public MultipartResolver multipartResolver() {
-        return new StandardServletMultipartResolver();
+    private static void replaceOrAdd(List<HttpMessageConverter<?>> converters,
+                                     Class<?> type, HttpMessageConverter<?> replacement) {
+        boolean replaced = false;
+        for (int i = 0; i < converters.size(); i++) {
+            if (type.isInstance(converters.get(i))) {
+                converters.set(i, replacement);
+                replaced = true;
+            }
+        }
+        if (!replaced) {
+            converters.add(replacement);
+        }
     }
 }
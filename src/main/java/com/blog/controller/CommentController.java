@@ -2,11 +2,14 @@ package com.blog.controller;
 
 import com.blog.dto.CommentDto;
 import com.blog.service.CommentService;
+import com.blog.service.CommentStreamService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -17,6 +20,7 @@ import java.util.List;
 public class CommentController {
 
     private final CommentService commentService;
+    private final CommentStreamService commentStreamService;
 
     @GetMapping
     public ResponseEntity<List<CommentDto>> getComments(@PathVariable Long postId) {
@@ -24,6 +28,14 @@ public class CommentController {
         return ResponseEntity.ok(comments);
     }
 
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamComments(
+            @PathVariable Long postId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        return commentStreamService.subscribe(postId, lastEventId);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<CommentDto> getComment(
             @PathVariable Long postId,
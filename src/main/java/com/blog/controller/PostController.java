@@ -1,17 +1,37 @@
 package com.blog.controller;
 
+import com.blog.dto.LikeStatsDto;
+import com.blog.dto.PostBatchResponseDto;
 import com.blog.dto.PostDto;
 import com.blog.dto.PostListResponseDto;
+import com.blog.model.PostField;
+import com.blog.model.PostImage;
+import com.blog.service.ImageCache;
+import com.blog.service.PostReadCoalescer;
 import com.blog.service.PostService;
+import com.blog.service.TrendingService;
+import com.blog.web.ByteBufferResource;
+import com.blog.web.ByteRanges;
+import com.blog.web.SerializedPayload;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/posts")
@@ -20,20 +40,36 @@ import java.io.IOException;
 public class PostController {
 
     private final PostService postService;
+    private final PostReadCoalescer postReadCoalescer;
+    private final TrendingService trendingService;
 
     @GetMapping
-    public ResponseEntity<PostListResponseDto> getPosts(
+    public ResponseEntity<SerializedPayload<PostListResponseDto>> getPosts(
             @RequestParam String search,
             @RequestParam int pageNumber,
-            @RequestParam int pageSize
+            @RequestParam int pageSize,
+            @RequestParam(required = false) String fields
     ) {
-        PostListResponseDto response = postService.getPostsWithPagination(search, pageNumber, pageSize);
+        SerializedPayload<PostListResponseDto> response =
+                postReadCoalescer.getPostsWithPagination(search, pageNumber, pageSize, parseFields(fields));
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/trending")
+    public ResponseEntity<List<PostDto>> getTrendingPosts(@RequestParam(defaultValue = "10") int limit) {
+        List<PostDto> posts = trendingService.getTrending(Math.max(0, limit));
+        return ResponseEntity.ok(posts);
+    }
+
+    @GetMapping("/batch")
+    public ResponseEntity<PostBatchResponseDto> getPostsByIds(@RequestParam List<Long> ids,
+                                                              @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(postService.getPostsByIds(ids, parseFields(fields)));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<PostDto> getPost(@PathVariable Long id) {
-        PostDto post = postService.getPostById(id);
+    public ResponseEntity<SerializedPayload<PostDto>> getPost(@PathVariable Long id) {
+        SerializedPayload<PostDto> post = postReadCoalescer.getPostById(id);
         return ResponseEntity.ok(post);
     }
 
@@ -55,6 +91,11 @@ public class PostController {
         return ResponseEntity.ok().build();
     }
 
+    @GetMapping("/{id}/likes")
+    public ResponseEntity<LikeStatsDto> getLikeStats(@PathVariable Long id) {
+        return ResponseEntity.ok(postService.getLikeStats(id));
+    }
+
     @PostMapping("/{id}/likes")
     public ResponseEntity<Integer> addLike(@PathVariable Long id) {
         Integer likes = postService.addLike(id);
@@ -70,14 +111,118 @@ public class PostController {
         return ResponseEntity.ok().build();
     }
 
+    // Supports single and multiple byte ranges; If-Range must carry the current (strong) ETag.
     @GetMapping("/{id}/image")
-    public ResponseEntity<byte[]> getPostImage(@PathVariable Long id) {
-        byte[] imageData = postService.getPostImage(id);
-        if (imageData == null || imageData.length == 0) {
+    public ResponseEntity<?> getPostImage(@PathVariable Long id, @RequestHeader HttpHeaders headers) {
+        List<HttpRange> ranges = requestedRanges(headers);
+        if (ranges.isEmpty()) {
+            return fullImage(id);
+        }
+        PostImage image = postService.getPostImageMetadata(id);
+        if (image.getSize() == 0) {
+            return ResponseEntity.notFound().build();
+        }
+        String eTag = imageETag(id, image.getVersion());
+        String ifRange = headers.getFirst(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(eTag)) {
+            return fullImage(id);
+        }
+
+        long size = image.getSize();
+        long requested = 0;
+        List<long[]> bounds = new ArrayList<>(ranges.size());
+        for (HttpRange range : ranges) {
+            long start = range.getRangeStart(size);
+            long end = range.getRangeEnd(size);
+            // RFC 7233 4.4: unsatisfiable ranges are skipped, 416 only when none is left.
+            if (start >= size || end < start) continue;
+            bounds.add(new long[]{start, end});
+            requested += end - start + 1;
+        }
+        if (bounds.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+                    .build();
+        }
+        // Several ranges adding up to more than the image would only amplify the response.
+        if (bounds.size() > 1 && requested > size) {
+            return fullImage(id);
+        }
+
+        // Overlapping or adjacent ranges share a span; all spans come from one statement.
+        List<long[]> spans = mergeRanges(bounds);
+        Integer[] offsets = new Integer[spans.size()];
+        Integer[] lengths = new Integer[spans.size()];
+        for (int i = 0; i < spans.size(); i++) {
+            offsets[i] = (int) spans.get(i)[0];
+            lengths[i] = (int) (spans.get(i)[1] - spans.get(i)[0] + 1);
+        }
+        Optional<List<ByteBuffer>> spanData = postService.getPostImageRanges(id, image.getVersion(), offsets, lengths);
+        if (spanData.isEmpty()) {
+            return fullImage(id);
+        }
+        List<ByteRanges.Part> parts = new ArrayList<>(bounds.size());
+        for (long[] bound : bounds) {
+            int span = 0;
+            while (spans.get(span)[1] < bound[1]) span++;
+            ByteBuffer data = spanData.get().get(span).slice((int) (bound[0] - spans.get(span)[0]), (int) (bound[1] - bound[0] + 1));
+            parts.add(new ByteRanges.Part(bound[0], data));
+        }
+        ByteRanges body = ByteRanges.of(MediaType.IMAGE_JPEG, size, parts);
+        return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                .contentType(body.contentType())
+                .eTag(eTag)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .body(body);
+    }
+
+    // InputStreamResource keeps Spring from applying its own Range handling, which ignores If-Range.
+    private ResponseEntity<?> fullImage(Long id) {
+        ImageCache.Image image = postService.getPostImage(id);
+        if (image.size() == 0) {
             return ResponseEntity.notFound().build();
         }
         return ResponseEntity.ok()
                 .contentType(MediaType.IMAGE_JPEG)
-                .body(imageData);
+                .contentLength(image.size())
+                .eTag(imageETag(id, image.version()))
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .body(new InputStreamResource(new ByteBufferResource(image.data()).getInputStream()));
+    }
+
+    private static List<long[]> mergeRanges(List<long[]> bounds) {
+        List<long[]> sorted = new ArrayList<>(bounds);
+        sorted.sort(Comparator.comparingLong(bound -> bound[0]));
+        List<long[]> spans = new ArrayList<>();
+        for (long[] bound : sorted) {
+            long[] last = spans.isEmpty() ? null : spans.get(spans.size() - 1);
+            if (last != null && bound[0] <= last[1] + 1) {
+                last[1] = Math.max(last[1], bound[1]);
+            } else {
+                spans.add(new long[]{bound[0], bound[1]});
+            }
+        }
+        return spans;
+    }
+
+    private static String imageETag(Long id, long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    // A malformed Range header is ignored and the whole image is sent.
+    private static List<HttpRange> requestedRanges(HttpHeaders headers) {
+        try {
+            return headers.getRange();
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+    }
+
+    private static Set<PostField> parseFields(String fields) {
+        try {
+            return PostField.parse(fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,31 @@
+package com.blog.controller;
+
+import com.blog.dto.SuggestionDto;
+import com.blog.service.SuggestService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/suggest")
+@RequiredArgsConstructor
+@Slf4j
+public class SuggestController {
+
+    private final SuggestService suggestService;
+
+    @GetMapping
+    public ResponseEntity<List<SuggestionDto>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        List<SuggestionDto> suggestions = suggestService.suggest(prefix, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+}
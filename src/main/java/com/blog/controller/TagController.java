@@ -0,0 +1,31 @@
+package com.blog.controller;
+
+import com.blog.dto.TagDto;
+import com.blog.service.TagCloudService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/tags")
+@RequiredArgsConstructor
+@Slf4j
+public class TagController {
+
+    private final TagCloudService tagCloudService;
+
+    @GetMapping
+    public ResponseEntity<List<TagDto>> getTags(
+            @RequestParam(required = false) String prefix,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        List<TagDto> tags = tagCloudService.getTags(prefix, limit);
+        return ResponseEntity.ok(tags);
+    }
+}
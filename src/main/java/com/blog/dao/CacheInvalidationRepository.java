@@ -0,0 +1,44 @@
+package com.blog.dao;
+
+import com.blog.model.CacheInvalidation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class CacheInvalidationRepository {
+
+    public static final String CHANNEL = "cache_invalidations";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final RowMapper<CacheInvalidation> invalidationRowMapper = (rs, rowNum) -> CacheInvalidation.builder()
+            .id(rs.getLong("id"))
+            .entity(rs.getString("entity"))
+            .entityId(rs.getObject("entity_id", Long.class))
+            .origin(rs.getString("origin"))
+            .build();
+
+    // Logs the invalidation and announces it as "id:entity:entityId:origin:millis" when the transaction commits.
+    public void publish(String entity, Long entityId, String origin) {
+        String sql = "WITH inserted AS (INSERT INTO cache_invalidations (entity, entity_id, origin) VALUES (?, ?, ?) RETURNING id, entity, entity_id, origin) " +
+                "SELECT pg_notify('" + CHANNEL + "', id || ':' || entity || ':' || COALESCE(entity_id::text, '') || ':' || origin || ':' || " +
+                "(extract(epoch FROM clock_timestamp()) * 1000)::bigint) FROM inserted";
+        jdbcTemplate.queryForObject(sql, String.class, entity, entityId, origin);
+    }
+
+    public List<CacheInvalidation> findAfter(Long id, int limit) {
+        String sql = "SELECT id, entity, entity_id, origin FROM cache_invalidations WHERE id > ? ORDER BY id LIMIT ?";
+        return jdbcTemplate.query(sql, invalidationRowMapper, id, limit);
+    }
+
+    public int deleteOlderThan(LocalDateTime cutoff, int batchSize) {
+        String sql = "DELETE FROM cache_invalidations WHERE id IN (SELECT id FROM cache_invalidations WHERE created_at < ? LIMIT ?)";
+        return jdbcTemplate.update(sql, cutoff, batchSize);
+    }
+}
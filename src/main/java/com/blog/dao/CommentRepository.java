@@ -7,13 +7,17 @@ import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Repository
 @RequiredArgsConstructor
 public class CommentRepository {
 
+    public static final String CHANGES_CHANNEL = "comment_changes";
+
     private final JdbcTemplate jdbcTemplate;
 
     private final RowMapper<Comment> commentRowMapper = (rs, rowNum) -> Comment.builder()
@@ -24,24 +28,11 @@ public class CommentRepository {
             .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
             .build();
 
-    public Optional<Comment> findById(Long id) {
-        String sql = "SELECT * FROM comments WHERE id = ?";
-        try {
-            Comment comment = jdbcTemplate.queryForObject(sql, commentRowMapper, id);
-            return Optional.of(comment);
-        } catch (Exception e) {
-            return Optional.empty();
-        }
-    }
-
+    // comments is partitioned by post_id: every query carries it so only one partition is read.
+    // Comments of a soft-deleted post stay until purged but are not found.
     public Optional<Comment> findByIdAndPostId(Long id, Long postId) {
-        String sql = "SELECT * FROM comments WHERE id = ? AND post_id = ?";
-        try {
-            Comment comment = jdbcTemplate.queryForObject(sql, commentRowMapper, id, postId);
-            return Optional.of(comment);
-        } catch (Exception e) {
-            return Optional.empty();
-        }
+        String sql = "SELECT c.* FROM comments c INNER JOIN posts p ON p.id = c.post_id WHERE c.id = ? AND c.post_id = ? AND p.deleted_at IS NULL";
+        return jdbcTemplate.query(sql, commentRowMapper, id, postId).stream().findFirst();
     }
 
     public List<Comment> findByPostId(Long postId) {
@@ -55,6 +46,15 @@ public class CommentRepository {
         return count != null ? count : 0;
     }
 
+    public Map<Long, Integer> countByPostIds(Long[] postIds) {
+        String sql = "SELECT post_id, COUNT(*) AS comments_count FROM comments WHERE post_id = ANY(?) GROUP BY post_id";
+        Map<Long, Integer> counts = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            counts.put(rs.getLong("post_id"), rs.getInt("comments_count"));
+        }, (Object) postIds);
+        return counts;
+    }
+
     public Comment save(Comment comment) {
         if (comment.getId() == null) {
             String sql = "INSERT INTO comments (text, post_id, created_at, updated_at) VALUES (?, ?, ?, ?) RETURNING id";
@@ -62,19 +62,25 @@ public class CommentRepository {
                     comment.getText(), comment.getPostId(), comment.getCreatedAt(), comment.getUpdatedAt());
             comment.setId(id);
         } else {
-            String sql = "UPDATE comments SET text = ?, updated_at = ? WHERE id = ?";
-            jdbcTemplate.update(sql, comment.getText(), comment.getUpdatedAt(), comment.getId());
+            String sql = "UPDATE comments SET text = ?, updated_at = ? WHERE id = ? AND post_id = ?";
+            jdbcTemplate.update(sql, comment.getText(), comment.getUpdatedAt(), comment.getId(), comment.getPostId());
         }
         return comment;
     }
 
-    public void deleteById(Long id) {
-        String sql = "DELETE FROM comments WHERE id = ?";
-        jdbcTemplate.update(sql, id);
+    public void deleteByIdAndPostId(Long id, Long postId) {
+        String sql = "DELETE FROM comments WHERE id = ? AND post_id = ?";
+        jdbcTemplate.update(sql, id, postId);
+    }
+
+    public int deleteBatchByPostId(Long postId, int batchSize) {
+        String sql = "DELETE FROM comments WHERE post_id = ? AND id IN (SELECT id FROM comments WHERE post_id = ? LIMIT ?)";
+        return jdbcTemplate.update(sql, postId, postId, batchSize);
     }
 
-    public void deleteAllByPostId(Long postId) {
-        String sql = "DELETE FROM comments WHERE post_id = ?";
-        jdbcTemplate.update(sql, postId);
+    // Delivered to listeners only when the surrounding transaction commits.
+    public void notifyChange(String action, Long postId, Long commentId) {
+        String sql = "SELECT pg_notify(?, ?)";
+        jdbcTemplate.queryForObject(sql, String.class, CHANGES_CHANNEL, action + ":" + postId + ":" + commentId);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,43 @@
+package com.blog.dao;
+
+import com.blog.model.PostLikeSketch;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class LikeSketchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final RowMapper<PostLikeSketch> sketchRowMapper = (rs, rowNum) -> PostLikeSketch.builder()
+            .postId(rs.getLong("post_id"))
+            .bloom(rs.getBytes("bloom"))
+            .hll(rs.getBytes("hll"))
+            .build();
+
+    public Optional<PostLikeSketch> findByPostId(Long postId) {
+        String sql = "SELECT post_id, bloom, hll FROM post_like_sketches WHERE post_id = ?";
+        return jdbcTemplate.query(sql, sketchRowMapper, postId).stream().findFirst();
+    }
+
+    public Optional<PostLikeSketch> findByPostIdForUpdate(Long postId) {
+        String sql = "SELECT post_id, bloom, hll FROM post_like_sketches WHERE post_id = ? FOR UPDATE";
+        return jdbcTemplate.query(sql, sketchRowMapper, postId).stream().findFirst();
+    }
+
+    public boolean insertIfAbsent(PostLikeSketch sketch) {
+        String sql = "INSERT INTO post_like_sketches (post_id, bloom, hll, updated_at) " +
+                "VALUES (?, ?, ?, CURRENT_TIMESTAMP) ON CONFLICT (post_id) DO NOTHING";
+        return jdbcTemplate.update(sql, sketch.getPostId(), sketch.getBloom(), sketch.getHll()) > 0;
+    }
+
+    public void update(PostLikeSketch sketch) {
+        String sql = "UPDATE post_like_sketches SET bloom = ?, hll = ?, updated_at = CURRENT_TIMESTAMP WHERE post_id = ?";
+        jdbcTemplate.update(sql, sketch.getBloom(), sketch.getHll(), sketch.getPostId());
+    }
+}
@@ -1,14 +1,24 @@
 package com.blog.dao;
 
 import com.blog.model.Post;
+import com.blog.model.PostField;
+import com.blog.model.PostImage;
+import com.blog.model.PostSummary;
 import lombok.RequiredArgsConstructor;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Array;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
 
 @Repository
 @RequiredArgsConstructor
@@ -21,116 +31,101 @@ public class PostRepository {
             .title(rs.getString("title"))
             .text(rs.getString("text"))
             .likesCount(rs.getInt("likes_count"))
-            .image(rs.getBytes("image"))
+            .viewCount(rs.getLong("view_count"))
             .createdAt(rs.getObject("created_at", LocalDateTime.class))
             .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
             .build();
 
+    private final RowMapper<PostSummary> postSummaryRowMapper = (rs, rowNum) -> {
+        Array tags = rs.getArray("tags");
+        return PostSummary.builder()
+                .id(rs.getLong("id"))
+                .title(rs.getString("title"))
+                .tags(tags != null ? Set.of((String[]) tags.getArray()) : Set.of())
+                .likesCount(rs.getInt("likes_count"))
+                .commentsCount(rs.getInt("comments_count"))
+                .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                .build();
+    };
+
     public Optional<Post> findById(Long id) {
-        String sql = "SELECT * FROM posts WHERE id = ?";
-        try {
-            Post post = jdbcTemplate.queryForObject(sql, postRowMapper, id);
-            return Optional.of(post);
-        } catch (Exception e) {
+        String sql = "SELECT id, title, text, likes_count, view_count, created_at, updated_at FROM posts WHERE id = ? AND deleted_at IS NULL";
+        return jdbcTemplate.query(sql, postRowMapper, id).stream().findFirst();
+    }
+
+    // Empty data when the post exists without an image.
+    public Optional<PostImage> findImageById(Long id) {
+        String sql = "SELECT image, image_version FROM posts WHERE id = ? AND deleted_at IS NULL";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> {
+            byte[] image = rs.getBytes("image");
+            byte[] data = image != null ? image : new byte[0];
+            return PostImage.builder().postId(id).size(data.length).version(rs.getLong("image_version")).data(data).build();
+        }, id).stream().findFirst();
+    }
+
+    public Optional<PostImage> findImageMetadata(Long id) {
+        String sql = "SELECT COALESCE(octet_length(image), 0) AS image_size, image_version FROM posts WHERE id = ? AND deleted_at IS NULL";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> PostImage.builder()
+                .postId(id)
+                .size(rs.getLong("image_size"))
+                .version(rs.getLong("image_version"))
+                .build(), id).stream().findFirst();
+    }
+
+    // One substring() per (offset, length) pair, in order; empty when the image was replaced since the caller read its version.
+    public Optional<List<byte[]>> findImageRanges(Long id, long version, Integer[] offsets, Integer[] lengths) {
+        String sql = "SELECT substring(p.image FROM r.pos + 1 FOR r.len) AS image_range FROM posts p " +
+                "CROSS JOIN unnest(?::int[], ?::int[]) WITH ORDINALITY AS r(pos, len, ord) " +
+                "WHERE p.id = ? AND p.image_version = ? AND p.deleted_at IS NULL ORDER BY r.ord";
+        List<byte[]> ranges = jdbcTemplate.query(sql, (rs, rowNum) -> rs.getBytes("image_range"), offsets, lengths, id, version);
+        if (ranges.size() != offsets.length || ranges.contains(null)) {
             return Optional.empty();
         }
+        return Optional.of(ranges);
+    }
+
+    public List<Post> findAllByIds(Long[] ids, Set<PostField> fields) {
+        String sql = "SELECT " + columns(fields, "") + " FROM posts WHERE id = ANY(?) AND deleted_at IS NULL";
+        return jdbcTemplate.query(sql, postRowMapper(fields), (Object) ids);
     }
 
     public boolean existsById(Long id) {
-        String sql = "SELECT COUNT(*) FROM posts WHERE id = ?";
+        String sql = "SELECT COUNT(*) FROM posts WHERE id = ? AND deleted_at IS NULL";
         Integer count = jdbcTemplate.queryForObject(sql, Integer.class, id);
         return count != null && count > 0;
     }
 
-    public List<Post> findByTitleContainingPaginated(String title, int pageSize, int offset) {
-        String sql = "SELECT * FROM posts WHERE LOWER(title) LIKE LOWER(?) ORDER BY created_at DESC LIMIT ? OFFSET ?";
-        return jdbcTemplate.query(sql, postRowMapper, "%" + title + "%", pageSize, offset);
+    public List<Post> findByTitleContainingPaginated(String title, Set<PostField> fields, int pageSize, int offset) {
+        String sql = "SELECT " + columns(fields, "") + " FROM posts WHERE deleted_at IS NULL AND LOWER(title) LIKE LOWER(?) ORDER BY created_at DESC LIMIT ? OFFSET ?";
+        return jdbcTemplate.query(sql, postRowMapper(fields), "%" + title + "%", pageSize, offset);
     }
 
-    public List<Post> findByTagsPaginated(List<String> tags, int tagCount, int pageSize, int offset) {
-        String placeholders = String.join(",", tags.stream().map(t -> "?").toList());
-        String sql = String.format(
-                "SELECT DISTINCT p.* FROM posts p INNER JOIN post_tags pt ON p.id = pt.post_id WHERE pt.tag IN (%s) GROUP BY p.id HAVING COUNT(DISTINCT pt.tag) = ? ORDER BY p.created_at DESC LIMIT ? OFFSET ?",
-                placeholders
-        );
-
-        Object[] params = new Object[tags.size() + 3];
-        for (int i = 0; i < tags.size(); i++) {
-            params[i] = tags.get(i);
-        }
-        params[tags.size()] = tagCount;
-        params[tags.size() + 1] = pageSize;
-        params[tags.size() + 2] = offset;
-
-        return jdbcTemplate.query(sql, postRowMapper, params);
+    public List<Post> findByTagsPaginated(List<String> tags, int tagCount, Set<PostField> fields, int pageSize, int offset) {
+        String sql = "SELECT " + columns(fields, "p.") + " FROM posts p INNER JOIN post_tags pt ON p.id = pt.post_id WHERE p.deleted_at IS NULL AND pt.tag = ANY(?) GROUP BY p.id HAVING COUNT(DISTINCT pt.tag) = ? ORDER BY p.created_at DESC LIMIT ? OFFSET ?";
+        return jdbcTemplate.query(sql, postRowMapper(fields), toSqlArray(tags), tagCount, pageSize, offset);
     }
 
-    public List<Post> findByTitleAndTagsPaginated(String title, List<String> tags, int tagCount, int pageSize, int offset) {
-        String placeholders = String.join(",", tags.stream().map(t -> "?").toList());
-        String sql = String.format(
-                "SELECT DISTINCT p.* FROM posts p INNER JOIN post_tags pt ON p.id = pt.post_id WHERE LOWER(p.title) LIKE LOWER(?) AND pt.tag IN (%s) GROUP BY p.id HAVING COUNT(DISTINCT pt.tag) = ? ORDER BY p.created_at DESC LIMIT ? OFFSET ?",
-                placeholders
-        );
-
-        Object[] params = new Object[tags.size() + 4];
-        params[0] = "%" + title + "%";
-        for (int i = 0; i < tags.size(); i++) {
-            params[i + 1] = tags.get(i);
-        }
-        params[tags.size() + 1] = tagCount;
-        params[tags.size() + 2] = pageSize;
-        params[tags.size() + 3] = offset;
-
-        return jdbcTemplate.query(sql, postRowMapper, params);
+    public List<Post> findByTitleAndTagsPaginated(String title, List<String> tags, int tagCount, Set<PostField> fields, int pageSize, int offset) {
+        String sql = "SELECT " + columns(fields, "p.") + " FROM posts p INNER JOIN post_tags pt ON p.id = pt.post_id WHERE p.deleted_at IS NULL AND LOWER(p.title) LIKE LOWER(?) AND pt.tag = ANY(?) GROUP BY p.id HAVING COUNT(DISTINCT pt.tag) = ? ORDER BY p.created_at DESC LIMIT ? OFFSET ?";
+        return jdbcTemplate.query(sql, postRowMapper(fields), "%" + title + "%", toSqlArray(tags), tagCount, pageSize, offset);
     }
 
     public int countByTitleContaining(String title) {
-        String sql = "SELECT COUNT(*) FROM posts WHERE LOWER(title) LIKE LOWER(?)";
+        String sql = "SELECT COUNT(*) FROM posts WHERE deleted_at IS NULL AND LOWER(title) LIKE LOWER(?)";
         Integer count = jdbcTemplate.queryForObject(sql, Integer.class, "%" + title + "%");
         return count != null ? count : 0;
     }
 
     public int countByTags(List<String> tags, int tagCount) {
-        String placeholders = String.join(",", tags.stream().map(t -> "?").toList());
-        String sql = String.format(
-                "SELECT COUNT(DISTINCT p.id) FROM posts p INNER JOIN post_tags pt ON p.id = pt.post_id WHERE pt.tag IN (%s) GROUP BY p.id HAVING COUNT(DISTINCT pt.tag) = ?",
-                placeholders
-        );
-
-        Object[] params = new Object[tags.size() + 1];
-        for (int i = 0; i < tags.size(); i++) {
-            params[i] = tags.get(i);
-        }
-        params[tags.size()] = tagCount;
-
-        try {
-            List<Integer> results = jdbcTemplate.queryForList(sql, Integer.class, params);
-            return results.size();
-        } catch (Exception e) {
-            return 0;
-        }
+        String sql = "SELECT COUNT(*) FROM (SELECT pt.post_id FROM post_tags pt INNER JOIN posts p ON p.id = pt.post_id WHERE p.deleted_at IS NULL AND pt.tag = ANY(?) GROUP BY pt.post_id HAVING COUNT(DISTINCT pt.tag) = ?) matched";
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, toSqlArray(tags), tagCount);
+        return count != null ? count : 0;
     }
 
     public int countByTitleAndTags(String title, List<String> tags, int tagCount) {
-        String placeholders = String.join(",", tags.stream().map(t -> "?").toList());
-        String sql = String.format(
-                "SELECT COUNT(DISTINCT p.id) FROM posts p INNER JOIN post_tags pt ON p.id = pt.post_id WHERE LOWER(p.title) LIKE LOWER(?) AND pt.tag IN (%s) GROUP BY p.id HAVING COUNT(DISTINCT pt.tag) = ?",
-                placeholders
-        );
-
-        Object[] params = new Object[tags.size() + 2];
-        params[0] = "%" + title + "%";
-        for (int i = 0; i < tags.size(); i++) {
-            params[i + 1] = tags.get(i);
-        }
-        params[tags.size() + 1] = tagCount;
-
-        try {
-            List<Integer> results = jdbcTemplate.queryForList(sql, Integer.class, params);
-            return results.size();
-        } catch (Exception e) {
-            return 0;
-        }
+        String sql = "SELECT COUNT(*) FROM (SELECT p.id FROM posts p INNER JOIN post_tags pt ON p.id = pt.post_id WHERE p.deleted_at IS NULL AND LOWER(p.title) LIKE LOWER(?) AND pt.tag = ANY(?) GROUP BY p.id HAVING COUNT(DISTINCT pt.tag) = ?) matched";
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, "%" + title + "%", toSqlArray(tags), tagCount);
+        return count != null ? count : 0;
     }
 
     public List<String> findTagsByPostId(Long postId) {
@@ -138,6 +133,40 @@ public class PostRepository {
         return jdbcTemplate.queryForList(sql, String.class, postId);
     }
 
+    public Map<Long, List<String>> findTagsByPostIds(Long[] postIds) {
+        String sql = "SELECT post_id, tag FROM post_tags WHERE post_id = ANY(?)";
+        Map<Long, List<String>> tags = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            tags.computeIfAbsent(rs.getLong("post_id"), id -> new ArrayList<>()).add(rs.getString("tag"));
+        }, (Object) postIds);
+        return tags;
+    }
+
+    public Map<Long, Set<String>> findTagsOfAllPosts() {
+        String sql = "SELECT pt.post_id, pt.tag FROM post_tags pt INNER JOIN posts p ON p.id = pt.post_id WHERE p.deleted_at IS NULL";
+        Map<Long, Set<String>> tags = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            tags.computeIfAbsent(rs.getLong("post_id"), id -> new HashSet<>()).add(rs.getString("tag"));
+        });
+        return tags;
+    }
+
+    public List<PostSummary> findAllSummaries() {
+        String sql = "SELECT p.id, p.title, p.likes_count, p.created_at, COALESCE(c.comments_count, 0) AS comments_count, t.tags FROM posts p LEFT JOIN (SELECT post_id, COUNT(*) AS comments_count FROM comments GROUP BY post_id) c ON c.post_id = p.id LEFT JOIN (SELECT post_id, array_agg(tag) AS tags FROM post_tags GROUP BY post_id) t ON t.post_id = p.id WHERE p.deleted_at IS NULL";
+        return jdbcTemplate.query(sql, postSummaryRowMapper);
+    }
+
+    // The most liked and the newest posts, each list capped at limit; counts are read for these only.
+    public List<PostSummary> findTrendingCandidates(int limit) {
+        String sql = "SELECT p.id, p.title, p.likes_count, p.created_at, (SELECT COUNT(*) FROM comments c WHERE c.post_id = p.id) AS comments_count, ARRAY(SELECT pt.tag FROM post_tags pt WHERE pt.post_id = p.id) AS tags FROM posts p WHERE p.id IN ((SELECT id FROM posts WHERE deleted_at IS NULL ORDER BY likes_count DESC LIMIT ?) UNION (SELECT id FROM posts WHERE deleted_at IS NULL ORDER BY created_at DESC LIMIT ?))";
+        return jdbcTemplate.query(sql, postSummaryRowMapper, limit, limit);
+    }
+
+    public List<PostSummary> findSummariesByIds(Long[] ids) {
+        String sql = "SELECT p.id, p.title, p.likes_count, p.created_at, (SELECT COUNT(*) FROM comments c WHERE c.post_id = p.id) AS comments_count, ARRAY(SELECT pt.tag FROM post_tags pt WHERE pt.post_id = p.id) AS tags FROM posts p WHERE p.id = ANY(?) AND p.deleted_at IS NULL";
+        return jdbcTemplate.query(sql, postSummaryRowMapper, (Object) ids);
+    }
+
     public Post save(Post post) {
         if (post.getId() == null) {
             String sql = "INSERT INTO posts (title, text, likes_count, image, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?) RETURNING id";
@@ -146,16 +175,80 @@ public class PostRepository {
                     post.getCreatedAt(), post.getUpdatedAt());
             post.setId(id);
         } else {
-            String sql = "UPDATE posts SET title = ?, text = ?, likes_count = ?, image = ?, updated_at = ? WHERE id = ?";
+            String sql = "UPDATE posts SET title = ?, text = ?, likes_count = ?, updated_at = ? WHERE id = ? AND deleted_at IS NULL";
             jdbcTemplate.update(sql,
-                    post.getTitle(), post.getText(), post.getLikesCount(), post.getImage(),
+                    post.getTitle(), post.getText(), post.getLikesCount(),
                     post.getUpdatedAt(), post.getId());
         }
         return post;
     }
 
-    public void deleteById(Long id) {
-        String sql = "DELETE FROM posts WHERE id = ?";
-        jdbcTemplate.update(sql, id);
+    // The image is written only here, so updates of the other columns never rewrite it.
+    public boolean updateImage(Long id, byte[] image, LocalDateTime updatedAt) {
+        String sql = "UPDATE posts SET image = ?, image_version = image_version + 1, updated_at = ? WHERE id = ? AND deleted_at IS NULL";
+        return jdbcTemplate.update(sql, image, updatedAt, id) > 0;
+    }
+
+    // One statement for the whole batch; ids are expected in ascending order so concurrent
+    // flushes from several nodes lock rows in the same order.
+    public void incrementViewCounts(Long[] ids, Long[] deltas) {
+        String sql = "UPDATE posts p SET view_count = p.view_count + v.delta FROM unnest(?::bigint[], ?::bigint[]) AS v(id, delta) WHERE p.id = v.id AND p.deleted_at IS NULL";
+        jdbcTemplate.update(sql, ids, deltas);
+    }
+
+    // Hides the post from every query above; false when it does not exist or is already deleted.
+    public boolean markDeleted(Long id, LocalDateTime deletedAt) {
+        String sql = "UPDATE posts SET deleted_at = ? WHERE id = ? AND deleted_at IS NULL";
+        return jdbcTemplate.update(sql, deletedAt, id) > 0;
+    }
+
+    // Oldest deletions first.
+    public List<Long> findDeletedIds(int limit) {
+        String sql = "SELECT id FROM posts WHERE deleted_at IS NOT NULL ORDER BY deleted_at LIMIT ?";
+        return jdbcTemplate.queryForList(sql, Long.class, limit);
+    }
+
+    public int countDeleted() {
+        String sql = "SELECT COUNT(*) FROM posts WHERE deleted_at IS NOT NULL";
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class);
+        return count != null ? count : 0;
+    }
+
+    public int deleteTagsBatch(Long postId, int batchSize) {
+        String sql = "DELETE FROM post_tags WHERE post_id = ? AND tag IN (SELECT tag FROM post_tags WHERE post_id = ? LIMIT ?)";
+        return jdbcTemplate.update(sql, postId, postId, batchSize);
+    }
+
+    // Removes a soft-deleted post, image included; its comments and tags should be purged first.
+    public boolean deleteDeletedById(Long id) {
+        String sql = "DELETE FROM posts WHERE id = ? AND deleted_at IS NOT NULL";
+        return jdbcTemplate.update(sql, id) > 0;
+    }
+
+    // Lists and batches never need the image, so only the requested columns are read.
+    private static String columns(Set<PostField> fields, String alias) {
+        StringJoiner columns = new StringJoiner(", ");
+        for (PostField field : fields) {
+            if (field.column() != null) {
+                columns.add(alias + field.column());
+            }
+        }
+        return columns.toString();
+    }
+
+    private static RowMapper<Post> postRowMapper(Set<PostField> fields) {
+        return (rs, rowNum) -> {
+            Post post = Post.builder().id(rs.getLong("id")).build();
+            if (fields.contains(PostField.TITLE)) post.setTitle(rs.getString("title"));
+            if (fields.contains(PostField.TEXT)) post.setText(rs.getString("text"));
+            if (fields.contains(PostField.LIKES_COUNT)) post.setLikesCount(rs.getInt("likes_count"));
+            if (fields.contains(PostField.VIEW_COUNT)) post.setViewCount(rs.getLong("view_count"));
+            return post;
+        };
+    }
+
+    // Bound as a single array parameter so each query shape is one reusable prepared statement
+    private static String[] toSqlArray(List<String> tags) {
+        return tags.toArray(String[]::new);
     }
 }
\ No newline at end of file
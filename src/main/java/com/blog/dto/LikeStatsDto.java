@@ -0,0 +1,17 @@
+package com.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LikeStatsDto {
+    private Long postId;
+    private Integer likesCount;
+    private Long uniqueLikers;
+    private Boolean likedByClient;
+}
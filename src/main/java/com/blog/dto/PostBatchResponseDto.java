@@ -0,0 +1,17 @@
+package com.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostBatchResponseDto {
+    private List<PostDto> posts;
+    private List<Long> missingIds;
+}
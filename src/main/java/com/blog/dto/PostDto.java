@@ -1,5 +1,6 @@
 package com.blog.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -11,6 +12,7 @@ import java.util.Set;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PostDto {
     private Long id;
     private String title;
@@ -18,6 +20,7 @@ public class PostDto {
     private Set<String> tags;
     private Integer likesCount;
     private Integer commentsCount;
+    private Long viewCount;
 
     public PostDto truncateText() {
         if (this.text != null && this.text.length() > 128) {
@@ -16,4 +16,14 @@ public class PostListResponseDto {
     private Boolean hasPrev;
     private Boolean hasNext;
     private Integer lastPage;
+
+    public static PostListResponseDto page(List<PostDto> posts, int pageNumber, int pageSize, int totalCount) {
+        int totalPages = totalCount == 0 ? 1 : (totalCount + pageSize - 1) / pageSize;
+        return PostListResponseDto.builder()
+                .posts(posts)
+                .hasPrev(pageNumber > 1)
+                .hasNext(pageNumber < totalPages)
+                .lastPage(totalPages)
+                .build();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SuggestionDto {
+    private String text;
+    private String type;
+    private Integer postsCount;
+}
@@ -0,0 +1,15 @@
+package com.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TagDto {
+    private String tag;
+    private Integer postsCount;
+}
@@ -0,0 +1,4 @@
+package com.blog.event;
+
+public record CommentAdded(Long postId, Long commentId) implements DomainEvent {
+}
@@ -0,0 +1,4 @@
+package com.blog.event;
+
+public record CommentDeleted(Long postId, Long commentId) implements DomainEvent {
+}
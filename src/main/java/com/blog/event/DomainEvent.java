@@ -0,0 +1,7 @@
+package com.blog.event;
+
+public sealed interface DomainEvent
+        permits PostCreated, PostUpdated, PostDeleted, PostRefreshed, LikeAdded, CommentAdded, CommentDeleted {
+
+    Long postId();
+}
@@ -0,0 +1,188 @@
+package com.blog.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fans domain events out to every {@link DomainEventListener}. Each listener owns a bounded
+ * lock-free ring buffer and a dedicated thread that processes events in batches, so publishing
+ * costs one non-blocking offer per listener. When a buffer is full the event is dropped, counted,
+ * and the listener is told to resynchronize instead of stalling the publishing request.
+ */
+@Component
+@Slf4j
+public class DomainEventBus implements SmartLifecycle {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final List<Subscription> subscriptions = new ArrayList<>();
+    private final Counter published;
+    private final int batchSize;
+
+    private volatile boolean running;
+
+    public DomainEventBus(List<DomainEventListener> listeners, MeterRegistry meterRegistry,
+                          @Value("${blog.events.buffer-size:8192}") int bufferSize,
+                          @Value("${blog.events.batch-size:256}") int batchSize) {
+        this.batchSize = batchSize;
+        this.published = meterRegistry.counter("blog.events.published");
+        for (DomainEventListener listener : listeners) {
+            subscriptions.add(new Subscription(listener, bufferSize, meterRegistry));
+        }
+    }
+
+    public void publish(DomainEvent event) {
+        published.increment();
+        long now = System.nanoTime();
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(new Envelope(event, now));
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        for (Subscription subscription : subscriptions) {
+            subscription.start();
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        for (Subscription subscription : subscriptions) {
+            subscription.stop();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private record Envelope(DomainEvent event, long publishedAtNanos) {
+    }
+
+    private final class Subscription implements Runnable {
+
+        private final DomainEventListener listener;
+        private final RingBuffer<Envelope> buffer;
+        private final Counter processed;
+        private final Counter dropped;
+        private final Timer deliveryLag;
+        private final AtomicLong droppedSinceResync = new AtomicLong();
+
+        private volatile Thread thread;
+        private volatile boolean parked;
+
+        Subscription(DomainEventListener listener, int bufferSize, MeterRegistry meterRegistry) {
+            this.listener = listener;
+            this.buffer = new RingBuffer<>(bufferSize);
+            String name = listener.listenerName();
+            this.processed = meterRegistry.counter("blog.events.processed", "listener", name);
+            this.dropped = meterRegistry.counter("blog.events.dropped", "listener", name);
+            this.deliveryLag = Timer.builder("blog.events.delivery.lag")
+                    .tag("listener", name)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry);
+            Gauge.builder("blog.events.backlog", buffer, RingBuffer::size)
+                    .tag("listener", name)
+                    .register(meterRegistry);
+            Gauge.builder("blog.events.capacity", buffer, RingBuffer::capacity)
+                    .tag("listener", name)
+                    .register(meterRegistry);
+        }
+
+        void offer(Envelope envelope) {
+            if (!buffer.offer(envelope)) {
+                dropped.increment();
+                if (droppedSinceResync.getAndIncrement() == 0) {
+                    log.warn("Event buffer of {} is full, dropping events until it catches up", listener.listenerName());
+                }
+            }
+            if (parked) {
+                Thread consumer = thread;
+                if (consumer != null) {
+                    LockSupport.unpark(consumer);
+                }
+            }
+        }
+
+        void start() {
+            Thread consumer = new Thread(this, "events-" + listener.listenerName());
+            consumer.setDaemon(true);
+            thread = consumer;
+            consumer.start();
+        }
+
+        void stop() {
+            Thread consumer = thread;
+            if (consumer == null) return;
+            LockSupport.unpark(consumer);
+            try {
+                consumer.join(Duration.ofSeconds(5).toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+
+        @Override
+        public void run() {
+            List<Envelope> batch = new ArrayList<>(batchSize);
+            while (running || buffer.size() > 0) {
+                if (buffer.drainTo(batch, batchSize) == 0) {
+                    parked = true;
+                    if (buffer.size() == 0 && running) {
+                        LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                    }
+                    parked = false;
+                    continue;
+                }
+                deliver(batch);
+                batch.clear();
+                if (droppedSinceResync.get() > 0 && buffer.size() == 0) {
+                    resync();
+                }
+            }
+        }
+
+        private void deliver(List<Envelope> batch) {
+            List<DomainEvent> events = new ArrayList<>(batch.size());
+            long now = System.nanoTime();
+            for (Envelope envelope : batch) {
+                events.add(envelope.event());
+                deliveryLag.record(now - envelope.publishedAtNanos(), TimeUnit.NANOSECONDS);
+            }
+            try {
+                listener.onEvents(events);
+                processed.increment(events.size());
+            } catch (RuntimeException e) {
+                log.error("Listener {} failed to process {} events", listener.listenerName(), events.size(), e);
+            }
+        }
+
+        private void resync() {
+            long lost = droppedSinceResync.getAndSet(0);
+            log.warn("Listener {} dropped {} events, resynchronizing", listener.listenerName(), lost);
+            try {
+                listener.onEventsDropped();
+            } catch (RuntimeException e) {
+                log.error("Listener {} failed to resynchronize", listener.listenerName(), e);
+            }
+        }
+    }
+}
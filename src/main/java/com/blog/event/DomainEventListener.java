@@ -0,0 +1,16 @@
+package com.blog.event;
+
+import java.util.List;
+
+public interface DomainEventListener {
+
+    void onEvents(List<DomainEvent> events);
+
+    // Called on the listener thread after events were dropped because its buffer was full.
+    default void onEventsDropped() {
+    }
+
+    default String listenerName() {
+        return getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,47 @@
+package com.blog.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class DomainEventPublisher {
+
+    private final DomainEventBus eventBus;
+
+    // Events raised inside a transaction are handed to the bus only after it commits.
+    public void publish(DomainEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eventBus.publish(event);
+            return;
+        }
+        PendingEvents pending = pendingEvents();
+        pending.events.add(event);
+    }
+
+    private PendingEvents pendingEvents() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingEvents pending) {
+                return pending;
+            }
+        }
+        PendingEvents pending = new PendingEvents();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    private final class PendingEvents implements TransactionSynchronization {
+
+        private final List<DomainEvent> events = new ArrayList<>();
+
+        @Override
+        public void afterCommit() {
+            events.forEach(eventBus::publish);
+        }
+    }
+}
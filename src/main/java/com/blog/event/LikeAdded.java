@@ -0,0 +1,4 @@
+package com.blog.event;
+
+public record LikeAdded(Long postId, Integer likesCount) implements DomainEvent {
+}
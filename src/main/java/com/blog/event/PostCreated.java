@@ -0,0 +1,7 @@
+package com.blog.event;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+public record PostCreated(Long postId, String title, Set<String> tags, LocalDateTime createdAt) implements DomainEvent {
+}
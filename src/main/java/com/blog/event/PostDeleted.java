@@ -0,0 +1,6 @@
+package com.blog.event;
+
+import java.util.List;
+
+public record PostDeleted(Long postId, List<String> previousTags) implements DomainEvent {
+}
@@ -0,0 +1,9 @@
+package com.blog.event;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+// Current state of a post re-read from the database, typically after another node changed it.
+public record PostRefreshed(Long postId, String title, Set<String> tags, LocalDateTime createdAt,
+                            int likesCount, int commentsCount) implements DomainEvent {
+}
@@ -0,0 +1,7 @@
+package com.blog.event;
+
+import java.util.List;
+import java.util.Set;
+
+public record PostUpdated(Long postId, String title, List<String> previousTags, Set<String> tags) implements DomainEvent {
+}
@@ -1,9 +1,13 @@
 package com.blog.exception;
 
+/**
+ * Raised for every 404, including ids probed by scanners, so it carries no stack trace: the
+ * message identifies the resource and the handler never logs the trace.
+ */
 public class ResourceNotFoundException extends RuntimeException {
 
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public static ResourceNotFoundException postNotFound(Long id) {
@@ -15,4 +19,4 @@ public class ResourceNotFoundException extends RuntimeException {
                 "Comment with id " + commentId + " not found in post " + postId
         );
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,151 @@
+package com.blog.jdbc;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Times every statement executed through the pool. Each execution is added to the current
+ * request's {@link SqlStatementStats}, and statements slower than the threshold are logged with
+ * the SQL and the types of the bound parameters, never their values.
+ */
+@Slf4j
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    private final long slowQueryNanos;
+
+    public InstrumentedDataSource(DataSource target, long slowQueryMillis) {
+        super(target);
+        this.slowQueryNanos = slowQueryMillis * 1_000_000L;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    // Simple name for scalars, element type and length for arrays bound to "= ANY(?)".
+    static String shapeOf(Object value) {
+        if (value == null) return "null";
+        Class<?> type = value.getClass();
+        if (type.isArray()) {
+            return type.getComponentType().getSimpleName() + "[" + Array.getLength(value) + "]";
+        }
+        return type.getSimpleName();
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "unwrap" -> {
+                    if (((Class<?>) args[0]).isInstance(proxy)) return proxy;
+                }
+                case "isWrapperFor" -> {
+                    if (((Class<?>) args[0]).isInstance(proxy)) return true;
+                }
+                default -> {
+                }
+            }
+            Object result = InstrumentedDataSource.invoke(target, method, args);
+            if (result instanceof Statement statement) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                        : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+                return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                        new StatementHandler(statement, sql));
+            }
+            return result;
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String sql;
+        private final List<String> parameterShapes = new ArrayList<>();
+        private int batchSize;
+
+        StatementHandler(Statement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return timed(method, args);
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                recordShape(index, name.equals("setNull") ? "null" : shapeOf(args[1]));
+            } else if (name.equals("clearParameters")) {
+                parameterShapes.clear();
+            } else if (name.equals("addBatch")) {
+                batchSize++;
+            }
+            return InstrumentedDataSource.invoke(target, method, args);
+        }
+
+        private Object timed(Method method, Object[] args) throws Throwable {
+            long start = System.nanoTime();
+            try {
+                return InstrumentedDataSource.invoke(target, method, args);
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                SqlStatementStats.record(elapsed);
+                if (elapsed >= slowQueryNanos) {
+                    String statementSql = args != null && args.length > 0 && args[0] instanceof String s ? s : sql;
+                    log.warn("Slow SQL ({} ms{}): {} params={}", elapsed / 1_000_000,
+                            batchSize > 0 ? ", batch of " + batchSize : "", statementSql, parameterShapes);
+                }
+                batchSize = 0;
+            }
+        }
+
+        private void recordShape(int index, String shape) {
+            while (parameterShapes.size() < index) {
+                parameterShapes.add("?");
+            }
+            parameterShapes.set(index - 1, shape);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.blog.jdbc;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+/**
+ * Holds one connection per node that {@code LISTEN}s on every subscribed channel and dispatches
+ * notifications to in-process handlers on a single thread. After the connection is lost,
+ * notifications sent in the meantime are gone, so handlers are told to resynchronize once the
+ * connection is back.
+ */
+@Component
+@Slf4j
+public class PgNotificationListener implements SmartLifecycle {
+
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    public interface Handler {
+
+        void onNotification(String payload);
+
+        default void onReconnected() {
+        }
+    }
+
+    private final DataSource dataSource;
+    private final int pollTimeoutMillis;
+    private final long reconnectDelayMillis;
+    private final Map<String, List<Handler>> handlers = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public PgNotificationListener(DataSource dataSource,
+                                  @Value("${blog.notifications.poll-timeout-ms:500}") int pollTimeoutMillis,
+                                  @Value("${blog.notifications.reconnect-delay-ms:5000}") long reconnectDelayMillis) {
+        this.dataSource = dataSource;
+        this.pollTimeoutMillis = pollTimeoutMillis;
+        this.reconnectDelayMillis = reconnectDelayMillis;
+    }
+
+    public void subscribe(String channel, Handler handler) {
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid channel name: " + channel);
+        }
+        handlers.computeIfAbsent(channel, key -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::listen, "pg-notification-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            try {
+                thread.join(pollTimeoutMillis * 2L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                Set<String> listening = new HashSet<>();
+                listenToNewChannels(connection, listening);
+                if (reconnecting) {
+                    log.info("Notification listener reconnected");
+                    handlers.values().forEach(list -> list.forEach(Handler::onReconnected));
+                }
+                reconnecting = true;
+
+                while (running) {
+                    listenToNewChannels(connection, listening);
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMillis);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getName(), notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                log.warn("Notification listener lost its connection: {}", e.getMessage());
+                pause();
+            }
+        }
+    }
+
+    private void listenToNewChannels(Connection connection, Set<String> listening) throws SQLException {
+        for (String channel : handlers.keySet()) {
+            if (listening.add(channel)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+            }
+        }
+    }
+
+    private void dispatch(String channel, String payload) {
+        for (Handler handler : handlers.getOrDefault(channel, List.of())) {
+            try {
+                handler.onNotification(payload);
+            } catch (RuntimeException e) {
+                log.error("Handler failed for notification on {}: {}", channel, payload, e);
+            }
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(reconnectDelayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.blog.jdbc;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ReadYourWritesTracker {
+
+    private static final int EVICTION_THRESHOLD = 100_000;
+
+    private final long windowNanos;
+    private final ConcurrentHashMap<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(long windowMillis) {
+        this.windowNanos = windowMillis * 1_000_000L;
+    }
+
+    public void recordWrite(String clientId) {
+        if (clientId == null) return;
+        if (lastWrites.size() > EVICTION_THRESHOLD) {
+            evictExpired();
+        }
+        lastWrites.put(clientId, System.nanoTime());
+    }
+
+    public boolean isRecentWriter(String clientId) {
+        if (clientId == null) return false;
+        Long writtenAt = lastWrites.get(clientId);
+        if (writtenAt == null) return false;
+        if (System.nanoTime() - writtenAt < windowNanos) return true;
+        lastWrites.remove(clientId, writtenAt);
+        return false;
+    }
+
+    public void evictExpired() {
+        long now = System.nanoTime();
+        lastWrites.values().removeIf(writtenAt -> now - writtenAt >= windowNanos);
+    }
+}
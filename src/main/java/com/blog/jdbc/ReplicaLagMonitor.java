@@ -0,0 +1,89 @@
+package com.blog.jdbc;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    private static final long UNAVAILABLE = -1;
+
+    private final Map<String, JdbcTemplate> probes = new LinkedHashMap<>();
+    private final Map<String, Long> lagMillis = new ConcurrentHashMap<>();
+    private final String lagQuery;
+    private final long maxLagMillis;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-lag-monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile List<String> healthyReplicas = List.of();
+
+    public ReplicaLagMonitor(Map<String, DataSource> replicas, String lagQuery, long maxLagMillis) {
+        replicas.forEach((name, dataSource) -> probes.put(name, new JdbcTemplate(dataSource)));
+        this.lagQuery = lagQuery;
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    public void start(long intervalMillis) {
+        scheduler.scheduleWithFixedDelay(this::refresh, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void refresh() {
+        probes.forEach((name, probe) -> {
+            try {
+                Double lagSeconds = probe.queryForObject(lagQuery, Double.class);
+                recordLag(name, lagSeconds != null ? Math.round(lagSeconds * 1000) : 0);
+            } catch (DataAccessException e) {
+                log.warn("Replica {} is unavailable: {}", name, e.getMessage());
+                recordFailure(name);
+            }
+        });
+    }
+
+    public List<String> healthyReplicas() {
+        return healthyReplicas;
+    }
+
+    public long lagMillis(String replica) {
+        return lagMillis.getOrDefault(replica, UNAVAILABLE);
+    }
+
+    void recordLag(String replica, long lag) {
+        Long previous = lagMillis.put(replica, lag);
+        if (lag > maxLagMillis && (previous == null || previous <= maxLagMillis)) {
+            log.warn("Replica {} lags {} ms behind the primary, routing its reads to the primary", replica, lag);
+        }
+        updateHealthyReplicas();
+    }
+
+    void recordFailure(String replica) {
+        lagMillis.put(replica, UNAVAILABLE);
+        updateHealthyReplicas();
+    }
+
+    private void updateHealthyReplicas() {
+        healthyReplicas = probes.keySet().stream()
+                .filter(name -> {
+                    long lag = lagMillis.getOrDefault(name, UNAVAILABLE);
+                    return lag != UNAVAILABLE && lag <= maxLagMillis;
+                })
+                .toList();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,47 @@
+package com.blog.jdbc;
+
+/**
+ * Statements executed and time spent in the database by the current request. The servlet filter
+ * opens a scope per request; statements on threads without a scope (schedulers, listeners) are
+ * not counted.
+ */
+public final class SqlStatementStats {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long elapsedNanos;
+
+    private SqlStatementStats() {
+    }
+
+    public static SqlStatementStats start() {
+        SqlStatementStats stats = new SqlStatementStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    static void record(long nanos) {
+        SqlStatementStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+            stats.elapsedNanos += nanos;
+        }
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+}
@@ -0,0 +1,17 @@
+package com.blog.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CacheInvalidation {
+    private Long id;
+    private String entity;
+    private Long entityId;
+    private String origin;
+}
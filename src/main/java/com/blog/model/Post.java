@@ -18,6 +18,7 @@ public class Post {
     private String text;
     private Set<String> tags;
     private Integer likesCount;
+    private Long viewCount;
     private byte[] image;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
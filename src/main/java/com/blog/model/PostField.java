@@ -0,0 +1,61 @@
+package com.blog.model;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Fields of a post that a client can ask for with {@code fields=}. Fields backed by a column are
+ * selected only when requested; {@code tags} and {@code commentsCount} each cost a separate query
+ * that is skipped when they are left out. The id is always returned.
+ */
+public enum PostField {
+    ID("id", "id"),
+    TITLE("title", "title"),
+    TEXT("text", "text"),
+    TAGS("tags", null),
+    LIKES_COUNT("likesCount", "likes_count"),
+    COMMENTS_COUNT("commentsCount", null),
+    VIEW_COUNT("viewCount", "view_count");
+
+    public static final Set<PostField> ALL = Collections.unmodifiableSet(EnumSet.allOf(PostField.class));
+
+    private final String jsonName;
+    private final String column;
+
+    PostField(String jsonName, String column) {
+        this.jsonName = jsonName;
+        this.column = column;
+    }
+
+    public String jsonName() {
+        return jsonName;
+    }
+
+    public String column() {
+        return column;
+    }
+
+    // Comma-separated JSON names; blank means every field.
+    public static Set<PostField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        EnumSet<PostField> parsed = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) continue;
+            parsed.add(byJsonName(trimmed));
+        }
+        return Collections.unmodifiableSet(parsed);
+    }
+
+    private static PostField byJsonName(String name) {
+        for (PostField field : values()) {
+            if (field.jsonName.equals(name)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown post field: " + name);
+    }
+}
@@ -0,0 +1,18 @@
+package com.blog.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostImage {
+    private Long postId;
+    private long size;
+    private long version;
+    // Null when only the size and version were read.
+    private byte[] data;
+}
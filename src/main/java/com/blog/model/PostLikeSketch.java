@@ -0,0 +1,16 @@
+package com.blog.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostLikeSketch {
+    private Long postId;
+    private byte[] bloom;
+    private byte[] hll;
+}
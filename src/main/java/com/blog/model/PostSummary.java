@@ -0,0 +1,22 @@
+package com.blog.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostSummary {
+    private Long id;
+    private String title;
+    private Set<String> tags;
+    private Integer likesCount;
+    private Integer commentsCount;
+    private LocalDateTime createdAt;
+}
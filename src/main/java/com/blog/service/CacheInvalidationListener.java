@@ -0,0 +1,9 @@
+package com.blog.service;
+
+public interface CacheInvalidationListener {
+
+    void invalidate(String entity, Long entityId);
+
+    // Called when invalidations may have been missed and nothing cached can be trusted.
+    void invalidateAll();
+}
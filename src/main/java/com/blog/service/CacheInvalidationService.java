@@ -0,0 +1,160 @@
+package com.blog.service;
+
+import com.blog.dao.CacheInvalidationRepository;
+import com.blog.jdbc.PgNotificationListener;
+import com.blog.model.CacheInvalidation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps node-local caches coherent across instances. Writers log each invalidation in
+ * {@code cache_invalidations} and announce it with {@code NOTIFY} in the same transaction; every
+ * node applies what it hears. After the listening connection comes back, the node replays the
+ * log from the highest id it has seen (with an overlap, because ids are not committed in order)
+ * and falls back to flushing everything when the gap is too large or too old to replay.
+ */
+@Service
+@Slf4j
+public class CacheInvalidationService implements PgNotificationListener.Handler {
+
+    private final CacheInvalidationRepository cacheInvalidationRepository;
+    private final List<CacheInvalidationListener> listeners;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final int replayOverlap;
+    private final int maxReplay;
+    private final long retentionMillis;
+
+    private final AtomicLong highestSeenId = new AtomicLong();
+    private volatile long lastHeardAtMillis = System.currentTimeMillis();
+
+    private final Timer lag;
+    private final Counter applied;
+    private final Counter replayed;
+    private final Counter fullFlushes;
+
+    public CacheInvalidationService(CacheInvalidationRepository cacheInvalidationRepository,
+                                    List<CacheInvalidationListener> listeners,
+                                    PgNotificationListener notificationListener,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${blog.cache.invalidation.replay-overlap:1000}") int replayOverlap,
+                                    @Value("${blog.cache.invalidation.max-replay:10000}") int maxReplay,
+                                    @Value("${blog.cache.invalidation.retention-ms:3600000}") long retentionMillis) {
+        this.cacheInvalidationRepository = cacheInvalidationRepository;
+        this.listeners = listeners;
+        this.replayOverlap = replayOverlap;
+        this.maxReplay = maxReplay;
+        this.retentionMillis = retentionMillis;
+        this.lag = Timer.builder("blog.cache.invalidation.lag")
+                .description("Time from publishing an invalidation to applying it on another node")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.applied = meterRegistry.counter("blog.cache.invalidation.applied");
+        this.replayed = meterRegistry.counter("blog.cache.invalidation.replayed");
+        this.fullFlushes = meterRegistry.counter("blog.cache.invalidation.full-flushes");
+        notificationListener.subscribe(CacheInvalidationRepository.CHANNEL, this);
+    }
+
+    // Must run inside the writing transaction; this node applies it right after commit.
+    public void invalidate(String entity, Long entityId) {
+        cacheInvalidationRepository.publish(entity, entityId, nodeId);
+        invalidateLocally(entity, entityId);
+    }
+
+    // For frequent changes that other nodes may see late: their entries only expire by TTL.
+    public void invalidateLocally(String entity, Long entityId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(entity, entityId);
+                }
+            });
+        } else {
+            apply(entity, entityId);
+        }
+    }
+
+    @Override
+    public void onNotification(String payload) {
+        String[] parts = payload.split(":", -1);
+        if (parts.length != 5) {
+            log.warn("Ignoring malformed cache invalidation: {}", payload);
+            return;
+        }
+        long id = Long.parseLong(parts[0]);
+        highestSeenId.accumulateAndGet(id, Math::max);
+        lastHeardAtMillis = System.currentTimeMillis();
+        if (nodeId.equals(parts[3])) return;
+
+        apply(parts[1], parts[2].isEmpty() ? null : Long.valueOf(parts[2]));
+        lag.record(Math.max(0, System.currentTimeMillis() - Long.parseLong(parts[4])), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void onReconnected() {
+        long since = highestSeenId.get();
+        if (since == 0) {
+            flushAll("no position in the log is known yet");
+            return;
+        }
+        if (System.currentTimeMillis() - lastHeardAtMillis > retentionMillis) {
+            flushAll("the log no longer covers the time since the last invalidation");
+            return;
+        }
+        List<CacheInvalidation> missed;
+        try {
+            missed = cacheInvalidationRepository.findAfter(Math.max(0, since - replayOverlap), maxReplay + 1);
+        } catch (DataAccessException e) {
+            flushAll("the log could not be read");
+            return;
+        }
+        if (missed.size() > maxReplay) {
+            flushAll(missed.size() + " invalidations were missed");
+            return;
+        }
+        for (CacheInvalidation invalidation : missed) {
+            highestSeenId.accumulateAndGet(invalidation.getId(), Math::max);
+            apply(invalidation.getEntity(), invalidation.getEntityId());
+        }
+        lastHeardAtMillis = System.currentTimeMillis();
+        replayed.increment(missed.size());
+        log.info("Replayed {} cache invalidations after reconnecting", missed.size());
+    }
+
+    @Scheduled(fixedDelayString = "${blog.cache.invalidation.prune-interval-ms:600000}")
+    public void prune() {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(TimeUnit.MILLISECONDS.toNanos(retentionMillis));
+        int deleted;
+        do {
+            deleted = cacheInvalidationRepository.deleteOlderThan(cutoff, 1000);
+        } while (deleted == 1000);
+    }
+
+    private void apply(String entity, Long entityId) {
+        for (CacheInvalidationListener listener : listeners) {
+            listener.invalidate(entity, entityId);
+        }
+        applied.increment();
+    }
+
+    private void flushAll(String reason) {
+        log.warn("Flushing all caches because {}", reason);
+        listeners.forEach(CacheInvalidationListener::invalidateAll);
+        fullFlushes.increment();
+        lastHeardAtMillis = System.currentTimeMillis();
+    }
+}
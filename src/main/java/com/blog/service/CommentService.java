@@ -3,6 +3,9 @@ package com.blog.service;
 import com.blog.dao.CommentRepository;
 import com.blog.dao.PostRepository;
 import com.blog.dto.CommentDto;
+import com.blog.event.CommentAdded;
+import com.blog.event.CommentDeleted;
+import com.blog.event.DomainEventPublisher;
 import com.blog.exception.ResourceNotFoundException;
 import com.blog.model.Comment;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +23,8 @@ public class CommentService {
 
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
+    private final DomainEventPublisher eventPublisher;
+    private final CacheInvalidationService cacheInvalidationService;
 
     @Transactional(readOnly = true)
     public List<CommentDto> getCommentsByPostId(Long postId) {
@@ -53,6 +58,9 @@ public class CommentService {
         comment.initializeCreatedAt();
         comment.updateTimestamp();
         Comment saved = commentRepository.save(comment);
+        commentRepository.notifyChange("created", postId, saved.getId());
+        eventPublisher.publish(new CommentAdded(postId, saved.getId()));
+        cacheInvalidationService.invalidate(PostCache.ENTITY, postId);
         return toDto(saved);
     }
 
@@ -64,6 +72,7 @@ public class CommentService {
         comment.setText(dto.getText());
         comment.updateTimestamp();
         Comment updated = commentRepository.save(comment);
+        commentRepository.notifyChange("updated", postId, commentId);
         return toDto(updated);
     }
 
@@ -72,7 +81,10 @@ public class CommentService {
         log.debug("Deleting comment {} for post {}", commentId, postId);
         Comment comment = commentRepository.findByIdAndPostId(commentId, postId)
                 .orElseThrow(() -> ResourceNotFoundException.commentNotFoundInPost(postId, commentId));
-        commentRepository.deleteById(comment.getId());
+        commentRepository.deleteByIdAndPostId(comment.getId(), postId);
+        commentRepository.notifyChange("deleted", postId, comment.getId());
+        eventPublisher.publish(new CommentDeleted(postId, comment.getId()));
+        cacheInvalidationService.invalidate(PostCache.ENTITY, postId);
     }
 
     private CommentDto toDto(Comment c) {
@@ -0,0 +1,300 @@
+package com.blog.service;
+
+import com.blog.dao.CommentRepository;
+import com.blog.dao.PostRepository;
+import com.blog.dto.CommentDto;
+import com.blog.exception.ResourceNotFoundException;
+import com.blog.jdbc.PgNotificationListener;
+import com.blog.model.Comment;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes comment changes to open SSE streams. Changes arrive through one {@code LISTEN} per node,
+ * each changed comment is loaded once no matter how many streams watch its post, and the
+ * serialized event is queued per subscriber. A small writer pool drains the queues; a subscriber
+ * whose queue overflows is disconnected instead of holding memory for everyone else.
+ * <p>
+ * A client that stops reading makes {@code send} block once its TCP window is full, and the
+ * blocked write cannot be interrupted. A subscriber whose send has not returned within
+ * {@code blog.comments.stream.send-timeout-ms} is therefore disconnected and the pool gets an
+ * extra writer for as long as the stuck one stays blocked, so other streams keep being served.
+ */
+@Service
+@Slf4j
+public class CommentStreamService implements PgNotificationListener.Handler {
+
+    static final String RESYNC = "resync";
+
+    private static final long IDLE = 0;
+    private static final long STALLED = Long.MIN_VALUE;
+
+    private final CommentRepository commentRepository;
+    private final PostRepository postRepository;
+    private final ObjectMapper objectMapper;
+    private final int queueSize;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+    private final long sendTimeoutNanos;
+    private final ThreadPoolExecutor writers;
+    private final Counter evicted;
+    private final Counter stalled;
+
+    private final Map<Long, Set<Subscriber>> subscribersByPost = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong eventIds = new AtomicLong();
+
+    public CommentStreamService(CommentRepository commentRepository,
+                                PostRepository postRepository,
+                                ObjectMapper objectMapper,
+                                PgNotificationListener notificationListener,
+                                MeterRegistry meterRegistry,
+                                @Value("${blog.comments.stream.queue-size:64}") int queueSize,
+                                @Value("${blog.comments.stream.max-subscribers:50000}") int maxSubscribers,
+                                @Value("${blog.comments.stream.timeout-ms:1800000}") long timeoutMillis,
+                                @Value("${blog.comments.stream.writer-threads:4}") int writerThreads,
+                                @Value("${blog.comments.stream.send-timeout-ms:5000}") long sendTimeoutMillis) {
+        this.commentRepository = commentRepository;
+        this.postRepository = postRepository;
+        this.objectMapper = objectMapper;
+        this.queueSize = queueSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeoutMillis;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.writers = new ThreadPoolExecutor(writerThreads, writerThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "comment-stream-writer-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.evicted = meterRegistry.counter("blog.comments.stream.evicted");
+        this.stalled = meterRegistry.counter("blog.comments.stream.stalled");
+        meterRegistry.gauge("blog.comments.stream.subscribers", subscriberCount);
+        notificationListener.subscribe(CommentRepository.CHANGES_CHANNEL, this);
+    }
+
+    public SseEmitter subscribe(Long postId, String lastEventId) {
+        return subscribe(postId, lastEventId, new SseEmitter(timeoutMillis));
+    }
+
+    SseEmitter subscribe(Long postId, String lastEventId, SseEmitter emitter) {
+        if (!postRepository.existsById(postId)) {
+            throw ResourceNotFoundException.postNotFound(postId);
+        }
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many comment streams open");
+        }
+
+        Subscriber subscriber = new Subscriber(postId, emitter);
+        subscribersByPost.computeIfAbsent(postId, key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+
+        // A reconnecting client may have missed changes while it was away.
+        if (lastEventId != null) {
+            subscriber.enqueue(event(RESYNC, "{}"));
+        }
+        return emitter;
+    }
+
+    @Override
+    public void onNotification(String payload) {
+        String[] parts = payload.split(":");
+        if (parts.length != 3) {
+            log.warn("Ignoring malformed comment notification: {}", payload);
+            return;
+        }
+        String action = parts[0];
+        Long postId = Long.valueOf(parts[1]);
+        Long commentId = Long.valueOf(parts[2]);
+
+        Set<Subscriber> subscribers = subscribersByPost.get(postId);
+        if (subscribers == null || subscribers.isEmpty()) return;
+
+        CommentDto comment;
+        if ("deleted".equals(action)) {
+            comment = CommentDto.builder().id(commentId).postId(postId).build();
+        } else {
+            Optional<Comment> loaded = commentRepository.findByIdAndPostId(commentId, postId);
+            if (loaded.isEmpty()) return;
+            comment = CommentDto.builder()
+                    .id(loaded.get().getId())
+                    .text(loaded.get().getText())
+                    .postId(loaded.get().getPostId())
+                    .build();
+        }
+
+        StreamEvent event;
+        try {
+            event = event("comment-" + action, objectMapper.writeValueAsString(comment));
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize comment {}", commentId, e);
+            return;
+        }
+        subscribers.forEach(subscriber -> subscriber.enqueue(event));
+    }
+
+    @Override
+    public void onReconnected() {
+        StreamEvent resync = event(RESYNC, "{}");
+        subscribersByPost.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.enqueue(resync)));
+    }
+
+    @Scheduled(fixedDelayString = "${blog.comments.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        subscribersByPost.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.enqueue(StreamEvent.HEARTBEAT)));
+    }
+
+    // A stuck writer stays blocked until the container's own write timeout; a replacement serves the rest meanwhile.
+    @Scheduled(fixedDelayString = "${blog.comments.stream.send-timeout-ms:5000}")
+    public void evictStalled() {
+        long now = System.nanoTime();
+        subscribersByPost.values().forEach(subscribers -> subscribers.forEach(subscriber -> {
+            long started = subscriber.sendStartedNanos.get();
+            if (started != IDLE && started != STALLED && now - started > sendTimeoutNanos
+                    && subscriber.sendStartedNanos.compareAndSet(started, STALLED)) {
+                stalled.increment();
+                log.debug("Disconnecting stalled comment stream for post {}", subscriber.postId);
+                remove(subscriber);
+                resizeWriters(1);
+            }
+        }));
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writers.shutdownNow();
+        subscribersByPost.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    private synchronized void resizeWriters(int delta) {
+        if (delta > 0) {
+            writers.setMaximumPoolSize(writers.getMaximumPoolSize() + delta);
+            writers.setCorePoolSize(writers.getCorePoolSize() + delta);
+        } else {
+            writers.setCorePoolSize(writers.getCorePoolSize() + delta);
+            writers.setMaximumPoolSize(writers.getMaximumPoolSize() + delta);
+        }
+    }
+
+    private StreamEvent event(String name, String json) {
+        return new StreamEvent(Long.toString(eventIds.incrementAndGet()), name, json);
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (subscriber.closed.compareAndSet(false, true)) {
+            subscriberCount.decrementAndGet();
+            subscribersByPost.computeIfPresent(subscriber.postId, (postId, subscribers) -> {
+                subscribers.remove(subscriber);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        }
+    }
+
+    private record StreamEvent(String id, String name, String json) {
+
+        static final StreamEvent HEARTBEAT = new StreamEvent(null, null, null);
+
+        SseEmitter.SseEventBuilder toSse() {
+            if (name == null) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            return SseEmitter.event().id(id).name(name).data(json, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    private final class Subscriber {
+
+        final Long postId;
+        final SseEmitter emitter;
+        final Queue<StreamEvent> queue = new ConcurrentLinkedQueue<>();
+        final AtomicInteger queued = new AtomicInteger();
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+        final AtomicLong sendStartedNanos = new AtomicLong(IDLE);
+
+        Subscriber(Long postId, SseEmitter emitter) {
+            this.postId = postId;
+            this.emitter = emitter;
+        }
+
+        void enqueue(StreamEvent event) {
+            if (closed.get()) return;
+            if (queued.incrementAndGet() > queueSize) {
+                evicted.increment();
+                log.debug("Disconnecting slow comment stream for post {}", postId);
+                remove(this);
+                emitter.complete();
+                return;
+            }
+            queue.offer(event);
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                writers.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            boolean wasStalled = false;
+            try {
+                StreamEvent event;
+                while (!closed.get() && (event = queue.poll()) != null) {
+                    queued.decrementAndGet();
+                    sendStartedNanos.set(System.nanoTime());
+                    try {
+                        emitter.send(event.toSse());
+                    } finally {
+                        wasStalled = sendStartedNanos.getAndSet(IDLE) == STALLED;
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                remove(this);
+            } finally {
+                draining.set(false);
+                if (wasStalled) {
+                    // Evicted while blocked; completing from the watchdog would wait on the same write.
+                    resizeWriters(-1);
+                    emitter.complete();
+                }
+            }
+            if (!closed.get() && !queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.blog.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Node-local cache of post images in direct buffers, bounded by total bytes and evicted in LRU
+ * order. Images live outside the heap, so a hot image costs no garbage per request and does not
+ * count against the young generation. Readers get read-only views: an evicted buffer is released
+ * by the GC once the last response writing it has finished, never while it is in use.
+ * <p>
+ * Reads take no lock. Eviction order is approximate LRU: a read stamps the entry with the current
+ * value of a clock that only stores advance, so entries read since the last store rank above
+ * everything read before it. Stores, eviction and invalidation run under the monitor.
+ * Invalidation follows {@link PostCache}: a load that raced with an invalidation is not stored.
+ * A budget of zero disables the cache.
+ */
+@Service
+public class ImageCache implements CacheInvalidationListener {
+
+    public static final String ENTITY = "post-image";
+
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong epoch = new AtomicLong();
+    private final AtomicLong clock = new AtomicLong();
+    private long usedBytes;
+
+    public ImageCache(@Value("${blog.cache.images.max-bytes:67108864}") long maxBytes,
+                      @Value("${blog.cache.images.max-entry-bytes:4194304}") long maxEntryBytes) {
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = Math.min(maxEntryBytes, maxBytes);
+    }
+
+    public long epoch() {
+        return epoch.get();
+    }
+
+    public Image get(Long id) {
+        Entry entry = entries.get(id);
+        if (entry == null) return null;
+        entry.lastUsed = clock.get();
+        return entry.image.view();
+    }
+
+    // Returns the cached view, or null when the image is too large or changed while it was loaded.
+    public Image put(Long id, byte[] data, long version, long epochBeforeLoad) {
+        if (data.length == 0 || data.length > maxEntryBytes) return null;
+        Image image = new Image(ByteBuffer.allocateDirect(data.length).put(data).flip(), version);
+        synchronized (this) {
+            if (epoch.get() != epochBeforeLoad) return null;
+            Entry previous = entries.put(id, new Entry(image, clock.getAndIncrement()));
+            usedBytes += image.size() - (previous != null ? previous.image.size() : 0);
+            evictToBudget(id);
+        }
+        return image.view();
+    }
+
+    public synchronized long usedBytes() {
+        return usedBytes;
+    }
+
+    @Override
+    public void invalidate(String entity, Long entityId) {
+        if (!ENTITY.equals(entity)) return;
+        synchronized (this) {
+            epoch.incrementAndGet();
+            Entry removed = entries.remove(entityId);
+            if (removed != null) {
+                usedBytes -= removed.image.size();
+            }
+        }
+    }
+
+    @Override
+    public synchronized void invalidateAll() {
+        epoch.incrementAndGet();
+        entries.clear();
+        usedBytes = 0;
+    }
+
+    // The image just stored goes last; it shares its stamp with images read since the previous store.
+    private void evictToBudget(Long stored) {
+        if (usedBytes <= maxBytes) return;
+        List<Map.Entry<Long, Entry>> byLastUse = new ArrayList<>(entries.entrySet());
+        byLastUse.sort(Comparator.<Map.Entry<Long, Entry>, Boolean>comparing(cached -> cached.getKey().equals(stored))
+                .thenComparingLong(cached -> cached.getValue().lastUsed));
+        for (int i = 0; i < byLastUse.size() && usedBytes > maxBytes; i++) {
+            Map.Entry<Long, Entry> eldest = byLastUse.get(i);
+            if (entries.remove(eldest.getKey(), eldest.getValue())) {
+                usedBytes -= eldest.getValue().image.size();
+            }
+        }
+    }
+
+    private static final class Entry {
+        final Image image;
+        volatile long lastUsed;
+
+        Entry(Image image, long lastUsed) {
+            this.image = image;
+            this.lastUsed = lastUsed;
+        }
+    }
+
+    // The version is the image_version the bytes were read with; it backs the image ETag.
+    public record Image(ByteBuffer data, long version) {
+
+        public int size() {
+            return data.remaining();
+        }
+
+        Image view() {
+            return new Image(data.asReadOnlyBuffer(), version);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.blog.service;
+
+import com.blog.dao.LikeSketchRepository;
+import com.blog.event.DomainEvent;
+import com.blog.event.DomainEventListener;
+import com.blog.event.PostDeleted;
+import com.blog.model.PostLikeSketch;
+import com.blog.sketch.HyperLogLog;
+import com.blog.sketch.ScalableBloomFilter;
+import com.blog.sketch.SketchHash;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Deduplicates likes per client with a scalable Bloom filter and counts unique likers with
+ * HyperLogLog, about 4 KB for a post with up to ~1600 likers. Each node keeps sketches of recently liked posts in memory and periodically
+ * merges them into {@code post_like_sketches}, taking back what other nodes merged meanwhile.
+ * Both sketches merge commutatively, so the order in which nodes flush does not matter. A client
+ * that likes the same post on two nodes between flushes may be counted twice.
+ * <p>
+ * A like reaches the sketches only when its transaction commits. Once the newest layer of a post's
+ * filter is filled beyond {@code blog.likes.bloom-max-fill}, the filter grows by another layer, so
+ * repeats stay rejected and false positives stay bounded on posts with any number of likers.
+ */
+@Service
+@Slf4j
+public class LikeSketchService implements DomainEventListener {
+
+    private final LikeSketchRepository likeSketchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final double bloomMaxFill;
+
+    private final Map<Long, Sketch> sketches = new ConcurrentHashMap<>();
+
+    public LikeSketchService(LikeSketchRepository likeSketchRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${blog.likes.bloom-max-fill:0.5}") double bloomMaxFill) {
+        this.likeSketchRepository = likeSketchRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bloomMaxFill = bloomMaxFill;
+    }
+
+    // Returns false when the client has (probably) liked the post already. Inside a transaction the
+    // like stays pending until commit: a concurrent repeat is still rejected, a rollback leaves no trace.
+    public boolean recordLike(Long postId, String clientId) {
+        long hash = SketchHash.hash(clientId);
+        Sketch sketch;
+        while (true) {
+            sketch = sketchFor(postId);
+            synchronized (sketch) {
+                if (sketch.evicted) continue;
+                if (sketch.pending.contains(hash) || sketch.bloom.mightContain(hash)) {
+                    return false;
+                }
+                if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                    sketch.add(hash);
+                    return true;
+                }
+                sketch.pending.add(hash);
+                sketch.touched = true;
+                break;
+            }
+        }
+        Sketch pendingIn = sketch;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                synchronized (pendingIn) {
+                    pendingIn.pending.remove(hash);
+                    if (status == STATUS_COMMITTED) {
+                        pendingIn.add(hash);
+                    }
+                }
+            }
+        });
+        return true;
+    }
+
+    public boolean hasLiked(Long postId, String clientId) {
+        Sketch sketch = sketchFor(postId);
+        synchronized (sketch) {
+            return sketch.bloom.mightContain(SketchHash.hash(clientId));
+        }
+    }
+
+    public long uniqueLikers(Long postId) {
+        Sketch sketch = sketchFor(postId);
+        synchronized (sketch) {
+            return sketch.hll.estimate();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${blog.likes.flush-interval-ms:5000}")
+    @PreDestroy
+    public void flush() {
+        for (Map.Entry<Long, Sketch> entry : sketches.entrySet()) {
+            Long postId = entry.getKey();
+            Sketch sketch = entry.getValue();
+            PostLikeSketch local;
+            synchronized (sketch) {
+                if (!sketch.dirty) {
+                    // Not liked here since the previous flush: drop it, it reloads on demand.
+                    if (!sketch.touched && sketch.pending.isEmpty()) {
+                        sketch.evicted = true;
+                        sketches.remove(postId, sketch);
+                    }
+                    sketch.touched = false;
+                    continue;
+                }
+                local = sketch.snapshot(postId);
+                sketch.dirty = false;
+                sketch.touched = false;
+            }
+
+            try {
+                PostLikeSketch merged = transactionTemplate.execute(status -> mergeIntoDatabase(local));
+                if (merged != null) {
+                    synchronized (sketch) {
+                        sketch.bloom.merge(ScalableBloomFilter.fromBytes(merged.getBloom(), bloomMaxFill));
+                        sketch.hll.merge(HyperLogLog.fromBytes(merged.getHll()));
+                    }
+                }
+            } catch (DataAccessException e) {
+                log.warn("Could not flush like sketch of post {}: {}", postId, e.getMessage());
+                synchronized (sketch) {
+                    sketch.dirty = true;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            if (event instanceof PostDeleted deleted) {
+                Sketch sketch = sketches.remove(deleted.postId());
+                if (sketch != null) {
+                    synchronized (sketch) {
+                        sketch.evicted = true;
+                    }
+                }
+            }
+        }
+    }
+
+    private PostLikeSketch mergeIntoDatabase(PostLikeSketch local) {
+        if (likeSketchRepository.insertIfAbsent(local)) {
+            return local;
+        }
+        PostLikeSketch stored = likeSketchRepository.findByPostIdForUpdate(local.getPostId()).orElse(null);
+        if (stored == null) return null;
+
+        ScalableBloomFilter bloom = ScalableBloomFilter.fromBytes(stored.getBloom(), bloomMaxFill);
+        bloom.merge(ScalableBloomFilter.fromBytes(local.getBloom(), bloomMaxFill));
+        HyperLogLog hll = HyperLogLog.fromBytes(stored.getHll());
+        hll.merge(HyperLogLog.fromBytes(local.getHll()));
+
+        PostLikeSketch merged = PostLikeSketch.builder()
+                .postId(local.getPostId())
+                .bloom(bloom.toBytes())
+                .hll(hll.toBytes())
+                .build();
+        likeSketchRepository.update(merged);
+        return merged;
+    }
+
+    private Sketch sketchFor(Long postId) {
+        Sketch sketch = sketches.get(postId);
+        if (sketch != null) return sketch;
+        Sketch loaded = likeSketchRepository.findByPostId(postId)
+                .map(stored -> new Sketch(ScalableBloomFilter.fromBytes(stored.getBloom(), bloomMaxFill),
+                        HyperLogLog.fromBytes(stored.getHll())))
+                .orElseGet(() -> new Sketch(new ScalableBloomFilter(bloomMaxFill), new HyperLogLog()));
+        Sketch existing = sketches.putIfAbsent(postId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    // Guarded by its own monitor.
+    private static final class Sketch {
+        final ScalableBloomFilter bloom;
+        final HyperLogLog hll;
+        final Set<Long> pending = new HashSet<>();
+        boolean dirty;
+        boolean touched = true;
+        boolean evicted;
+
+        Sketch(ScalableBloomFilter bloom, HyperLogLog hll) {
+            this.bloom = bloom;
+            this.hll = hll;
+        }
+
+        void add(long hash) {
+            bloom.put(hash);
+            hll.add(hash);
+            dirty = true;
+            touched = true;
+        }
+
+        PostLikeSketch snapshot(Long postId) {
+            return PostLikeSketch.builder()
+                    .postId(postId)
+                    .bloom(bloom.toBytes())
+                    .hll(hll.toBytes())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.blog.service;
+
+import com.blog.dto.PostDto;
+import com.blog.web.SerializedPayload;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Node-local cache of rendered posts (with their serialized bytes), kept coherent across nodes by {@link CacheInvalidationService}.
+ * A value loaded while an invalidation was applied may already be stale, so {@link #put} drops it
+ * unless the post was not invalidated since the caller read {@link #epoch(Long)}. Epochs are kept
+ * per stripe of post ids, so invalidating one post does not discard loads of unrelated ones. Entries
+ * also expire after a short TTL because view and like counts keep moving without cluster-wide
+ * invalidations; a TTL of zero disables the cache.
+ */
+@Service
+public class PostCache implements CacheInvalidationListener {
+
+    public static final String ENTITY = "post";
+
+    private static final int EPOCH_STRIPES = 1024;
+
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLongArray epochs = new AtomicLongArray(EPOCH_STRIPES);
+
+    public PostCache(@Value("${blog.cache.posts.ttl-ms:10000}") long ttlMillis,
+                     @Value("${blog.cache.posts.max-entries:10000}") int maxEntries) {
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+    }
+
+    public long epoch(Long id) {
+        return epochs.get(stripe(id));
+    }
+
+    public SerializedPayload<PostDto> get(Long id) {
+        Entry entry = entries.get(id);
+        if (entry == null) return null;
+        if (entry.expiresAtMillis < System.currentTimeMillis()) {
+            entries.remove(id, entry);
+            return null;
+        }
+        return entry.post;
+    }
+
+    public void put(Long id, SerializedPayload<PostDto> post, long epochBeforeLoad) {
+        if (ttlMillis <= 0) return;
+        if (entries.size() >= maxEntries) {
+            entries.entrySet().removeIf(entry -> entry.getValue().expiresAtMillis < System.currentTimeMillis());
+            if (entries.size() >= maxEntries) return;
+        }
+        Entry entry = new Entry(post, System.currentTimeMillis() + ttlMillis);
+        entries.put(id, entry);
+        // Lost a race with an invalidation: the loaded value may predate it.
+        if (epochs.get(stripe(id)) != epochBeforeLoad) {
+            entries.remove(id, entry);
+        }
+    }
+
+    @Override
+    public void invalidate(String entity, Long entityId) {
+        if (!ENTITY.equals(entity)) return;
+        epochs.incrementAndGet(stripe(entityId));
+        entries.remove(entityId);
+    }
+
+    @Override
+    public void invalidateAll() {
+        for (int i = 0; i < EPOCH_STRIPES; i++) {
+            epochs.incrementAndGet(i);
+        }
+        entries.clear();
+    }
+
+    private static int stripe(Long id) {
+        return Long.hashCode(id) & (EPOCH_STRIPES - 1);
+    }
+
+    private record Entry(SerializedPayload<PostDto> post, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.blog.service;
+
+import com.blog.dao.PostRepository;
+import com.blog.event.DomainEventBus;
+import com.blog.event.DomainEventListener;
+import com.blog.event.PostDeleted;
+import com.blog.event.PostRefreshed;
+import com.blog.model.PostSummary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps the in-memory post indexes (tag cloud, suggestions, trending) in step with writes taken
+ * by other nodes. Post writes publish a {@link #ENTITY} invalidation; the affected posts are
+ * collected and re-read once per {@code blog.cache.tags.refresh-interval-ms}, and their current
+ * state reaches the indexes as {@link PostRefreshed} (or {@link PostDeleted} when the post is
+ * gone) through the event bus. Applying that state is idempotent, so the writing node refreshing
+ * its own changes again is harmless. After missed invalidations every index rebuilds.
+ */
+@Service
+@Slf4j
+public class PostIndexRefresher implements CacheInvalidationListener {
+
+    public static final String ENTITY = "tags";
+
+    private final PostRepository postRepository;
+    private final DomainEventBus eventBus;
+    private final List<DomainEventListener> listeners;
+
+    private final Set<Long> pending = new HashSet<>();
+    private boolean rebuildAll;
+
+    public PostIndexRefresher(PostRepository postRepository, DomainEventBus eventBus,
+                              List<DomainEventListener> listeners) {
+        this.postRepository = postRepository;
+        this.eventBus = eventBus;
+        this.listeners = listeners;
+    }
+
+    @Override
+    public synchronized void invalidate(String entity, Long entityId) {
+        if (ENTITY.equals(entity) && entityId != null) {
+            pending.add(entityId);
+        }
+    }
+
+    @Override
+    public synchronized void invalidateAll() {
+        rebuildAll = true;
+        pending.clear();
+    }
+
+    @Scheduled(fixedDelayString = "${blog.cache.tags.refresh-interval-ms:1000}")
+    public void refresh() {
+        Long[] ids;
+        boolean rebuild;
+        synchronized (this) {
+            rebuild = rebuildAll;
+            ids = pending.toArray(Long[]::new);
+            rebuildAll = false;
+            pending.clear();
+        }
+        if (rebuild) {
+            listeners.forEach(DomainEventListener::onEventsDropped);
+            return;
+        }
+        if (ids.length == 0) return;
+
+        List<PostSummary> summaries;
+        try {
+            summaries = postRepository.findSummariesByIds(ids);
+        } catch (DataAccessException e) {
+            log.warn("Could not refresh {} posts, retrying later: {}", ids.length, e.getMessage());
+            synchronized (this) {
+                pending.addAll(List.of(ids));
+            }
+            return;
+        }
+        Set<Long> missing = new HashSet<>(List.of(ids));
+        for (PostSummary summary : summaries) {
+            missing.remove(summary.getId());
+            eventBus.publish(new PostRefreshed(summary.getId(), summary.getTitle(), summary.getTags(),
+                    summary.getCreatedAt(), summary.getLikesCount(), summary.getCommentsCount()));
+        }
+        for (Long id : missing) {
+            eventBus.publish(new PostDeleted(id, List.of()));
+        }
+    }
+}
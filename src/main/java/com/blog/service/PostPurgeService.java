@@ -0,0 +1,149 @@
+package com.blog.service;
+
+import com.blog.dao.CommentRepository;
+import com.blog.dao.PostRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+/**
+ * Removes posts that {@link PostService#deletePost} only marked deleted. Comments and tags go in
+ * batches of {@code blog.posts.purge.batch-size} rows, each statement committed on its own and
+ * followed by a {@code blog.posts.purge.pause-ms} pause, so no lock is held for long and other
+ * writers keep their share of the database. The post row, and with it the image, goes last.
+ * Every statement is idempotent: nodes that pick the same post at the same time only repeat work.
+ * A post that fails is skipped for a number of runs that doubles with each failure, so it cannot
+ * hold up the posts behind it.
+ */
+@Service
+@Slf4j
+public class PostPurgeService {
+
+    private static final int MAX_BACKOFF_SHIFT = 6;
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final int batchSize;
+    private final long pauseMillis;
+    private final int postsPerRun;
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Counter purgedComments;
+    private final Counter purgedTags;
+    private final Counter purgedPosts;
+    private final Counter failures;
+
+    private final Map<Long, Backoff> failing = new HashMap<>();
+    private long runs;
+    private volatile boolean stopping;
+
+    public PostPurgeService(PostRepository postRepository,
+                            CommentRepository commentRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${blog.posts.purge.batch-size:1000}") int batchSize,
+                            @Value("${blog.posts.purge.pause-ms:50}") long pauseMillis,
+                            @Value("${blog.posts.purge.posts-per-run:10}") int postsPerRun) {
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+        this.postsPerRun = postsPerRun;
+        meterRegistry.gauge("blog.posts.purge.pending", pending);
+        this.purgedComments = meterRegistry.counter("blog.posts.purge.rows", "table", "comments");
+        this.purgedTags = meterRegistry.counter("blog.posts.purge.rows", "table", "post_tags");
+        this.purgedPosts = meterRegistry.counter("blog.posts.purge.rows", "table", "posts");
+        this.failures = meterRegistry.counter("blog.posts.purge.failures");
+    }
+
+    @Scheduled(fixedDelayString = "${blog.posts.purge.interval-ms:10000}")
+    public synchronized void purge() {
+        long run = ++runs;
+        int limit = postsPerRun + failing.size();
+        List<Long> postIds;
+        try {
+            pending.set(postRepository.countDeleted());
+            postIds = postRepository.findDeletedIds(limit);
+        } catch (DataAccessException e) {
+            log.warn("Could not purge deleted posts, retrying later: {}", e.getMessage());
+            return;
+        }
+        if (postIds.size() < limit) {
+            // Every marked post was listed, so the rest were purged elsewhere.
+            failing.keySet().retainAll(postIds);
+        }
+        int attempts = 0;
+        for (Long postId : postIds) {
+            if (attempts == postsPerRun || stopping) return;
+            Backoff backoff = failing.get(postId);
+            if (backoff != null && backoff.retryAtRun() > run) continue;
+            attempts++;
+            try {
+                if (!purgePost(postId)) return;
+                failing.remove(postId);
+                pending.decrementAndGet();
+            } catch (DataAccessException e) {
+                int failed = backoff != null ? backoff.failures() + 1 : 1;
+                long skippedRuns = 1L << Math.min(failed, MAX_BACKOFF_SHIFT);
+                failing.put(postId, new Backoff(failed, run + skippedRuns));
+                failures.increment();
+                log.warn("Could not purge deleted post {} ({} failures in a row), retrying in {} runs: {}",
+                        postId, failed, skippedRuns, e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopping = true;
+    }
+
+    // False when stopped halfway; the post stays marked and the next run continues with it.
+    private boolean purgePost(Long postId) {
+        if (!deleteInBatches(postId, "comments", () -> commentRepository.deleteBatchByPostId(postId, batchSize), purgedComments)
+                || !deleteInBatches(postId, "tags", () -> postRepository.deleteTagsBatch(postId, batchSize), purgedTags)) {
+            return false;
+        }
+        if (postRepository.deleteDeletedById(postId)) {
+            purgedPosts.increment();
+            log.info("Purged deleted post {}", postId);
+        }
+        return true;
+    }
+
+    private boolean deleteInBatches(Long postId, String rows, IntSupplier batch, Counter purged) {
+        long total = 0;
+        while (true) {
+            int deleted = batch.getAsInt();
+            purged.increment(deleted);
+            total += deleted;
+            if (deleted < batchSize) return true;
+            log.debug("Purged {} {} of post {} so far", total, rows, postId);
+            if (stopping || !pause()) return false;
+        }
+    }
+
+    private boolean pause() {
+        if (pauseMillis <= 0) return true;
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private record Backoff(int failures, long retryAtRun) {
+    }
+}
@@ -0,0 +1,80 @@
+package com.blog.service;
+
+import com.blog.dto.PostDto;
+import com.blog.dto.PostListResponseDto;
+import com.blog.jdbc.ReadYourWritesTracker;
+import com.blog.model.PostField;
+import com.blog.web.ClientContext;
+import com.blog.web.SerializedPayload;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+
+/**
+ * Single-flight front for the hottest reads: identical concurrent requests share one call into
+ * {@link PostService} and therefore one set of queries. Runs outside the read transaction, so
+ * waiting callers hold no connection. Results are wrapped in {@link SerializedPayload}, so requests
+ * that share a result also share its serialized bytes. Single posts are also served from
+ * {@link PostCache}. Clients that have just written skip both, because a shared result may come
+ * from a replica that has not caught up with their write.
+ */
+@Service
+public class PostReadCoalescer {
+
+    private final PostService postService;
+    private final ViewCounterService viewCounterService;
+    private final PostCache postCache;
+    private final ReadYourWritesTracker readYourWrites;
+    private final SingleFlight<Long, SerializedPayload<PostDto>> postById;
+    private final SingleFlight<PageKey, SerializedPayload<PostListResponseDto>> postPages;
+
+    public PostReadCoalescer(PostService postService,
+                             ViewCounterService viewCounterService,
+                             PostCache postCache,
+                             ObjectProvider<ReadYourWritesTracker> readYourWrites,
+                             MeterRegistry meterRegistry) {
+        this.postService = postService;
+        this.viewCounterService = viewCounterService;
+        this.postCache = postCache;
+        this.readYourWrites = readYourWrites.getIfAvailable();
+        this.postById = new SingleFlight<>("post-by-id", meterRegistry);
+        this.postPages = new SingleFlight<>("post-page", meterRegistry);
+    }
+
+    public SerializedPayload<PostDto> getPostById(Long id) {
+        SerializedPayload<PostDto> post = isRecentWriter()
+                ? SerializedPayload.of(postService.getPostById(id))
+                : getShared(id);
+        // Every request is a view, including those served by another request's query.
+        viewCounterService.recordView(id);
+        return post;
+    }
+
+    private SerializedPayload<PostDto> getShared(Long id) {
+        SerializedPayload<PostDto> cached = postCache.get(id);
+        if (cached != null) return cached;
+        long epoch = postCache.epoch(id);
+        SerializedPayload<PostDto> post = postById.execute(id, () -> SerializedPayload.of(postService.getPostById(id)));
+        postCache.put(id, post, epoch);
+        return post;
+    }
+
+    public SerializedPayload<PostListResponseDto> getPostsWithPagination(String search, int pageNumber, int pageSize,
+                                                                         Set<PostField> fields) {
+        if (isRecentWriter()) {
+            return SerializedPayload.of(postService.getPostsWithPagination(search, pageNumber, pageSize, fields));
+        }
+        PageKey key = new PageKey(search != null ? search.trim() : "", pageNumber, pageSize, fields);
+        return postPages.execute(key,
+                () -> SerializedPayload.of(postService.getPostsWithPagination(search, pageNumber, pageSize, fields)));
+    }
+
+    private boolean isRecentWriter() {
+        return readYourWrites != null && readYourWrites.isRecentWriter(ClientContext.currentClientId());
+    }
+
+    private record PageKey(String search, int pageNumber, int pageSize, Set<PostField> fields) {
+    }
+}
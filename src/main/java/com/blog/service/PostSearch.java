@@ -0,0 +1,43 @@
+package com.blog.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parsed {@code search} parameter of the post list: words starting with {@code #} are tags that
+ * must all be present, the rest is a title substring. Shared by the servlet and reactive stacks.
+ */
+public record PostSearch(String text, List<String> tags) {
+
+    public static PostSearch parse(String search) {
+        if (search == null || search.trim().isEmpty()) {
+            return new PostSearch(null, List.of());
+        }
+        List<String> tags = new ArrayList<>();
+        List<String> searchWords = new ArrayList<>();
+
+        for (String word : search.trim().split("\\s+")) {
+            if (word.startsWith("#")) {
+                tags.add(word.substring(1));
+            } else {
+                searchWords.add(word);
+            }
+        }
+        String searchText = String.join(" ", searchWords).trim();
+        if (searchText.isEmpty()) searchText = null;
+        return new PostSearch(searchText, tags);
+    }
+
+    public boolean hasText() {
+        return text != null;
+    }
+
+    public boolean hasTags() {
+        return !tags.isEmpty();
+    }
+
+    // Title filter for the LIKE queries; an empty string matches every post.
+    public String titleFilter() {
+        return text != null ? text : "";
+    }
+}
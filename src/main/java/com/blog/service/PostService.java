@@ -2,19 +2,40 @@ package com.blog.service;
 
 import com.blog.dao.CommentRepository;
 import com.blog.dao.PostRepository;
+import com.blog.dto.LikeStatsDto;
+import com.blog.dto.PostBatchResponseDto;
 import com.blog.dto.PostDto;
 import com.blog.dto.PostListResponseDto;
+import com.blog.event.DomainEventPublisher;
+import com.blog.event.LikeAdded;
+import com.blog.event.PostCreated;
+import com.blog.event.PostDeleted;
+import com.blog.event.PostUpdated;
 import com.blog.exception.ResourceNotFoundException;
 import com.blog.model.Post;
+import com.blog.model.PostField;
+import com.blog.model.PostImage;
+import com.blog.web.ClientContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,36 +43,38 @@ import java.util.stream.Collectors;
 @Slf4j
 public class PostService {
 
+    public static final int MAX_BATCH_SIZE = 100;
+
     private final PostRepository postRepository;
     private final CommentRepository commentRepository;
     private final JdbcTemplate jdbcTemplate;
+    private final DomainEventPublisher eventPublisher;
+    private final LikeSketchService likeSketchService;
+    private final ViewCounterService viewCounterService;
+    private final CacheInvalidationService cacheInvalidationService;
+    private final ImageCache imageCache;
+    private final PlatformTransactionManager transactionManager;
 
     @Transactional(readOnly = true)
     public PostListResponseDto getPostsWithPagination(String search, int pageNumber, int pageSize) {
-        log.debug("Getting posts with search: '{}', page: {}, pageSize: {}", search, pageNumber, pageSize);
+        return getPostsWithPagination(search, pageNumber, pageSize, PostField.ALL);
+    }
 
-        SearchParams params = parseSearchParams(search);
+    @Transactional(readOnly = true)
+    public PostListResponseDto getPostsWithPagination(String search, int pageNumber, int pageSize, Set<PostField> fields) {
+        log.debug("Getting posts with search: '{}', page: {}, pageSize: {}, fields: {}", search, pageNumber, pageSize, fields);
 
-        List<Post> posts = getPostsBySearchParams(params, pageNumber, pageSize);
-        int totalCount = getTotalCountBySearchParams(params);
+        PostSearch params = PostSearch.parse(search);
 
-        enrichPosts(posts);
+        List<Post> posts = getPostsBySearchParams(params, fields, pageNumber, pageSize);
+        int totalCount = getTotalCountBySearchParams(params);
 
         List<PostDto> postDtos = posts.stream()
-                .map(this::convertToDto)
+                .map(post -> toSparseDto(post, fields))
                 .map(PostDto::truncateText)
                 .collect(Collectors.toList());
 
-        int totalPages = totalCount == 0 ? 1 : (totalCount + pageSize - 1) / pageSize;
-        boolean hasPrev = pageNumber > 1;
-        boolean hasNext = pageNumber < totalPages;
-
-        return PostListResponseDto.builder()
-                .posts(postDtos)
-                .hasPrev(hasPrev)
-                .hasNext(hasNext)
-                .lastPage(totalPages)
-                .build();
+        return PostListResponseDto.page(postDtos, pageNumber, pageSize, totalCount);
     }
 
     @Transactional(readOnly = true)
@@ -63,6 +86,51 @@ public class PostService {
         return convertToDto(post);
     }
 
+    // Three queries for any number of ids; posts come back in request order, unknown ids are listed separately.
+    @Transactional(readOnly = true)
+    public PostBatchResponseDto getPostsByIds(List<Long> ids) {
+        return getPostsByIds(ids, PostField.ALL);
+    }
+
+    @Transactional(readOnly = true)
+    public PostBatchResponseDto getPostsByIds(List<Long> ids, Set<PostField> fields) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        requested.remove(null);
+        if (requested.size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_BATCH_SIZE + " ids can be requested at once");
+        }
+        log.debug("Getting {} posts by id", requested.size());
+        if (requested.isEmpty()) {
+            return PostBatchResponseDto.builder().posts(List.of()).missingIds(List.of()).build();
+        }
+
+        Long[] idArray = requested.toArray(Long[]::new);
+        Map<Long, Post> posts = new HashMap<>();
+        for (Post post : postRepository.findAllByIds(idArray, fields)) {
+            posts.put(post.getId(), post);
+        }
+        Map<Long, List<String>> tags = fields.contains(PostField.TAGS)
+                ? postRepository.findTagsByPostIds(idArray) : null;
+        Map<Long, Integer> commentCounts = fields.contains(PostField.COMMENTS_COUNT)
+                ? commentRepository.countByPostIds(idArray) : null;
+
+        List<PostDto> found = new ArrayList<>(posts.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : requested) {
+            Post post = posts.get(id);
+            if (post == null) {
+                missing.add(id);
+                continue;
+            }
+            if (tags != null) {
+                post.setTags(Set.copyOf(tags.getOrDefault(id, List.of())));
+            }
+            found.add(toDto(post, commentCounts != null ? commentCounts.getOrDefault(id, 0) : null, fields));
+        }
+        return PostBatchResponseDto.builder().posts(found).missingIds(missing).build();
+    }
+
     @Transactional
     public PostDto createPost(PostDto postDto) {
         log.debug("Creating post with title: {}", postDto.getTitle());
@@ -79,6 +147,8 @@ public class PostService {
 
         Post savedPost = postRepository.save(post);
         saveTags(savedPost.getId(), post.getTags());
+        eventPublisher.publish(new PostCreated(savedPost.getId(), post.getTitle(), post.getTags(), post.getCreatedAt()));
+        cacheInvalidationService.invalidate(PostIndexRefresher.ENTITY, savedPost.getId());
 
         enrichPost(savedPost);
         return convertToDto(savedPost);
@@ -96,8 +166,12 @@ public class PostService {
 
         Post updatedPost = postRepository.save(post);
 
-        deleteTags(id);
-        saveTags(id, postDto.getTags() != null ? postDto.getTags() : Set.of());
+        Set<String> tags = postDto.getTags() != null ? postDto.getTags() : Set.of();
+        List<String> previousTags = deleteTags(id);
+        saveTags(id, tags);
+        eventPublisher.publish(new PostUpdated(id, post.getTitle(), previousTags, tags));
+        cacheInvalidationService.invalidate(PostCache.ENTITY, id);
+        cacheInvalidationService.invalidate(PostIndexRefresher.ENTITY, id);
 
         enrichPost(updatedPost);
         return convertToDto(updatedPost);
@@ -106,12 +180,15 @@ public class PostService {
     @Transactional
     public void deletePost(Long id) {
         log.debug("Deleting post with id: {}", id);
-        if (!postRepository.existsById(id)) {
+        // Comments, tags and the image are removed later by PostPurgeService.
+        if (!postRepository.markDeleted(id, LocalDateTime.now())) {
             throw ResourceNotFoundException.postNotFound(id);
         }
-        commentRepository.deleteAllByPostId(id);
-        deleteTags(id);
-        postRepository.deleteById(id);
+        List<String> previousTags = postRepository.findTagsByPostId(id);
+        eventPublisher.publish(new PostDeleted(id, previousTags));
+        cacheInvalidationService.invalidate(PostCache.ENTITY, id);
+        cacheInvalidationService.invalidate(ImageCache.ENTITY, id);
+        cacheInvalidationService.invalidate(PostIndexRefresher.ENTITY, id);
     }
 
     @Transactional
@@ -119,72 +196,105 @@ public class PostService {
         log.debug("Adding like to post with id: {}", id);
         Post post = postRepository.findById(id)
                 .orElseThrow(() -> ResourceNotFoundException.postNotFound(id));
+        String clientId = ClientContext.currentClientId();
+        if (clientId != null && !likeSketchService.recordLike(id, clientId)) {
+            log.debug("Client {} already liked post {}", clientId, id);
+            return post.getLikesCount();
+        }
         post.setLikesCount(post.getLikesCount() + 1);
         post.updateTimestamp();
         postRepository.save(post);
+        eventPublisher.publish(new LikeAdded(id, post.getLikesCount()));
+        cacheInvalidationService.invalidateLocally(PostCache.ENTITY, id);
         return post.getLikesCount();
     }
 
+    @Transactional(readOnly = true)
+    public LikeStatsDto getLikeStats(Long id) {
+        Post post = postRepository.findById(id)
+                .orElseThrow(() -> ResourceNotFoundException.postNotFound(id));
+        String clientId = ClientContext.currentClientId();
+        return LikeStatsDto.builder()
+                .postId(id)
+                .likesCount(post.getLikesCount())
+                .uniqueLikers(likeSketchService.uniqueLikers(id))
+                .likedByClient(clientId != null && likeSketchService.hasLiked(id, clientId))
+                .build();
+    }
+
     @Transactional
     public void updatePostImage(Long id, byte[] imageData) {
         log.debug("Updating image for post with id: {}", id);
-        Post post = postRepository.findById(id)
-                .orElseThrow(() -> ResourceNotFoundException.postNotFound(id));
-        post.setImage(imageData);
-        post.updateTimestamp();
-        postRepository.save(post);
+        if (!postRepository.updateImage(id, imageData, LocalDateTime.now())) {
+            throw ResourceNotFoundException.postNotFound(id);
+        }
+        cacheInvalidationService.invalidate(ImageCache.ENTITY, id);
     }
 
-    @Transactional(readOnly = true)
-    public byte[] getPostImage(Long id) {
+    // Hot images come from the off-heap cache; a miss reads only the image column. The image methods
+    // are not @Transactional: a transaction (and a pooled connection) is opened only on a miss.
+    public ImageCache.Image getPostImage(Long id) {
         log.debug("Getting image for post with id: {}", id);
-        Post post = postRepository.findById(id)
+        ImageCache.Image cached = imageCache.get(id);
+        if (cached != null) return cached;
+        long epoch = imageCache.epoch();
+        PostImage image = readOnly(() -> postRepository.findImageById(id))
                 .orElseThrow(() -> ResourceNotFoundException.postNotFound(id));
-        return post.getImage();
+        ImageCache.Image stored = imageCache.put(id, image.getData(), image.getVersion(), epoch);
+        return stored != null ? stored : new ImageCache.Image(ByteBuffer.wrap(image.getData()), image.getVersion());
     }
 
-    private SearchParams parseSearchParams(String search) {
-        if (search == null || search.trim().isEmpty()) {
-            return new SearchParams(null, List.of());
+    // Size and version only, for range and conditional requests.
+    public PostImage getPostImageMetadata(Long id) {
+        ImageCache.Image cached = imageCache.get(id);
+        if (cached != null) {
+            return PostImage.builder().postId(id).size(cached.size()).version(cached.version()).build();
         }
-        List<String> tags = new ArrayList<>();
-        List<String> searchWords = new ArrayList<>();
-
-        for (String word : search.trim().split("\\s+")) {
-            if (word.startsWith("#")) {
-                tags.add(word.substring(1));
-            } else {
-                searchWords.add(word);
+        return readOnly(() -> postRepository.findImageMetadata(id))
+                .orElseThrow(() -> ResourceNotFoundException.postNotFound(id));
+    }
+
+    // Reads just the requested bytes; empty when the image no longer has the given version.
+    // One buffer per (offset, length) pair; only the requested bytes are read on a miss.
+    public Optional<List<ByteBuffer>> getPostImageRanges(Long id, long version, Integer[] offsets, Integer[] lengths) {
+        ImageCache.Image cached = imageCache.get(id);
+        if (cached != null && cached.version() == version) {
+            List<ByteBuffer> ranges = new ArrayList<>(offsets.length);
+            for (int i = 0; i < offsets.length; i++) {
+                ranges.add(cached.data().slice(offsets[i], lengths[i]));
             }
+            return Optional.of(ranges);
         }
-        String searchText = String.join(" ", searchWords).trim();
-        if (searchText.isEmpty()) searchText = null;
-        return new SearchParams(searchText, tags);
+        return readOnly(() -> postRepository.findImageRanges(id, version, offsets, lengths))
+                .map(ranges -> ranges.stream().map(ByteBuffer::wrap).toList());
+    }
+
+    // Read-only, so it may be routed to a replica like @Transactional(readOnly = true) methods.
+    private <T> T readOnly(Supplier<T> read) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction.execute(status -> read.get());
     }
 
-    private List<Post> getPostsBySearchParams(SearchParams params, int pageNumber, int pageSize) {
+    private List<Post> getPostsBySearchParams(PostSearch params, Set<PostField> fields, int pageNumber, int pageSize) {
         int offset = (pageNumber - 1) * pageSize;
-        if (params.searchText != null && !params.tags.isEmpty()) {
-            return postRepository.findByTitleAndTagsPaginated(params.searchText, params.tags,
-                    params.tags.size(), pageSize, offset);
-        } else if (params.searchText != null) {
-            return postRepository.findByTitleContainingPaginated(params.searchText, pageSize, offset);
-        } else if (!params.tags.isEmpty()) {
-            return postRepository.findByTagsPaginated(params.tags, params.tags.size(), pageSize, offset);
+        if (params.hasText() && params.hasTags()) {
+            return postRepository.findByTitleAndTagsPaginated(params.text(), params.tags(),
+                    params.tags().size(), fields, pageSize, offset);
+        } else if (params.hasTags()) {
+            return postRepository.findByTagsPaginated(params.tags(), params.tags().size(), fields, pageSize, offset);
         } else {
-            return postRepository.findByTitleContainingPaginated("", pageSize, offset);
+            return postRepository.findByTitleContainingPaginated(params.titleFilter(), fields, pageSize, offset);
         }
     }
 
-    private int getTotalCountBySearchParams(SearchParams params) {
-        if (params.searchText != null && !params.tags.isEmpty()) {
-            return postRepository.countByTitleAndTags(params.searchText, params.tags, params.tags.size());
-        } else if (params.searchText != null) {
-            return postRepository.countByTitleContaining(params.searchText);
-        } else if (!params.tags.isEmpty()) {
-            return postRepository.countByTags(params.tags, params.tags.size());
+    private int getTotalCountBySearchParams(PostSearch params) {
+        if (params.hasText() && params.hasTags()) {
+            return postRepository.countByTitleAndTags(params.text(), params.tags(), params.tags().size());
+        } else if (params.hasTags()) {
+            return postRepository.countByTags(params.tags(), params.tags().size());
         } else {
-            return postRepository.countByTitleContaining("");
+            return postRepository.countByTitleContaining(params.titleFilter());
         }
     }
 
@@ -193,20 +303,34 @@ public class PostService {
         post.setTags(Set.copyOf(tags));
     }
 
-    private void enrichPosts(List<Post> posts) {
-        posts.forEach(this::enrichPost);
+    // Tags and comment counts are queried only when requested.
+    private PostDto toSparseDto(Post post, Set<PostField> fields) {
+        if (fields.contains(PostField.TAGS)) {
+            enrichPost(post);
+        }
+        Integer commentsCount = fields.contains(PostField.COMMENTS_COUNT)
+                ? commentRepository.countByPostId(post.getId()) : null;
+        return toDto(post, commentsCount, fields);
     }
 
     private PostDto convertToDto(Post post) {
-        int commentsCount = commentRepository.countByPostId(post.getId());
-        return PostDto.builder()
+        return toDto(post, commentRepository.countByPostId(post.getId()), PostField.ALL);
+    }
+
+    // Fields that were not selected stay null and are left out of the response.
+    private PostDto toDto(Post post, Integer commentsCount, Set<PostField> fields) {
+        PostDto.PostDtoBuilder dto = PostDto.builder()
                 .id(post.getId())
                 .title(post.getTitle())
                 .text(post.getText())
                 .tags(post.getTags())
                 .likesCount(post.getLikesCount())
-                .commentsCount(commentsCount)
-                .build();
+                .commentsCount(commentsCount);
+        if (fields.contains(PostField.VIEW_COUNT)) {
+            dto.viewCount((post.getViewCount() != null ? post.getViewCount() : 0)
+                    + viewCounterService.pendingViews(post.getId()));
+        }
+        return dto.build();
     }
 
     private void saveTags(Long postId, Set<String> tags) {
@@ -217,17 +341,8 @@ public class PostService {
         }
     }
 
-    private void deleteTags(Long postId) {
-        jdbcTemplate.update("DELETE FROM post_tags WHERE post_id = ?", postId);
-    }
-
-    private static class SearchParams {
-        String searchText;
-        List<String> tags;
-
-        SearchParams(String searchText, List<String> tags) {
-            this.searchText = searchText;
-            this.tags = tags;
-        }
+    private List<String> deleteTags(Long postId) {
+        return jdbcTemplate.queryForList("DELETE FROM post_tags WHERE post_id = ? RETURNING tag",
+                String.class, postId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.blog.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent callers asking for the same key share one computation: the first caller runs
+ * it, callers arriving while it runs wait for its result or exception. Nothing is cached once the
+ * computation finishes.
+ */
+final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+
+    SingleFlight(String operation, MeterRegistry meterRegistry) {
+        this.leaders = meterRegistry.counter("blog.coalescing.requests", "operation", operation, "role", "leader");
+        this.followers = meterRegistry.counter("blog.coalescing.requests", "operation", operation, "role", "follower");
+        Gauge.builder("blog.coalescing.ratio", this, SingleFlight::coalescingRatio)
+                .tag("operation", operation)
+                .description("Share of requests served by another request's computation")
+                .register(meterRegistry);
+    }
+
+    V execute(K key, Supplier<V> computation) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            followers.increment();
+            return await(existing);
+        }
+
+        leaders.increment();
+        try {
+            V result = computation.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    double coalescingRatio() {
+        double total = leaders.count() + followers.count();
+        return total == 0 ? 0 : followers.count() / total;
+    }
+
+    private V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            if (e.getCause() instanceof Error error) throw error;
+            throw e;
+        }
+    }
+}
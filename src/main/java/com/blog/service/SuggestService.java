@@ -0,0 +1,173 @@
+package com.blog.service;
+
+import com.blog.dao.PostRepository;
+import com.blog.dto.SuggestionDto;
+import com.blog.event.DomainEvent;
+import com.blog.event.DomainEventListener;
+import com.blog.event.PostCreated;
+import com.blog.event.PostDeleted;
+import com.blog.event.PostRefreshed;
+import com.blog.event.PostUpdated;
+import com.blog.model.PostSummary;
+import com.blog.service.SuggestionTrie.Suggestion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+@Service
+@Slf4j
+public class SuggestService implements DomainEventListener {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MIN_TOKEN_LENGTH = 2;
+
+    private final PostRepository postRepository;
+    private final int maxSuggestions;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private SuggestionTrie titleTokens;
+    private SuggestionTrie tags;
+    private Map<Long, PostTerms> termsByPost = new HashMap<>();
+
+    public SuggestService(PostRepository postRepository,
+                          @Value("${blog.suggest.max-results:10}") int maxSuggestions) {
+        this.postRepository = postRepository;
+        this.maxSuggestions = maxSuggestions;
+        this.titleTokens = new SuggestionTrie(maxSuggestions);
+        this.tags = new SuggestionTrie(maxSuggestions);
+    }
+
+    public List<SuggestionDto> suggest(String prefix, int limit) {
+        String normalized = prefix != null ? prefix.trim().toLowerCase(Locale.ROOT) : "";
+        int size = Math.min(limit, maxSuggestions);
+        if (normalized.isEmpty() || size <= 0) return List.of();
+
+        List<Suggestion> titleMatches;
+        List<Suggestion> tagMatches;
+        lock.readLock().lock();
+        try {
+            titleMatches = titleTokens.top(normalized, size);
+            tagMatches = tags.top(normalized, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<SuggestionDto> result = new ArrayList<>(size);
+        int t = 0;
+        int g = 0;
+        while (result.size() < size && (t < titleMatches.size() || g < tagMatches.size())) {
+            boolean takeTag = t >= titleMatches.size() || (g < tagMatches.size()
+                    && SuggestionTrie.BY_WEIGHT_DESC.compare(tagMatches.get(g), titleMatches.get(t)) <= 0);
+            Suggestion suggestion = takeTag ? tagMatches.get(g++) : titleMatches.get(t++);
+            result.add(SuggestionDto.builder()
+                    .text(suggestion.term())
+                    .type(takeTag ? "tag" : "title")
+                    .postsCount(suggestion.weight())
+                    .build());
+        }
+        return result;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<PostSummary> summaries = postRepository.findAllSummaries();
+        SuggestionTrie rebuiltTitles = new SuggestionTrie(maxSuggestions);
+        SuggestionTrie rebuiltTags = new SuggestionTrie(maxSuggestions);
+        Map<Long, PostTerms> rebuiltTerms = new HashMap<>();
+        for (PostSummary summary : summaries) {
+            PostTerms terms = PostTerms.of(summary.getTitle(), summary.getTags());
+            rebuiltTerms.put(summary.getId(), terms);
+            terms.titleTokens.forEach(token -> rebuiltTitles.adjust(token, 1));
+            terms.tags.forEach(tag -> rebuiltTags.adjust(tag, 1));
+        }
+
+        lock.writeLock().lock();
+        try {
+            titleTokens = rebuiltTitles;
+            tags = rebuiltTags;
+            termsByPost = rebuiltTerms;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Rebuilt suggestions from {} posts", summaries.size());
+    }
+
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        lock.writeLock().lock();
+        try {
+            for (DomainEvent event : events) {
+                if (event instanceof PostCreated created) {
+                    save(created.postId(), PostTerms.of(created.title(), created.tags()));
+                } else if (event instanceof PostUpdated updated) {
+                    save(updated.postId(), PostTerms.of(updated.title(), updated.tags()));
+                } else if (event instanceof PostRefreshed refreshed) {
+                    save(refreshed.postId(), PostTerms.of(refreshed.title(), refreshed.tags()));
+                } else if (event instanceof PostDeleted deleted) {
+                    apply(termsByPost.remove(deleted.postId()), PostTerms.EMPTY);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onEventsDropped() {
+        rebuild();
+    }
+
+    private void save(Long postId, PostTerms terms) {
+        apply(termsByPost.put(postId, terms), terms);
+    }
+
+    private void apply(PostTerms previous, PostTerms current) {
+        PostTerms before = previous != null ? previous : PostTerms.EMPTY;
+        diff(titleTokens, before.titleTokens, current.titleTokens);
+        diff(tags, before.tags, current.tags);
+    }
+
+    private static void diff(SuggestionTrie trie, Set<String> before, Set<String> after) {
+        for (String term : before) {
+            if (!after.contains(term)) trie.adjust(term, -1);
+        }
+        for (String term : after) {
+            if (!before.contains(term)) trie.adjust(term, 1);
+        }
+    }
+
+    private record PostTerms(Set<String> titleTokens, Set<String> tags) {
+
+        static final PostTerms EMPTY = new PostTerms(Set.of(), Set.of());
+
+        static PostTerms of(String title, Set<String> tags) {
+            Set<String> tokens = new HashSet<>();
+            if (title != null) {
+                for (String token : TOKEN_SEPARATOR.split(title.toLowerCase(Locale.ROOT))) {
+                    if (token.length() >= MIN_TOKEN_LENGTH) tokens.add(token);
+                }
+            }
+            Set<String> normalizedTags = new HashSet<>();
+            if (tags != null) {
+                for (String tag : tags) {
+                    String normalized = tag.trim().toLowerCase(Locale.ROOT);
+                    if (!normalized.isEmpty()) normalizedTags.add(normalized);
+                }
+            }
+            return new PostTerms(Set.copyOf(tokens), Set.copyOf(normalizedTags));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.blog.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Prefix tree over normalized terms with per-term weights. Every node caches the best
+ * {@code maxSuggestions} terms of its subtree, so a lookup is a walk down the prefix and a copy
+ * of that cache; weight changes recompute the caches along one root-to-term path. Children are
+ * kept in sorted parallel arrays rather than maps to keep nodes small.
+ * <p>
+ * Not thread-safe: callers guard writes against reads.
+ */
+final class SuggestionTrie {
+
+    record Suggestion(String term, int weight) {
+    }
+
+    static final Comparator<Suggestion> BY_WEIGHT_DESC = Comparator
+            .comparingInt(Suggestion::weight).reversed()
+            .thenComparing(Suggestion::term);
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+
+    private final int maxSuggestions;
+    private final Node root = new Node();
+
+    SuggestionTrie(int maxSuggestions) {
+        this.maxSuggestions = maxSuggestions;
+    }
+
+    void adjust(String term, int delta) {
+        if (term.isEmpty() || delta == 0) return;
+        Node[] path = new Node[term.length() + 1];
+        path[0] = root;
+        Node node = root;
+        for (int i = 0; i < term.length(); i++) {
+            node = delta > 0 ? node.childOrCreate(term.charAt(i)) : node.child(term.charAt(i));
+            if (node == null) return;
+            path[i + 1] = node;
+        }
+
+        node.weight = Math.max(0, node.weight + delta);
+        node.term = node.weight > 0 ? term : null;
+
+        for (int i = term.length(); i > 0; i--) {
+            if (path[i].term == null && path[i].keys.length == 0) {
+                path[i - 1].removeChild(term.charAt(i - 1));
+            }
+        }
+        for (int i = term.length(); i >= 0; i--) {
+            path[i].recomputeTop(maxSuggestions);
+        }
+    }
+
+    List<Suggestion> top(String prefix, int limit) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        if (node == null) return List.of();
+        Suggestion[] top = node.top;
+        return Arrays.asList(top).subList(0, Math.min(limit, top.length));
+    }
+
+    private static final class Node {
+        char[] keys = NO_KEYS;
+        Node[] children = NO_CHILDREN;
+        String term;
+        int weight;
+        Suggestion[] top = NO_SUGGESTIONS;
+
+        Node child(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node childOrCreate(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index >= 0) return children[index];
+            int insertAt = -index - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            Node created = new Node();
+            newKeys[insertAt] = key;
+            newChildren[insertAt] = created;
+            keys = newKeys;
+            children = newChildren;
+            return created;
+        }
+
+        void removeChild(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index < 0) return;
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        void recomputeTop(int maxSuggestions) {
+            List<Suggestion> candidates = new ArrayList<>();
+            if (term != null) {
+                candidates.add(new Suggestion(term, weight));
+            }
+            for (Node child : children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            candidates.sort(BY_WEIGHT_DESC);
+            top = candidates.subList(0, Math.min(maxSuggestions, candidates.size())).toArray(NO_SUGGESTIONS);
+        }
+    }
+}
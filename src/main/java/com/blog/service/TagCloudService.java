@@ -0,0 +1,115 @@
+package com.blog.service;
+
+import com.blog.dao.PostRepository;
+import com.blog.dto.TagDto;
+import com.blog.event.DomainEvent;
+import com.blog.event.DomainEventListener;
+import com.blog.event.PostCreated;
+import com.blog.event.PostDeleted;
+import com.blog.event.PostRefreshed;
+import com.blog.event.PostUpdated;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+@Service
+@Slf4j
+public class TagCloudService implements DomainEventListener {
+
+    private static final Comparator<Map.Entry<String, Integer>> BY_COUNT_DESC =
+            Map.Entry.<String, Integer>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.comparingByKey());
+
+    private final PostRepository postRepository;
+    private final int maxTags;
+
+    private final ConcurrentSkipListMap<String, Integer> counts = new ConcurrentSkipListMap<>();
+    // Written under this; every change sets a post's tags, so applying the same state twice is harmless.
+    private Map<Long, Set<String>> tagsByPost = new HashMap<>();
+
+    public TagCloudService(PostRepository postRepository,
+                           @Value("${blog.tags.max-results:100}") int maxTags) {
+        this.postRepository = postRepository;
+        this.maxTags = maxTags;
+    }
+
+    public List<TagDto> getTags(String prefix, int limit) {
+        limit = Math.min(limit, maxTags);
+        if (limit <= 0) return List.of();
+        NavigableMap<String, Integer> candidates = prefix == null || prefix.isEmpty()
+                ? counts
+                : counts.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+
+        PriorityQueue<Map.Entry<String, Integer>> top = new PriorityQueue<>(limit + 1, BY_COUNT_DESC.reversed());
+        for (Map.Entry<String, Integer> entry : candidates.entrySet()) {
+            top.offer(Map.entry(entry.getKey(), entry.getValue()));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        return top.stream()
+                .sorted(BY_COUNT_DESC)
+                .map(entry -> TagDto.builder().tag(entry.getKey()).postsCount(entry.getValue()).build())
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Map<Long, Set<String>> fromDatabase = postRepository.findTagsOfAllPosts();
+        Map<String, Integer> rebuilt = new HashMap<>();
+        fromDatabase.values().forEach(tags -> tags.forEach(tag -> rebuilt.merge(tag, 1, Integer::sum)));
+        synchronized (this) {
+            tagsByPost = fromDatabase;
+            counts.clear();
+            counts.putAll(rebuilt);
+        }
+        log.debug("Rebuilt tag counts for {} tags", rebuilt.size());
+    }
+
+    @Override
+    public synchronized void onEvents(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            if (event instanceof PostCreated created) {
+                save(created.postId(), created.tags());
+            } else if (event instanceof PostUpdated updated) {
+                save(updated.postId(), updated.tags());
+            } else if (event instanceof PostRefreshed refreshed) {
+                save(refreshed.postId(), refreshed.tags());
+            } else if (event instanceof PostDeleted deleted) {
+                save(deleted.postId(), Set.of());
+            }
+        }
+    }
+
+    @Override
+    public void onEventsDropped() {
+        rebuild();
+    }
+
+    private void save(Long postId, Set<String> tags) {
+        Set<String> current = tags != null ? Set.copyOf(tags) : Set.of();
+        Set<String> previous = current.isEmpty() ? tagsByPost.remove(postId) : tagsByPost.put(postId, current);
+        if (previous == null) previous = Set.of();
+        for (String tag : previous) {
+            if (!current.contains(tag)) {
+                counts.computeIfPresent(tag, (key, count) -> count > 1 ? count - 1 : null);
+            }
+        }
+        for (String tag : current) {
+            if (!previous.contains(tag)) {
+                counts.merge(tag, 1, Integer::sum);
+            }
+        }
+    }
+}
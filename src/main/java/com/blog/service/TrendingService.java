@@ -0,0 +1,247 @@
+package com.blog.service;
+
+import com.blog.dao.PostRepository;
+import com.blog.dto.PostDto;
+import com.blog.event.CommentAdded;
+import com.blog.event.CommentDeleted;
+import com.blog.event.DomainEvent;
+import com.blog.event.DomainEventListener;
+import com.blog.event.LikeAdded;
+import com.blog.event.PostCreated;
+import com.blog.event.PostDeleted;
+import com.blog.event.PostRefreshed;
+import com.blog.event.PostUpdated;
+import com.blog.model.PostSummary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Keeps the top posts by time-decayed score in memory.
+ * <p>
+ * A post scores {@code (1 + likes + commentWeight * comments) * exp(-(now - createdAt) / tau)}.
+ * Every post decays by the same factor, so posts are ranked by the time-independent key
+ * {@code weight * exp((createdAt - epoch) / tau)}: the ranking never has to be recomputed as time
+ * passes, and likes or comments only move the affected post. Reconciliation reloads the counts
+ * of the candidates (the most liked and the newest posts, {@code candidate-factor} times the
+ * capacity each) and rebases the epoch; events applied while it reads are replayed on the new
+ * state before it replaces the old one.
+ */
+@Service
+@Slf4j
+public class TrendingService implements DomainEventListener {
+
+    private static final Comparator<Ranked> BY_KEY_DESC = Comparator
+            .comparingDouble(Ranked::key).reversed()
+            .thenComparingLong(Ranked::id);
+
+    private final PostRepository postRepository;
+    private final int capacity;
+    private final double commentWeight;
+    private final double tauMillis;
+    private final int candidates;
+
+    private final Object lock = new Object();
+    private final Object reconcileLock = new Object();
+    private volatile State state;
+    private List<DomainEvent> sinceSnapshot;
+
+    public TrendingService(PostRepository postRepository,
+                           @Value("${blog.trending.capacity:100}") int capacity,
+                           @Value("${blog.trending.comment-weight:2}") double commentWeight,
+                           @Value("${blog.trending.half-life-hours:24}") double halfLifeHours,
+                           @Value("${blog.trending.candidate-factor:10}") int candidateFactor) {
+        this.postRepository = postRepository;
+        this.capacity = capacity;
+        this.commentWeight = commentWeight;
+        this.tauMillis = halfLifeHours * 3_600_000 / Math.log(2);
+        this.candidates = capacity * candidateFactor;
+        this.state = new State(System.currentTimeMillis());
+    }
+
+    public List<PostDto> getTrending(int limit) {
+        State current = state;
+        List<PostDto> result = new ArrayList<>(Math.min(limit, capacity));
+        for (Ranked ranked : current.top) {
+            if (result.size() >= limit) break;
+            Entry entry = current.entries.get(ranked.id());
+            if (entry != null) {
+                result.add(entry.toDto());
+            }
+        }
+        return result;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${blog.trending.reconcile-interval-ms:300000}",
+            initialDelayString = "${blog.trending.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        synchronized (reconcileLock) {
+            synchronized (lock) {
+                sinceSnapshot = new ArrayList<>();
+            }
+            try {
+                List<PostSummary> summaries = postRepository.findTrendingCandidates(candidates);
+                State rebuilt = new State(System.currentTimeMillis());
+                for (PostSummary summary : summaries) {
+                    rebuilt.put(new Entry(summary.getId(), summary.getTitle(), summary.getTags(),
+                            toMillis(summary.getCreatedAt()), summary.getLikesCount(), summary.getCommentsCount()));
+                }
+                synchronized (lock) {
+                    for (DomainEvent event : sinceSnapshot) {
+                        apply(rebuilt, event);
+                    }
+                    state = rebuilt;
+                }
+                log.debug("Reconciled trending posts from {} candidates", summaries.size());
+            } finally {
+                synchronized (lock) {
+                    sinceSnapshot = null;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        synchronized (lock) {
+            for (DomainEvent event : events) {
+                apply(state, event);
+            }
+            if (sinceSnapshot != null) {
+                sinceSnapshot.addAll(events);
+            }
+        }
+    }
+
+    @Override
+    public void onEventsDropped() {
+        reconcile();
+    }
+
+    private void apply(State state, DomainEvent event) {
+        if (event instanceof PostCreated created) {
+            state.put(new Entry(created.postId(), created.title(), created.tags(),
+                    toMillis(created.createdAt()), 0, 0));
+        } else if (event instanceof PostUpdated updated) {
+            Entry entry = state.entries.get(updated.postId());
+            if (entry != null) {
+                state.entries.put(entry.id, new Entry(entry.id, updated.title(), updated.tags(),
+                        entry.createdAtMillis, entry.likes, entry.comments));
+            }
+        } else if (event instanceof PostRefreshed refreshed) {
+            state.put(new Entry(refreshed.postId(), refreshed.title(), refreshed.tags(),
+                    toMillis(refreshed.createdAt()), refreshed.likesCount(), refreshed.commentsCount()));
+        } else if (event instanceof PostDeleted deleted) {
+            state.remove(deleted.postId());
+        } else if (event instanceof LikeAdded liked) {
+            Entry entry = state.entries.get(liked.postId());
+            if (entry != null) {
+                state.put(new Entry(entry.id, entry.title, entry.tags, entry.createdAtMillis,
+                        Math.max(entry.likes, liked.likesCount()), entry.comments));
+            }
+        } else if (event instanceof CommentAdded added) {
+            adjustComments(state, added.postId(), 1);
+        } else if (event instanceof CommentDeleted deleted) {
+            adjustComments(state, deleted.postId(), -1);
+        }
+    }
+
+    private void adjustComments(State state, Long postId, int delta) {
+        Entry entry = state.entries.get(postId);
+        if (entry == null) return;
+        state.put(new Entry(entry.id, entry.title, entry.tags, entry.createdAtMillis,
+                entry.likes, Math.max(0, entry.comments + delta)));
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        if (dateTime == null) return System.currentTimeMillis();
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record Ranked(double key, long id) {
+    }
+
+    private final class Entry {
+        final long id;
+        final String title;
+        final Set<String> tags;
+        final long createdAtMillis;
+        final int likes;
+        final int comments;
+
+        Entry(long id, String title, Set<String> tags, long createdAtMillis, int likes, int comments) {
+            this.id = id;
+            this.title = title;
+            this.tags = tags != null ? Set.copyOf(tags) : Set.of();
+            this.createdAtMillis = createdAtMillis;
+            this.likes = likes;
+            this.comments = comments;
+        }
+
+        double key(long epochMillis) {
+            double weight = 1 + likes + commentWeight * comments;
+            return weight * Math.exp((createdAtMillis - epochMillis) / tauMillis);
+        }
+
+        PostDto toDto() {
+            return PostDto.builder()
+                    .id(id)
+                    .title(title)
+                    .tags(tags)
+                    .likesCount(likes)
+                    .commentsCount(comments)
+                    .build();
+        }
+    }
+
+    // Mutated only under lock; readers see the skip list and map through the volatile reference.
+    private final class State {
+        final long epochMillis;
+        final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+        final Map<Long, Ranked> ranks = new HashMap<>();
+        final ConcurrentSkipListSet<Ranked> top = new ConcurrentSkipListSet<>(BY_KEY_DESC);
+
+        State(long epochMillis) {
+            this.epochMillis = epochMillis;
+        }
+
+        void put(Entry entry) {
+            entries.put(entry.id, entry);
+            Ranked previous = ranks.remove(entry.id);
+            if (previous != null) {
+                top.remove(previous);
+            }
+            Ranked ranked = new Ranked(entry.key(epochMillis), entry.id);
+            if (top.size() < capacity || BY_KEY_DESC.compare(ranked, top.last()) < 0) {
+                top.add(ranked);
+                ranks.put(entry.id, ranked);
+                if (top.size() > capacity) {
+                    ranks.remove(top.pollLast().id());
+                }
+            }
+        }
+
+        void remove(Long id) {
+            entries.remove(id);
+            Ranked ranked = ranks.remove(id);
+            if (ranked != null) {
+                top.remove(ranked);
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.blog.service;
+
+import com.blog.dao.PostRepository;
+import com.blog.event.DomainEvent;
+import com.blog.event.DomainEventListener;
+import com.blog.event.PostDeleted;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts post views in memory and adds them to {@code posts.view_count} with one batched
+ * {@code UPDATE} per interval, so reading a post never writes. Pending views are added to the
+ * stored count when a post is rendered.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ViewCounterService implements DomainEventListener {
+
+    private final PostRepository postRepository;
+
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    public void recordView(Long postId) {
+        pending.computeIfAbsent(postId, id -> new LongAdder()).increment();
+    }
+
+    public long pendingViews(Long postId) {
+        LongAdder views = pending.get(postId);
+        return views != null ? views.sum() : 0;
+    }
+
+    @Scheduled(fixedDelayString = "${blog.views.flush-interval-ms:1000}")
+    @PreDestroy
+    public synchronized void flush() {
+        List<Long> ids = new ArrayList<>();
+        List<Long> deltas = new ArrayList<>();
+        pending.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> {
+                    // Subtract exactly what is flushed; views recorded meanwhile stay pending.
+                    long views = entry.getValue().sum();
+                    if (views > 0) {
+                        entry.getValue().add(-views);
+                        ids.add(entry.getKey());
+                        deltas.add(views);
+                    }
+                });
+        if (ids.isEmpty()) return;
+
+        try {
+            postRepository.incrementViewCounts(ids.toArray(Long[]::new), deltas.toArray(Long[]::new));
+            log.debug("Flushed views of {} posts", ids.size());
+            ids.forEach(this::removeIfDrained);
+        } catch (DataAccessException e) {
+            log.warn("Could not flush views of {} posts, retrying later: {}", ids.size(), e.getMessage());
+            for (int i = 0; i < ids.size(); i++) {
+                pending.computeIfAbsent(ids.get(i), id -> new LongAdder()).add(deltas.get(i));
+            }
+        }
+    }
+
+    public int trackedPosts() {
+        return pending.size();
+    }
+
+    // Drops the counter of a post nobody viewed since the flush, so idle posts do not pile up. A view
+    // that lands on the counter while it is removed is carried over to a fresh one; at worst one
+    // racing view is lost, which the count tolerates.
+    private void removeIfDrained(Long postId) {
+        LongAdder views = pending.get(postId);
+        if (views == null || views.sum() != 0 || !pending.remove(postId, views)) return;
+        long late = views.sum();
+        if (late > 0) {
+            pending.computeIfAbsent(postId, id -> new LongAdder()).add(late);
+        }
+    }
+
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            if (event instanceof PostDeleted deleted) {
+                pending.remove(deleted.postId());
+            }
+        }
+    }
+}
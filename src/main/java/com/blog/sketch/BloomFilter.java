@@ -0,0 +1,125 @@
+package com.blog.sketch;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Fixed-size Bloom filter probed by positions derived from one 64-bit hash. The default size is
+ * 16384 bits (2 KB) with 7 probes, where false positives stay around 1% up to roughly 1600
+ * members. Filters of the same size merge by OR, so merging is commutative and idempotent.
+ * {@link ScalableBloomFilter} stacks larger filters once one fills up.
+ */
+public final class BloomFilter {
+
+    public static final int BITS = 16_384;
+    public static final int HASHES = 7;
+    public static final int SIZE_BYTES = BITS / 8;
+
+    private final int bits;
+    private final int hashes;
+    private final long[] words;
+    private int setBits;
+
+    public BloomFilter() {
+        this(BITS, HASHES);
+    }
+
+    // bits must be a multiple of 64.
+    public BloomFilter(int bits, int hashes) {
+        this(bits, hashes, new long[bits / 64]);
+    }
+
+    private BloomFilter(int bits, int hashes, long[] words) {
+        this.bits = bits;
+        this.hashes = hashes;
+        this.words = words;
+        this.setBits = countSetBits();
+    }
+
+    public static BloomFilter fromBytes(byte[] bytes) {
+        if (bytes.length != SIZE_BYTES) {
+            throw new IllegalArgumentException("Expected " + SIZE_BYTES + " bytes but got " + bytes.length);
+        }
+        return fromBytes(bytes, 0, BITS, HASHES);
+    }
+
+    static BloomFilter fromBytes(byte[] bytes, int offset, int bits, int hashes) {
+        long[] words = new long[bits / 64];
+        ByteBuffer.wrap(bytes, offset, bits / 8).asLongBuffer().get(words);
+        return new BloomFilter(bits, hashes, words);
+    }
+
+    public boolean mightContain(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            int bit = index(h1 + i * h2);
+            if ((words[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Returns false when every bit was already set, i.e. the value was (probably) present.
+    public boolean put(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        boolean changed = false;
+        for (int i = 1; i <= hashes; i++) {
+            int bit = index(h1 + i * h2);
+            long mask = 1L << bit;
+            if ((words[bit >>> 6] & mask) == 0) {
+                words[bit >>> 6] |= mask;
+                setBits++;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    // Share of bits set; the false positive rate is about fillRatio^hashes.
+    public double fillRatio() {
+        return (double) setBits / bits;
+    }
+
+    public int sizeBytes() {
+        return bits / 8;
+    }
+
+    public void merge(BloomFilter other) {
+        if (other.bits != bits || other.hashes != hashes) {
+            throw new IllegalArgumentException("Cannot merge filters of different shapes");
+        }
+        for (int i = 0; i < words.length; i++) {
+            words[i] |= other.words[i];
+        }
+        setBits = countSetBits();
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(sizeBytes());
+        writeTo(buffer);
+        return buffer.array();
+    }
+
+    void writeTo(ByteBuffer buffer) {
+        buffer.asLongBuffer().put(words);
+        buffer.position(buffer.position() + sizeBytes());
+    }
+
+    BloomFilter copy() {
+        return new BloomFilter(bits, hashes, words.clone());
+    }
+
+    private int countSetBits() {
+        int set = 0;
+        for (long word : words) {
+            set += Long.bitCount(word);
+        }
+        return set;
+    }
+
+    private int index(int combined) {
+        return (combined < 0 ? ~combined : combined) % bits;
+    }
+}
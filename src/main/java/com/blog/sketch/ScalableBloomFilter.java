@@ -0,0 +1,109 @@
+package com.blog.sketch;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bloom filter that grows with its members. New values go to the newest layer; once that layer is
+ * filled beyond {@code maxFill}, a layer twice as large (up to 1 MB) with one more probe is added.
+ * Each layer's false positive rate is about half the previous one's, so the total stays below
+ * twice the first layer's rate however many members there are.
+ * <p>
+ * Layer shapes follow from their position, so the serialized form is the layers' bytes one after
+ * another, and a plain default-sized {@link BloomFilter} reads back as a one-layer filter. Filters
+ * merge layer by layer by OR, so merging is commutative and idempotent.
+ */
+public final class ScalableBloomFilter {
+
+    private static final int MAX_GROWTH = 9;
+
+    private final double maxFill;
+    private final List<BloomFilter> layers = new ArrayList<>();
+
+    public ScalableBloomFilter(double maxFill) {
+        this.maxFill = maxFill;
+        layers.add(newLayer(0));
+    }
+
+    private ScalableBloomFilter(double maxFill, List<BloomFilter> layers) {
+        this.maxFill = maxFill;
+        this.layers.addAll(layers);
+    }
+
+    public static ScalableBloomFilter fromBytes(byte[] bytes, double maxFill) {
+        List<BloomFilter> layers = new ArrayList<>();
+        int offset = 0;
+        while (offset < bytes.length) {
+            int index = layers.size();
+            int size = layerBits(index) / 8;
+            if (bytes.length - offset < size) {
+                throw new IllegalArgumentException("Layer " + index + " needs " + size + " bytes but only "
+                        + (bytes.length - offset) + " are left");
+            }
+            layers.add(BloomFilter.fromBytes(bytes, offset, layerBits(index), layerHashes(index)));
+            offset += size;
+        }
+        if (layers.isEmpty()) {
+            throw new IllegalArgumentException("Expected at least one layer");
+        }
+        return new ScalableBloomFilter(maxFill, layers);
+    }
+
+    public boolean mightContain(long hash) {
+        for (BloomFilter layer : layers) {
+            if (layer.mightContain(hash)) return true;
+        }
+        return false;
+    }
+
+    // Returns false when the value was (probably) present already.
+    public boolean put(long hash) {
+        if (mightContain(hash)) return false;
+        BloomFilter newest = layers.get(layers.size() - 1);
+        if (newest.fillRatio() >= maxFill) {
+            newest = newLayer(layers.size());
+            layers.add(newest);
+        }
+        newest.put(hash);
+        return true;
+    }
+
+    public int layerCount() {
+        return layers.size();
+    }
+
+    public void merge(ScalableBloomFilter other) {
+        for (int i = 0; i < other.layers.size(); i++) {
+            if (i < layers.size()) {
+                layers.get(i).merge(other.layers.get(i));
+            } else {
+                layers.add(other.layers.get(i).copy());
+            }
+        }
+    }
+
+    public byte[] toBytes() {
+        int size = 0;
+        for (BloomFilter layer : layers) {
+            size += layer.sizeBytes();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        for (BloomFilter layer : layers) {
+            layer.writeTo(buffer);
+        }
+        return buffer.array();
+    }
+
+    private static BloomFilter newLayer(int index) {
+        return new BloomFilter(layerBits(index), layerHashes(index));
+    }
+
+    private static int layerBits(int index) {
+        return BloomFilter.BITS << Math.min(index, MAX_GROWTH);
+    }
+
+    private static int layerHashes(int index) {
+        return BloomFilter.HASHES + index;
+    }
+}
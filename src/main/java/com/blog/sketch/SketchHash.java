@@ -0,0 +1,22 @@
+package com.blog.sketch;
+
+public final class SketchHash {
+
+    private SketchHash() {
+    }
+
+    // FNV-1a over the UTF-16 chars, then MurmurHash3's finalizer to spread the bits across all 64.
+    public static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,162 @@
+package com.blog.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admits API requests before they reach a controller: every client address gets a token bucket and every
+ * configured endpoint a cap on requests in flight. Rejections answer 429 or 503 with
+ * {@code Retry-After} without touching the database.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@Slf4j
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final ObjectMapper objectMapper;
+    private final ClientRateLimiter rateLimiter;
+    private final List<EndpointLimit> endpointLimits = new ArrayList<>();
+    private final Counter rateLimited;
+    private final Counter shed;
+
+    public AdmissionControlFilter(ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${blog.admission.rate-per-second:20}") double ratePerSecond,
+                                  @Value("${blog.admission.burst:40}") int burst,
+                                  @Value("#{${blog.admission.concurrency:{:}}}") Map<String, Integer> concurrency) {
+        this.objectMapper = objectMapper;
+        this.rateLimiter = new ClientRateLimiter(ratePerSecond, burst);
+        // Rules are matched in declaration order, so list specific patterns first.
+        new LinkedHashMap<>(concurrency).forEach((endpoint, limit) -> endpointLimits.add(EndpointLimit.parse(endpoint, limit)));
+        this.rateLimited = meterRegistry.counter("blog.admission.rejected", "reason", "rate");
+        this.shed = meterRegistry.counter("blog.admission.rejected", "reason", "concurrency");
+        meterRegistry.gauge("blog.admission.clients", rateLimiter, ClientRateLimiter::trackedClients);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // Keyed on the peer address: X-Client-Id is chosen by the client, so rotating it would buy fresh buckets.
+        long waitNanos = rateLimiter.tryAcquire(request.getRemoteAddr(), System.nanoTime());
+        if (waitNanos > 0) {
+            rateLimited.increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, waitNanos, "Rate limit exceeded");
+            return;
+        }
+
+        EndpointLimit limit = findLimit(request);
+        if (limit == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!limit.tryEnter()) {
+            shed.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1),
+                    "Too many concurrent requests to " + limit.pattern);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limit.exit();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${blog.admission.idle-eviction-ms:60000}")
+    public void evictIdleClients() {
+        rateLimiter.evictIdle(System.nanoTime());
+    }
+
+    private EndpointLimit findLimit(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (EndpointLimit limit : endpointLimits) {
+            if (limit.matches(request.getMethod(), path)) {
+                return limit;
+            }
+        }
+        return null;
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterNanos, String message)
+            throws IOException {
+        long retryAfterSeconds = Math.max(1, (retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", status.value());
+        body.put("message", message);
+        body.put("error", status.getReasonPhrase());
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private static final class EndpointLimit {
+        final String method;
+        final String pattern;
+        final int maxConcurrent;
+        final AtomicInteger inFlight = new AtomicInteger();
+
+        private EndpointLimit(String method, String pattern, int maxConcurrent) {
+            this.method = method;
+            this.pattern = pattern;
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        // "GET /api/posts" or just "/api/posts/**" for every method.
+        static EndpointLimit parse(String endpoint, int maxConcurrent) {
+            String trimmed = endpoint.trim();
+            int space = trimmed.indexOf(' ');
+            if (space < 0) {
+                return new EndpointLimit(null, trimmed, maxConcurrent);
+            }
+            return new EndpointLimit(trimmed.substring(0, space), trimmed.substring(space + 1).trim(), maxConcurrent);
+        }
+
+        boolean matches(String requestMethod, String path) {
+            return (method == null || method.equalsIgnoreCase(requestMethod)) && PATH_MATCHER.match(pattern, path);
+        }
+
+        boolean tryEnter() {
+            while (true) {
+                int current = inFlight.get();
+                if (current >= maxConcurrent) return false;
+                if (inFlight.compareAndSet(current, current + 1)) return true;
+            }
+        }
+
+        void exit() {
+            inFlight.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.blog.web;
+
+import org.springframework.core.io.AbstractResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * {@link org.springframework.core.io.Resource} over a (possibly direct) buffer, so it can be streamed
+ * to the response without first copying it into a heap array. Each stream reads its own view of the
+ * buffer.
+ */
+public class ByteBufferResource extends AbstractResource {
+
+    private final ByteBuffer buffer;
+
+    public ByteBufferResource(ByteBuffer buffer) {
+        this.buffer = buffer.asReadOnlyBuffer();
+    }
+
+    @Override
+    public String getDescription() {
+        return "ByteBuffer resource [" + buffer.remaining() + " bytes]";
+    }
+
+    @Override
+    public long contentLength() {
+        return buffer.remaining();
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return new BufferInputStream(buffer.duplicate());
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(this);
+    }
+
+    private static final class BufferInputStream extends InputStream {
+
+        private final ByteBuffer view;
+
+        BufferInputStream(ByteBuffer view) {
+            this.view = view;
+        }
+
+        @Override
+        public int read() {
+            return view.hasRemaining() ? view.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) {
+            if (length == 0) return 0;
+            if (!view.hasRemaining()) return -1;
+            int count = Math.min(length, view.remaining());
+            view.get(target, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.max(0, Math.min(n, view.remaining()));
+            view.position(view.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return view.remaining();
+        }
+
+        // Writes straight from the buffer; the channel copies through a small chunk, not the whole image.
+        @Override
+        public long transferTo(OutputStream out) throws IOException {
+            long count = view.remaining();
+            WritableByteChannel channel = Channels.newChannel(out);
+            while (view.hasRemaining()) {
+                channel.write(view);
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.blog.web;
+
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Body of a {@code 206 Partial Content} response: one range is sent as is with
+ * {@code Content-Range}, several as {@code multipart/byteranges}. Each part holds only its own
+ * bytes, so the rest of the representation never has to be loaded.
+ */
+public record ByteRanges(MediaType partType, long totalLength, List<Part> parts, String boundary) {
+
+    public static ByteRanges of(MediaType partType, long totalLength, List<Part> parts) {
+        return new ByteRanges(partType, totalLength, List.copyOf(parts),
+                parts.size() > 1 ? MimeTypeUtils.generateMultipartBoundaryString() : null);
+    }
+
+    public boolean isMultipart() {
+        return boundary != null;
+    }
+
+    public MediaType contentType() {
+        return isMultipart() ? MediaType.parseMediaType("multipart/byteranges; boundary=" + boundary) : partType;
+    }
+
+    public String contentRange(Part part) {
+        return "bytes " + part.start() + "-" + part.end() + "/" + totalLength;
+    }
+
+    public record Part(long start, ByteBuffer data) {
+
+        public long end() {
+            return start + data.remaining() - 1;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.blog.web;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes {@link ByteRanges} straight from the parts' buffers, with the exact
+ * {@code Content-Length} computed up front.
+ */
+public class ByteRangesHttpMessageConverter extends AbstractHttpMessageConverter<ByteRanges> {
+
+    private static final String CRLF = "\r\n";
+
+    public ByteRangesHttpMessageConverter() {
+        super(MediaType.ALL);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ByteRanges.class == clazz;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected ByteRanges readInternal(Class<? extends ByteRanges> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("ByteRanges is write-only", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(ByteRanges ranges, MediaType contentType) {
+        if (!ranges.isMultipart()) {
+            return (long) ranges.parts().get(0).data().remaining();
+        }
+        long length = closing(ranges).length();
+        for (ByteRanges.Part part : ranges.parts()) {
+            length += partHeader(ranges, part).length() + part.data().remaining();
+        }
+        return length;
+    }
+
+    @Override
+    protected void writeInternal(ByteRanges ranges, HttpOutputMessage outputMessage) throws IOException {
+        HttpHeaders headers = outputMessage.getHeaders();
+        headers.setContentType(ranges.contentType());
+        if (!ranges.isMultipart()) {
+            ByteRanges.Part part = ranges.parts().get(0);
+            headers.set(HttpHeaders.CONTENT_RANGE, ranges.contentRange(part));
+            write(part.data(), outputMessage.getBody());
+            return;
+        }
+        OutputStream out = outputMessage.getBody();
+        for (ByteRanges.Part part : ranges.parts()) {
+            out.write(partHeader(ranges, part).getBytes(StandardCharsets.US_ASCII));
+            write(part.data(), out);
+        }
+        out.write(closing(ranges).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String partHeader(ByteRanges ranges, ByteRanges.Part part) {
+        return CRLF + "--" + ranges.boundary() + CRLF
+                + HttpHeaders.CONTENT_TYPE + ": " + ranges.partType() + CRLF
+                + HttpHeaders.CONTENT_RANGE + ": " + ranges.contentRange(part) + CRLF
+                + CRLF;
+    }
+
+    private static String closing(ByteRanges ranges) {
+        return CRLF + "--" + ranges.boundary() + "--" + CRLF;
+    }
+
+    private static void write(ByteBuffer data, OutputStream out) throws IOException {
+        ByteBuffer view = data.duplicate();
+        WritableByteChannel channel = Channels.newChannel(out);
+        while (view.hasRemaining()) {
+            channel.write(view);
+        }
+    }
+}
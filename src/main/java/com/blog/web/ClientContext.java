@@ -0,0 +1,33 @@
+package com.blog.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+public final class ClientContext {
+
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+    private static final ThreadLocal<String> CURRENT_CLIENT_ID = new ThreadLocal<>();
+
+    private ClientContext() {
+    }
+
+    public static String resolveClientId(HttpServletRequest request) {
+        String header = request.getHeader(CLIENT_ID_HEADER);
+        if (header != null && !header.isBlank()) {
+            return header.trim();
+        }
+        return request.getRemoteAddr();
+    }
+
+    public static String currentClientId() {
+        return CURRENT_CLIENT_ID.get();
+    }
+
+    public static void setCurrentClientId(String clientId) {
+        CURRENT_CLIENT_ID.set(clientId);
+    }
+
+    public static void clear() {
+        CURRENT_CLIENT_ID.remove();
+    }
+}
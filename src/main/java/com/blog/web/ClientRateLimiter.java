@@ -0,0 +1,48 @@
+package com.blog.web;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-client token bucket in its GCRA form: each client is a single {@link AtomicLong} holding the
+ * theoretical arrival time of its next request, updated with one CAS. The bucket refills at
+ * {@code ratePerSecond} and holds up to {@code burst} requests.
+ */
+public class ClientRateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final Map<String, AtomicLong> arrivals = new ConcurrentHashMap<>();
+
+    public ClientRateLimiter(double ratePerSecond, int burst) {
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * Math.max(0, burst - 1);
+    }
+
+    // Returns 0 when the request is admitted, otherwise how many nanoseconds the client should wait.
+    public long tryAcquire(String clientId, long nowNanos) {
+        AtomicLong arrival = arrivals.computeIfAbsent(clientId, id -> new AtomicLong(nowNanos));
+        while (true) {
+            long theoretical = arrival.get();
+            long base = Math.max(theoretical, nowNanos);
+            long wait = base - burstToleranceNanos - nowNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(theoretical, base + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    // A client whose bucket has refilled completely is indistinguishable from a new one.
+    public void evictIdle(long nowNanos) {
+        arrivals.entrySet().removeIf(entry -> entry.getValue().get() <= nowNanos);
+    }
+
+    public int trackedClients() {
+        return arrivals.size();
+    }
+}
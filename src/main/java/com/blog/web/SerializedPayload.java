@@ -0,0 +1,41 @@
+package com.blog.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Response body that is serialized at most once per format. Coalesced and cached reads hand the
+ * same instance to many requests, which then write the same bytes instead of walking the object
+ * graph again. The wrapped value must not be modified after it is wrapped.
+ */
+public final class SerializedPayload<T> {
+
+    private final T value;
+    private final Map<String, byte[]> serialized = new ConcurrentHashMap<>(4);
+
+    private SerializedPayload(T value) {
+        this.value = value;
+    }
+
+    public static <T> SerializedPayload<T> of(T value) {
+        return new SerializedPayload<>(value);
+    }
+
+    public T value() {
+        return value;
+    }
+
+    // Racing first writers may both serialize; the result is identical, so either copy is kept.
+    public byte[] bytes(ObjectMapper objectMapper) throws IOException {
+        String format = objectMapper.getFactory().getFormatName();
+        byte[] bytes = serialized.get(format);
+        if (bytes == null) {
+            bytes = objectMapper.writeValueAsBytes(value);
+            serialized.putIfAbsent(format, bytes);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,61 @@
+package com.blog.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link SerializedPayload} bodies as JSON, Smile or CBOR from the payload's cached bytes.
+ * JSON is listed first so that {@code Accept: *}{@code /*} keeps getting JSON.
+ */
+public class SerializedPayloadHttpMessageConverter extends AbstractHttpMessageConverter<SerializedPayload<?>> {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper smileMapper;
+    private final ObjectMapper cborMapper;
+
+    public SerializedPayloadHttpMessageConverter(ObjectMapper jsonMapper, ObjectMapper smileMapper, ObjectMapper cborMapper) {
+        super(MediaType.APPLICATION_JSON, APPLICATION_SMILE, MediaType.APPLICATION_CBOR);
+        this.jsonMapper = jsonMapper;
+        this.smileMapper = smileMapper;
+        this.cborMapper = cborMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return SerializedPayload.class == clazz;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected SerializedPayload<?> readInternal(Class<? extends SerializedPayload<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("SerializedPayload is write-only", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(SerializedPayload<?> payload, MediaType contentType) throws IOException {
+        return (long) payload.bytes(mapperFor(contentType)).length;
+    }
+
+    @Override
+    protected void writeInternal(SerializedPayload<?> payload, HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getBody().write(payload.bytes(mapperFor(outputMessage.getHeaders().getContentType())));
+    }
+
+    private ObjectMapper mapperFor(MediaType contentType) {
+        if (contentType != null && APPLICATION_SMILE.isCompatibleWith(contentType)) return smileMapper;
+        if (contentType != null && MediaType.APPLICATION_CBOR.isCompatibleWith(contentType)) return cborMapper;
+        return jsonMapper;
+    }
+}
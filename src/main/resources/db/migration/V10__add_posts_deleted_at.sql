@@ -0,0 +1,4 @@
+-- V10: soft delete. Deleting a post only sets deleted_at, which hides it from every read;
+-- PostPurgeService then removes its comments, tags and the row in small batches.
+
+ALTER TABLE posts ADD COLUMN deleted_at TIMESTAMP;
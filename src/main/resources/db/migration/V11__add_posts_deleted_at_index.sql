@@ -0,0 +1,5 @@
+-- V11: purge queue for PostPurgeService. Partial, so it holds only posts waiting to be purged.
+-- Built CONCURRENTLY in its own script, see V2.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_posts_deleted_at
+    ON posts (deleted_at) WHERE deleted_at IS NOT NULL;
@@ -0,0 +1,5 @@
+-- V12: trending candidates, PostRepository.findTrendingCandidates: ORDER BY likes_count DESC LIMIT ?
+-- Built CONCURRENTLY in its own script, see V2.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_posts_likes_count
+    ON posts (likes_count DESC) WHERE deleted_at IS NULL;
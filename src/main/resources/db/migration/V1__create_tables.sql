@@ -1,8 +1,4 @@
--- schema.sql PostgreSQL
-
-DROP TABLE IF EXISTS comments CASCADE;
-DROP TABLE IF EXISTS post_tags CASCADE;
-DROP TABLE IF EXISTS posts CASCADE;
+-- V1: initial schema (formerly schema.sql)
 
 CREATE TABLE posts (
                        id BIGSERIAL PRIMARY KEY,
@@ -28,4 +24,4 @@ CREATE TABLE post_tags (
                            tag VARCHAR(50) NOT NULL,
                            CONSTRAINT fk_post_tags_post FOREIGN KEY (post_id) REFERENCES posts(id) ON DELETE CASCADE,
                            PRIMARY KEY (post_id, tag)
-);
\ No newline at end of file
+);
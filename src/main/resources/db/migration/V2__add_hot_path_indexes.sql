@@ -0,0 +1,16 @@
+-- V2: secondary indexes for PostRepository / CommentRepository queries.
+-- Built CONCURRENTLY so existing tables stay writable; Flyway runs this
+-- script outside a transaction. If a build fails, drop the INVALID index
+-- by hand before repairing, IF NOT EXISTS would otherwise skip it.
+
+-- CommentRepository.findByPostId / countByPostId / deleteAllByPostId
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_comments_post_id_created_at
+    ON comments (post_id, created_at DESC);
+
+-- PostRepository list queries: ORDER BY created_at DESC LIMIT ? OFFSET ?
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_posts_created_at
+    ON posts (created_at DESC);
+
+-- PostRepository tag filters: post_tags.tag IN (...) joined back on post_id
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_post_tags_tag_post_id
+    ON post_tags (tag, post_id);
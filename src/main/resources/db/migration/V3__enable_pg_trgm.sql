@@ -0,0 +1,4 @@
+-- V3: trigram operator classes for LOWER(title) LIKE '%...%' searches.
+-- pg_trgm is a trusted extension, the database owner can create it.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
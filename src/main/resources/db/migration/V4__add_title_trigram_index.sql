@@ -0,0 +1,5 @@
+-- V4: PostRepository.findByTitleContainingPaginated / countByTitleContaining
+-- filter on LOWER(title) LIKE LOWER(?), which a btree index cannot serve.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_posts_title_lower_trgm
+    ON posts USING gin (LOWER(title) gin_trgm_ops);
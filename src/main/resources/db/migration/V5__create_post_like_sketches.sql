@@ -0,0 +1,11 @@
+-- V5: per-post like sketches. bloom is a 16384-bit Bloom filter of client ids that
+-- already liked the post, hll holds 2048 HyperLogLog registers of unique likers.
+-- Nodes merge their local sketches into the row (OR / register max) under a row lock.
+
+CREATE TABLE post_like_sketches (
+                                    post_id BIGINT PRIMARY KEY,
+                                    bloom BYTEA NOT NULL,
+                                    hll BYTEA NOT NULL,
+                                    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                                    CONSTRAINT fk_post_like_sketches_post FOREIGN KEY (post_id) REFERENCES posts(id) ON DELETE CASCADE
+);
@@ -0,0 +1,4 @@
+-- V6: view counter, incremented in batches by ViewCounterService.
+-- A constant default does not rewrite the table on PostgreSQL 11+.
+
+ALTER TABLE posts ADD COLUMN view_count BIGINT NOT NULL DEFAULT 0;
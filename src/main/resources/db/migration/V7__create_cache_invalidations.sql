@@ -0,0 +1,12 @@
+-- V7: log of cache invalidations. Each row is also announced with NOTIFY; the log lets a node
+-- that lost its LISTEN connection replay what it missed. Old rows are pruned by the application.
+
+CREATE TABLE cache_invalidations (
+                                     id BIGSERIAL PRIMARY KEY,
+                                     entity VARCHAR(32) NOT NULL,
+                                     entity_id BIGINT,
+                                     origin VARCHAR(64) NOT NULL,
+                                     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_cache_invalidations_created_at ON cache_invalidations (created_at);
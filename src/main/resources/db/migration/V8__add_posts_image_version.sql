@@ -0,0 +1,6 @@
+-- V8: image version for the image ETag and If-Range, bumped by every upload.
+-- Images are stored out of line without compression, so substring() for a byte range
+-- reads only the TOAST chunks it covers. Applies to images written from now on.
+
+ALTER TABLE posts ADD COLUMN image_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE posts ALTER COLUMN image SET STORAGE EXTERNAL;
@@ -0,0 +1,46 @@
+-- V9: comments become a table hash-partitioned by post_id (16 partitions, comments_p00..comments_p15).
+-- Every CommentRepository query filters by post_id, so the planner touches a single partition,
+-- and vacuum and index maintenance work on tables a sixteenth of the size. The primary key must
+-- contain the partition key, hence (id, post_id); ids still come from comments_id_seq.
+--
+-- This script copies the rows in one transaction, holding an exclusive lock for the whole copy.
+-- Large databases convert online beforehand with scripts/partition-comments.sql; this migration
+-- then finds comments already partitioned and does nothing.
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = 'comments'::regclass) THEN
+        RAISE NOTICE 'comments is already partitioned, skipping';
+        RETURN;
+    END IF;
+
+    LOCK TABLE comments IN ACCESS EXCLUSIVE MODE;
+
+    CREATE TABLE comments_partitioned (
+        id BIGINT NOT NULL DEFAULT nextval('comments_id_seq'),
+        text TEXT NOT NULL,
+        post_id BIGINT NOT NULL,
+        created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+        updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    ) PARTITION BY HASH (post_id);
+
+    FOR i IN 0..15 LOOP
+        EXECUTE format('CREATE TABLE comments_p%s PARTITION OF comments_partitioned '
+                           'FOR VALUES WITH (MODULUS 16, REMAINDER %s)', lpad(i::text, 2, '0'), i);
+    END LOOP;
+
+    INSERT INTO comments_partitioned (id, text, post_id, created_at, updated_at)
+    SELECT id, text, post_id, created_at, updated_at FROM comments;
+
+    ALTER SEQUENCE comments_id_seq OWNED BY comments_partitioned.id;
+    DROP TABLE comments;
+    ALTER TABLE comments_partitioned RENAME TO comments;
+
+    ALTER TABLE comments ADD CONSTRAINT comments_pkey PRIMARY KEY (id, post_id);
+    ALTER TABLE comments ADD CONSTRAINT fk_comments_post
+        FOREIGN KEY (post_id) REFERENCES posts (id) ON DELETE CASCADE;
+    CREATE INDEX idx_comments_post_id_created_at ON comments (post_id, created_at DESC);
+END
+$$;
+
+ANALYZE comments;
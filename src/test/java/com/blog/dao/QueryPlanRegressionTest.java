@@ -0,0 +1,374 @@
+package com.blog.dao;
+
+import com.blog.model.Comment;
+import com.blog.model.Post;
+import com.blog.model.PostField;
+import com.blog.model.PostLikeSketch;
+import com.blog.service.PostCache;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@code EXPLAIN (FORMAT JSON)} for every statement the repositories issue against a
+ * seeded PostgreSQL and fails when a hot query falls back to a sequential scan on one of the
+ * large tables or its estimated cost exceeds the budget.
+ * <p>
+ * Statements are captured by calling the real repository methods on a recording
+ * {@link JdbcTemplate}, so any change to repository SQL is checked without touching this class.
+ */
+class QueryPlanRegressionTest {
+
+    private static final String URL = "jdbc:tc:postgresql:15-alpine:///plans?TC_DAEMON=true";
+
+    private static final int POSTS = 50_000;
+    private static final int COMMENTS = 250_000;
+    private static final int DISTINCT_TAGS = 2_000;
+
+    private static final Set<String> LARGE_TABLES = Set.of("posts", "comments", "post_tags");
+
+    private static final long SAMPLE_POST_ID = POSTS / 2;
+    private static final long SAMPLE_COMMENT_ID = COMMENTS / 2;
+
+    private static final double POINT_BUDGET = 50;
+    private static final double PAGE_BUDGET = 5_000;
+    private static final double COUNT_BUDGET = 10_000;
+    private static final double FULL_SCAN_BUDGET = 50_000;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void loadRealisticVolume() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(URL);
+        dataSource.setDriverClassName("org.testcontainers.jdbc.ContainerDatabaseDriver");
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("""
+                INSERT INTO posts (title, text, likes_count, created_at, updated_at)
+                SELECT 'Post ' || i || CASE WHEN i % 1000 = 0 THEN ' kotlin'
+                           ELSE ' about ' || (ARRAY['java', 'spring', 'sql', 'docker', 'linux'])[1 + i % 5] END,
+                       repeat('lorem ipsum ', 20),
+                       i % 100,
+                       now() - i * interval '1 minute',
+                       now() - i * interval '1 minute'
+                FROM generate_series(1, ?) AS i
+                """, POSTS);
+        jdbcTemplate.update("""
+                INSERT INTO post_tags (post_id, tag)
+                SELECT p.id, 'tag' || ((p.id * 7 + k) % ?)
+                FROM posts p CROSS JOIN generate_series(0, 1) AS k
+                """, DISTINCT_TAGS);
+        jdbcTemplate.update("""
+                INSERT INTO comments (text, post_id, created_at, updated_at)
+                SELECT 'comment ' || i, 1 + i % ?, now() - i * interval '1 second', now() - i * interval '1 second'
+                FROM generate_series(1, ?) AS i
+                """, POSTS, COMMENTS);
+        jdbcTemplate.execute("ANALYZE posts, post_tags, comments");
+    }
+
+    static Stream<QueryCase> repositoryQueries() {
+        Post newPost = Post.builder()
+                .title("Plan").text("Plan").likesCount(0)
+                .createdAt(LocalDateTime.now()).updatedAt(LocalDateTime.now())
+                .build();
+        Post existingPost = Post.builder()
+                .id(SAMPLE_POST_ID).title("Plan").text("Plan").likesCount(1)
+                .updatedAt(LocalDateTime.now())
+                .build();
+        Comment newComment = Comment.builder()
+                .text("Plan").postId(SAMPLE_POST_ID)
+                .createdAt(LocalDateTime.now()).updatedAt(LocalDateTime.now())
+                .build();
+        Comment existingComment = Comment.builder()
+                .id(SAMPLE_COMMENT_ID).text("Plan").postId(SAMPLE_POST_ID)
+                .updatedAt(LocalDateTime.now())
+                .build();
+        PostLikeSketch likeSketch = PostLikeSketch.builder()
+                .postId(SAMPLE_POST_ID).bloom(new byte[0]).hll(new byte[0])
+                .build();
+
+        return Stream.of(
+                posts("findById", r -> r.findById(SAMPLE_POST_ID), POINT_BUDGET),
+                posts("existsById", r -> r.existsById(SAMPLE_POST_ID), POINT_BUDGET),
+                posts("findByTitleContainingPaginated(unfiltered)",
+                        r -> r.findByTitleContainingPaginated("", PostField.ALL, 10, 0), PAGE_BUDGET),
+                posts("findByTitleContainingPaginated(id,title)",
+                        r -> r.findByTitleContainingPaginated("", PostField.parse("title"), 10, 0), PAGE_BUDGET),
+                posts("findByTitleContainingPaginated",
+                        r -> r.findByTitleContainingPaginated("kotlin", PostField.ALL, 10, 0), PAGE_BUDGET),
+                posts("findByTagsPaginated",
+                        r -> r.findByTagsPaginated(List.of("tag42"), 1, PostField.ALL, 10, 0), PAGE_BUDGET),
+                posts("findByTitleAndTagsPaginated",
+                        r -> r.findByTitleAndTagsPaginated("java", List.of("tag42", "tag43"), 2, PostField.ALL, 10, 0),
+                        PAGE_BUDGET),
+                posts("countByTitleContaining", r -> r.countByTitleContaining("kotlin"), COUNT_BUDGET),
+                posts("countByTags", r -> r.countByTags(List.of("tag42"), 1), COUNT_BUDGET),
+                posts("countByTitleAndTags",
+                        r -> r.countByTitleAndTags("java", List.of("tag42", "tag43"), 2), COUNT_BUDGET),
+                posts("findTagsByPostId", r -> r.findTagsByPostId(SAMPLE_POST_ID), POINT_BUDGET),
+                posts("findAllByIds", r -> r.findAllByIds(sampleIds(100), PostField.ALL), PAGE_BUDGET),
+                posts("findSummariesByIds", r -> r.findSummariesByIds(sampleIds(100)), PAGE_BUDGET),
+                posts("findTagsByPostIds", r -> r.findTagsByPostIds(sampleIds(100)), PAGE_BUDGET),
+                posts("findTrendingCandidates", r -> r.findTrendingCandidates(100), PAGE_BUDGET),
+                posts("findImageById", r -> r.findImageById(SAMPLE_POST_ID), POINT_BUDGET),
+                posts("findImageMetadata", r -> r.findImageMetadata(SAMPLE_POST_ID), POINT_BUDGET),
+                posts("findImageRanges",
+                        r -> r.findImageRanges(SAMPLE_POST_ID, 0, new Integer[]{0, 4096}, new Integer[]{1024, 1024}), POINT_BUDGET),
+                posts("updateImage",
+                        r -> r.updateImage(SAMPLE_POST_ID, new byte[]{1, 2, 3}, LocalDateTime.now()), POINT_BUDGET),
+                posts("save(insert)", r -> r.save(newPost), POINT_BUDGET),
+                posts("save(update)", r -> r.save(existingPost), POINT_BUDGET),
+                posts("markDeleted", r -> r.markDeleted(SAMPLE_POST_ID, LocalDateTime.now()), POINT_BUDGET),
+                posts("findDeletedIds", r -> r.findDeletedIds(10), POINT_BUDGET),
+                posts("countDeleted", PostRepository::countDeleted, POINT_BUDGET),
+                posts("deleteTagsBatch", r -> r.deleteTagsBatch(SAMPLE_POST_ID, 1000), POINT_BUDGET),
+                posts("deleteDeletedById", r -> r.deleteDeletedById(SAMPLE_POST_ID), POINT_BUDGET),
+                posts("incrementViewCounts",
+                        r -> r.incrementViewCounts(new Long[]{SAMPLE_POST_ID, SAMPLE_POST_ID + 1}, new Long[]{3L, 1L}),
+                        PAGE_BUDGET),
+
+                comments("findByIdAndPostId",
+                        r -> r.findByIdAndPostId(SAMPLE_COMMENT_ID, SAMPLE_POST_ID), POINT_BUDGET),
+                comments("findByPostId", r -> r.findByPostId(SAMPLE_POST_ID), PAGE_BUDGET),
+                comments("countByPostId", r -> r.countByPostId(SAMPLE_POST_ID), POINT_BUDGET),
+                comments("countByPostIds", r -> r.countByPostIds(sampleIds(100)), PAGE_BUDGET),
+                comments("save(insert)", r -> r.save(newComment), POINT_BUDGET),
+                comments("save(update)", r -> r.save(existingComment), POINT_BUDGET),
+                comments("deleteByIdAndPostId",
+                        r -> r.deleteByIdAndPostId(SAMPLE_COMMENT_ID, SAMPLE_POST_ID), POINT_BUDGET),
+                comments("deleteBatchByPostId", r -> r.deleteBatchByPostId(SAMPLE_POST_ID, 1000), PAGE_BUDGET),
+                comments("notifyChange",
+                        r -> r.notifyChange("created", SAMPLE_POST_ID, SAMPLE_COMMENT_ID), POINT_BUDGET),
+
+                likeSketches("findByPostId", r -> r.findByPostId(SAMPLE_POST_ID), POINT_BUDGET),
+                likeSketches("findByPostIdForUpdate", r -> r.findByPostIdForUpdate(SAMPLE_POST_ID), POINT_BUDGET),
+                likeSketches("insertIfAbsent", r -> r.insertIfAbsent(likeSketch), POINT_BUDGET),
+                likeSketches("update", r -> r.update(likeSketch), POINT_BUDGET),
+
+                cacheInvalidations("publish",
+                        r -> r.publish(PostCache.ENTITY, SAMPLE_POST_ID, "node"), POINT_BUDGET),
+                cacheInvalidations("findAfter", r -> r.findAfter(0L, 1000), PAGE_BUDGET),
+                cacheInvalidations("deleteOlderThan",
+                        r -> r.deleteOlderThan(LocalDateTime.now().minusHours(1), 1000), PAGE_BUDGET),
+
+                // These read every post by design, a full scan is the expected plan.
+                fullScan(posts("countByTitleContaining(unfiltered)",
+                        r -> r.countByTitleContaining(""), FULL_SCAN_BUDGET)),
+                fullScan(posts("findAllSummaries", PostRepository::findAllSummaries, FULL_SCAN_BUDGET)),
+                fullScan(posts("findTagsOfAllPosts", PostRepository::findTagsOfAllPosts, FULL_SCAN_BUDGET))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void repositoryQueryAvoidsSeqScansAndStaysWithinCostBudget(QueryCase queryCase) throws Exception {
+        RecordingJdbcTemplate recorder = new RecordingJdbcTemplate();
+        queryCase.invocation().accept(recorder);
+
+        assertThat(recorder.statements)
+                .as("%s issued no SQL", queryCase.name())
+                .isNotEmpty();
+
+        for (RecordedStatement statement : recorder.statements) {
+            String json = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + statement.sql(),
+                    String.class, statement.args());
+            JsonNode plan = objectMapper.readTree(json).get(0).get("Plan");
+
+            if (!queryCase.allowSeqScan()) {
+                List<String> seqScans = new ArrayList<>();
+                collectSeqScans(plan, seqScans);
+                assertThat(seqScans)
+                        .as("%s plans a sequential scan for: %s%n%s", queryCase.name(), statement.sql(), json)
+                        .isEmpty();
+            }
+            assertThat(plan.get("Total Cost").asDouble())
+                    .as("%s exceeds its cost budget for: %s%n%s", queryCase.name(), statement.sql(), json)
+                    .isLessThanOrEqualTo(queryCase.costBudget());
+        }
+    }
+
+    static Stream<QueryCase> commentQueriesForOnePost() {
+        Comment existingComment = Comment.builder()
+                .id(SAMPLE_COMMENT_ID).text("Plan").postId(SAMPLE_POST_ID)
+                .updatedAt(LocalDateTime.now())
+                .build();
+
+        return Stream.of(
+                comments("findByIdAndPostId",
+                        r -> r.findByIdAndPostId(SAMPLE_COMMENT_ID, SAMPLE_POST_ID), POINT_BUDGET),
+                comments("findByPostId", r -> r.findByPostId(SAMPLE_POST_ID), PAGE_BUDGET),
+                comments("countByPostId", r -> r.countByPostId(SAMPLE_POST_ID), POINT_BUDGET),
+                comments("save(update)", r -> r.save(existingComment), POINT_BUDGET),
+                comments("deleteByIdAndPostId",
+                        r -> r.deleteByIdAndPostId(SAMPLE_COMMENT_ID, SAMPLE_POST_ID), POINT_BUDGET),
+                comments("deleteBatchByPostId", r -> r.deleteBatchByPostId(SAMPLE_POST_ID, 1000), PAGE_BUDGET)
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("commentQueriesForOnePost")
+    void commentQueryForOnePostReadsOnePartition(QueryCase queryCase) throws Exception {
+        RecordingJdbcTemplate recorder = new RecordingJdbcTemplate();
+        queryCase.invocation().accept(recorder);
+
+        for (RecordedStatement statement : recorder.statements) {
+            String json = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + statement.sql(),
+                    String.class, statement.args());
+            Set<String> partitions = new TreeSet<>();
+            collectPartitions(objectMapper.readTree(json).get(0).get("Plan"), "comments", partitions);
+            assertThat(partitions)
+                    .as("%s is not pruned to one partition for: %s%n%s", queryCase.name(), statement.sql(), json)
+                    .hasSize(1);
+        }
+    }
+
+    private static void collectSeqScans(JsonNode node, List<String> seqScans) {
+        String table = parentTable(node.path("Relation Name").asText());
+        if ("Seq Scan".equals(node.path("Node Type").asText()) && LARGE_TABLES.contains(table)) {
+            seqScans.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSeqScans(child, seqScans);
+        }
+    }
+
+    private static void collectPartitions(JsonNode node, String table, Set<String> partitions) {
+        String relation = node.path("Relation Name").asText();
+        if (!relation.equals(table) && parentTable(relation).equals(table)) {
+            partitions.add(relation);
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectPartitions(child, table, partitions);
+        }
+    }
+
+    // Partitions are named <table>_pNN (V9__partition_comments_by_post.sql).
+    private static String parentTable(String relation) {
+        return relation.replaceFirst("_p\\d+$", "");
+    }
+
+    private static Long[] sampleIds(int count) {
+        return LongStream.range(SAMPLE_POST_ID, SAMPLE_POST_ID + count).boxed().toArray(Long[]::new);
+    }
+
+    private static QueryCase posts(String method, Consumer<PostRepository> call, double costBudget) {
+        return new QueryCase("PostRepository." + method,
+                recorder -> call.accept(new PostRepository(recorder)), costBudget, false);
+    }
+
+    private static QueryCase comments(String method, Consumer<CommentRepository> call, double costBudget) {
+        return new QueryCase("CommentRepository." + method,
+                recorder -> call.accept(new CommentRepository(recorder)), costBudget, false);
+    }
+
+    private static QueryCase likeSketches(String method, Consumer<LikeSketchRepository> call, double costBudget) {
+        return new QueryCase("LikeSketchRepository." + method,
+                recorder -> call.accept(new LikeSketchRepository(recorder)), costBudget, false);
+    }
+
+    private static QueryCase cacheInvalidations(String method, Consumer<CacheInvalidationRepository> call,
+                                                double costBudget) {
+        return new QueryCase("CacheInvalidationRepository." + method,
+                recorder -> call.accept(new CacheInvalidationRepository(recorder)), costBudget, false);
+    }
+
+    private static QueryCase fullScan(QueryCase queryCase) {
+        return new QueryCase(queryCase.name(), queryCase.invocation(), queryCase.costBudget(), true);
+    }
+
+    record QueryCase(String name, Consumer<JdbcTemplate> invocation, double costBudget, boolean allowSeqScan) {
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    record RecordedStatement(String sql, Object[] args) {
+    }
+
+    /**
+     * Captures SQL and bind arguments instead of executing them. Result values are empty or
+     * {@code null}, which every repository method tolerates.
+     */
+    static class RecordingJdbcTemplate extends JdbcTemplate {
+
+        final List<RecordedStatement> statements = new ArrayList<>();
+
+        private void record(String sql, Object[] args) {
+            statements.add(new RecordedStatement(sql, args != null ? args : new Object[0]));
+        }
+
+        @Override
+        public void query(String sql, RowCallbackHandler rch) {
+            record(sql, null);
+        }
+
+        @Override
+        public void query(String sql, RowCallbackHandler rch, Object... args) {
+            record(sql, args);
+        }
+
+        @Override
+        public <T> List<T> query(String sql, RowMapper<T> rowMapper) {
+            record(sql, null);
+            return List.of();
+        }
+
+        @Override
+        public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+            record(sql, args);
+            return List.of();
+        }
+
+        @Override
+        public <T> T queryForObject(String sql, RowMapper<T> rowMapper, Object... args) {
+            record(sql, args);
+            return null;
+        }
+
+        @Override
+        public <T> T queryForObject(String sql, Class<T> requiredType, Object... args) {
+            record(sql, args);
+            return null;
+        }
+
+        @Override
+        public <T> List<T> queryForList(String sql, Class<T> elementType, Object... args) {
+            record(sql, args);
+            return List.of();
+        }
+
+        @Override
+        public int update(String sql, Object... args) {
+            record(sql, args);
+            return 0;
+        }
+    }
+}
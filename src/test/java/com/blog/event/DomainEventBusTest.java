@@ -0,0 +1,102 @@
+package com.blog.event;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DomainEventBusTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DomainEventBus eventBus;
+
+    @AfterEach
+    void tearDown() {
+        if (eventBus != null) {
+            eventBus.stop();
+        }
+    }
+
+    @Test
+    void deliversEventsInOrderToEveryListener() throws InterruptedException {
+        RecordingListener first = new RecordingListener("first", 3);
+        RecordingListener second = new RecordingListener("second", 3);
+        eventBus = new DomainEventBus(List.of(first, second), meterRegistry, 16, 8);
+        eventBus.start();
+
+        eventBus.publish(new LikeAdded(1L, 1));
+        eventBus.publish(new LikeAdded(1L, 2));
+        eventBus.publish(new CommentAdded(1L, 5L));
+
+        assertThat(first.delivered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(second.delivered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(first.events).containsExactly(new LikeAdded(1L, 1), new LikeAdded(1L, 2), new CommentAdded(1L, 5L));
+        assertThat(second.events).containsExactlyElementsOf(first.events);
+        assertThat(meterRegistry.counter("blog.events.published").count()).isEqualTo(3);
+    }
+
+    @Test
+    void fullBufferDropsEventsAndTriggersResync() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch resynced = new CountDownLatch(1);
+        DomainEventListener blocked = new DomainEventListener() {
+            @Override
+            public void onEvents(List<DomainEvent> events) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public void onEventsDropped() {
+                resynced.countDown();
+            }
+
+            @Override
+            public String listenerName() {
+                return "blocked";
+            }
+        };
+        eventBus = new DomainEventBus(List.of(blocked), meterRegistry, 4, 1);
+        eventBus.start();
+
+        for (long i = 0; i < 20; i++) {
+            eventBus.publish(new LikeAdded(i, 1));
+        }
+        release.countDown();
+
+        assertThat(resynced.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.counter("blog.events.dropped", "listener", "blocked").count()).isPositive();
+    }
+
+    private static class RecordingListener implements DomainEventListener {
+
+        private final String name;
+        private final CountDownLatch delivered;
+        private final List<DomainEvent> events = new CopyOnWriteArrayList<>();
+
+        RecordingListener(String name, int expected) {
+            this.name = name;
+            this.delivered = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void onEvents(List<DomainEvent> batch) {
+            events.addAll(batch);
+            batch.forEach(event -> delivered.countDown());
+        }
+
+        @Override
+        public String listenerName() {
+            return name;
+        }
+    }
+}
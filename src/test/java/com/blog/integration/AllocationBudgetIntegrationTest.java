@@ -0,0 +1,118 @@
+package com.blog.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.management.ManagementFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Bytes allocated per request on the main read endpoints, measured with the thread allocation
+ * counter (the one JFR's {@code jdk.ThreadAllocationStatistics} reports). MockMvc runs the whole
+ * request on the calling thread, so the counter covers dispatch, SQL and serialization. Each
+ * endpoint may allocate only a small fixed amount more than a baseline request that goes through
+ * the same dispatch without SQL, so the budgets follow the framework's own overhead and a failure
+ * means a change added an allocation-heavy step, such as exceptions on a hot path.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class AllocationBudgetIntegrationTest {
+
+    private static final int WARMUP = 50;
+    private static final int SAMPLES = 20;
+
+    // Allowed allocation over the baseline request.
+    private static final long NOT_FOUND_DELTA = 64 * 1024;
+    private static final long POST_DELTA = 128 * 1024;
+    private static final long PAGE_DELTA = 512 * 1024;
+
+    private static final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long postId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("DELETE FROM comments");
+        jdbcTemplate.execute("DELETE FROM post_tags");
+        jdbcTemplate.execute("DELETE FROM posts");
+        for (int i = 0; i < 10; i++) {
+            jdbcTemplate.update("INSERT INTO posts (title, text, likes_count, created_at, updated_at) " +
+                    "VALUES (?, repeat('lorem ipsum ', 20), 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", "Post " + i);
+        }
+        postId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM posts", Long.class);
+        jdbcTemplate.update("INSERT INTO post_tags (post_id, tag) VALUES (?, 'java')", postId);
+    }
+
+    @Test
+    void missingPostStaysWithinBudget() throws Exception {
+        long baseline = baseline();
+        long allocated = allocatedPerRequest(get("/api/posts/{id}", postId + 1000));
+
+        assertThat(allocated).isLessThan(baseline + NOT_FOUND_DELTA);
+    }
+
+    @Test
+    void missingPostAllocatesLessThanFoundPost() throws Exception {
+        long notFound = allocatedPerRequest(get("/api/posts/{id}", postId + 1000));
+        long found = allocatedPerRequest(get("/api/posts/{id}", postId));
+
+        assertThat(notFound).isLessThan(found);
+    }
+
+    @Test
+    void postStaysWithinBudget() throws Exception {
+        long baseline = baseline();
+        long allocated = allocatedPerRequest(get("/api/posts/{id}", postId));
+
+        assertThat(allocated).isLessThan(baseline + POST_DELTA);
+    }
+
+    @Test
+    void postPageStaysWithinBudget() throws Exception {
+        long baseline = baseline();
+        long allocated = allocatedPerRequest(get("/api/posts")
+                .param("search", "")
+                .param("pageNumber", "1")
+                .param("pageSize", "10"));
+
+        assertThat(allocated).isLessThan(baseline + PAGE_DELTA);
+    }
+
+    // Served from memory: dispatch, a one-element JSON body and nothing else.
+    private long baseline() throws Exception {
+        return allocatedPerRequest(get("/api/tags").param("limit", "1"));
+    }
+
+    // Minimum over several warmed-up runs, so a stray GC-triggered or JIT-related allocation does not count.
+    private long allocatedPerRequest(RequestBuilder request) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            mockMvc.perform(request);
+        }
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            mockMvc.perform(request);
+            min = Math.min(min, threads.getCurrentThreadAllocatedBytes() - before);
+        }
+        return min;
+    }
+}
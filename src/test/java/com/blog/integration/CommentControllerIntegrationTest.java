@@ -15,6 +15,7 @@ import org.springframework.transaction.annotation.Transactional;
 import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -60,6 +61,21 @@ class CommentControllerIntegrationTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void streamCommentsForExistingPostOpensEventStream() throws Exception {
+        Long postId = insertTestPost("Test Post", "Content");
+
+        mockMvc.perform(get("/api/posts/{postId}/comments/stream", postId)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void streamCommentsForNonExistentPostReturnsNotFound() throws Exception {
+        mockMvc.perform(get("/api/posts/{postId}/comments/stream", 999L))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void getCommentsForExistingPostReturnsAllComments() throws Exception {
         Long postId = insertTestPost("Test Post", "Content");
@@ -2,20 +2,37 @@ package com.blog.integration;
 
 import com.blog.dto.PostDto;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Set;
+import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -34,6 +51,13 @@ class PostControllerIntegrationTest {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+
+    // Like sketches outlive the rolled-back test transaction, so every test likes as fresh clients.
+    private final String alice = "alice-" + UUID.randomUUID();
+    private final String bob = "bob-" + UUID.randomUUID();
+
     @BeforeEach
     void setUp() {
         jdbcTemplate.execute("DELETE FROM comments");
@@ -72,6 +96,48 @@ class PostControllerIntegrationTest {
                 .andExpect(jsonPath("$.text").value("Test content"));
     }
 
+    @Test
+    void getPostByIdWithSmileAcceptHeaderReturnsBinaryPost() throws Exception {
+        Long postId = insertTestPost("Binary Post", "Test content");
+
+        byte[] body = mockMvc.perform(get("/api/posts/{id}", postId)
+                        .accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        PostDto post = new ObjectMapper(new SmileFactory()).readValue(body, PostDto.class);
+        assertThat(post.getTitle()).isEqualTo("Binary Post");
+    }
+
+    @Test
+    void binaryConvertersAreReplacedWithBootConfiguredOnes() {
+        for (Class<?> type : new Class<?>[]{MappingJackson2SmileHttpMessageConverter.class,
+                MappingJackson2CborHttpMessageConverter.class}) {
+            var converters = handlerAdapter.getMessageConverters().stream().filter(type::isInstance).toList();
+
+            assertThat(converters).hasSize(1);
+            assertThat(((AbstractJackson2HttpMessageConverter) converters.get(0)).getObjectMapper().getRegisteredModuleIds())
+                    .contains(new BlackbirdModule().getTypeId());
+        }
+    }
+
+    @Test
+    void createPostAcceptsAndReturnsCbor() throws Exception {
+        ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+        PostDto postDto = PostDto.builder().title("CBOR Post").text("Content").build();
+
+        byte[] body = mockMvc.perform(post("/api/posts")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(postDto)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(cborMapper.readValue(body, PostDto.class).getTitle()).isEqualTo("CBOR Post");
+    }
+
     @Test
     void getPostByIdWhenPostNotExistsReturnsNotFound() throws Exception {
         mockMvc.perform(get("/api/posts/{id}", 999L))
@@ -112,15 +178,32 @@ class PostControllerIntegrationTest {
     void addLikeWhenPostExistsIncrementsLikes() throws Exception {
         Long postId = insertTestPost("Post with Likes", "Content");
 
-        mockMvc.perform(post("/api/posts/{id}/likes", postId))
+        mockMvc.perform(post("/api/posts/{id}/likes", postId).header("X-Client-Id", alice))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").value(1));
 
-        mockMvc.perform(post("/api/posts/{id}/likes", postId))
+        mockMvc.perform(post("/api/posts/{id}/likes", postId).header("X-Client-Id", bob))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").value(2));
     }
 
+    @Test
+    void repeatedLikeFromSameClientIsNotCounted() throws Exception {
+        Long postId = insertTestPost("Post with Likes", "Content");
+
+        mockMvc.perform(post("/api/posts/{id}/likes", postId).header("X-Client-Id", alice))
+                .andExpect(jsonPath("$").value(1));
+        mockMvc.perform(post("/api/posts/{id}/likes", postId).header("X-Client-Id", alice))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").value(1));
+
+        mockMvc.perform(get("/api/posts/{id}/likes", postId).header("X-Client-Id", alice))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.likesCount").value(1))
+                .andExpect(jsonPath("$.uniqueLikers").value(1))
+                .andExpect(jsonPath("$.likedByClient").value(true));
+    }
+
     @Test
     void getPostsWithoutFiltersReturnsAllPosts() throws Exception {
         insertTestPost("Post 1", "Content 1");
@@ -182,6 +265,192 @@ class PostControllerIntegrationTest {
                 .andExpect(jsonPath("$.posts[0].title").value("Tagged Post"));
     }
 
+    @Test
+    void getPostsWithSeveralTagsReturnsOnlyPostsHavingAllTags() throws Exception {
+        Long bothTags = insertTestPost("Java and Spring", "Content");
+        insertPostTag(bothTags, "java");
+        insertPostTag(bothTags, "spring");
+
+        Long oneTag = insertTestPost("Only Java", "Content");
+        insertPostTag(oneTag, "java");
+
+        mockMvc.perform(get("/api/posts")
+                        .param("search", "#java #spring")
+                        .param("pageNumber", "1")
+                        .param("pageSize", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts.length()").value(1))
+                .andExpect(jsonPath("$.posts[0].title").value("Java and Spring"))
+                .andExpect(jsonPath("$.lastPage").value(1));
+    }
+
+    @Test
+    void getPostsByIdsReturnsPostsInRequestOrderWithMissingIds() throws Exception {
+        Long first = insertTestPost("First", "Content");
+        Long second = insertTestPost("Second", "Content");
+        insertPostTag(second, "java");
+        jdbcTemplate.update("INSERT INTO comments (text, post_id, created_at, updated_at) " +
+                "VALUES ('Nice', ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", first);
+
+        mockMvc.perform(get("/api/posts/batch")
+                        .param("ids", second + "," + 999L + "," + first))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts.length()").value(2))
+                .andExpect(jsonPath("$.posts[0].title").value("Second"))
+                .andExpect(jsonPath("$.posts[0].tags[0]").value("java"))
+                .andExpect(jsonPath("$.posts[1].title").value("First"))
+                .andExpect(jsonPath("$.posts[1].commentsCount").value(1))
+                .andExpect(jsonPath("$.missingIds[0]").value(999));
+    }
+
+    @Test
+    void getPostsWithFieldsReturnsOnlyRequestedFields() throws Exception {
+        Long id = insertTestPost("Sparse", "Content");
+        insertPostTag(id, "java");
+
+        mockMvc.perform(get("/api/posts")
+                        .param("search", "Sparse")
+                        .param("pageNumber", "1")
+                        .param("pageSize", "10")
+                        .param("fields", "title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts[0].id").value(id))
+                .andExpect(jsonPath("$.posts[0].title").value("Sparse"))
+                .andExpect(jsonPath("$.posts[0].text").doesNotExist())
+                .andExpect(jsonPath("$.posts[0].tags").doesNotExist())
+                .andExpect(jsonPath("$.posts[0].commentsCount").doesNotExist())
+                .andExpect(jsonPath("$.posts[0].viewCount").doesNotExist());
+    }
+
+    @Test
+    void getPostsWithUnknownFieldReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/posts")
+                        .param("search", "")
+                        .param("pageNumber", "1")
+                        .param("pageSize", "10")
+                        .param("fields", "title,image"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void uploadedImageIsServedBack() throws Exception {
+        Long postId = insertTestPost("With image", "Content");
+        byte[] image = {(byte) 0xFF, (byte) 0xD8, 1, 2, 3};
+
+        mockMvc.perform(multipart(HttpMethod.PUT, "/api/posts/{id}/image", postId)
+                        .file(new MockMultipartFile("image", "image.jpg", MediaType.IMAGE_JPEG_VALUE, image)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/posts/{id}/image", postId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.IMAGE_JPEG))
+                .andExpect(content().bytes(image));
+    }
+
+    @Test
+    void imageRangeReturnsPartialContent() throws Exception {
+        Long postId = insertTestPost("Ranged", "Content");
+        uploadImage(postId, new byte[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9});
+
+        mockMvc.perform(get("/api/posts/{id}/image", postId).header(HttpHeaders.RANGE, "bytes=2-4"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-4/10"))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 3))
+                .andExpect(content().bytes(new byte[]{2, 3, 4}));
+    }
+
+    @Test
+    void severalImageRangesReturnMultipartByteranges() throws Exception {
+        Long postId = insertTestPost("Ranged", "Content");
+        uploadImage(postId, new byte[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9});
+
+        MvcResult result = mockMvc.perform(get("/api/posts/{id}/image", postId)
+                        .header(HttpHeaders.RANGE, "bytes=0-1,-2"))
+                .andExpect(status().isPartialContent())
+                .andReturn();
+
+        MockHttpServletResponse response = result.getResponse();
+        assertThat(response.getContentType()).startsWith("multipart/byteranges").contains("boundary=");
+        String body = response.getContentAsString(StandardCharsets.ISO_8859_1);
+        assertThat(body).contains("Content-Range: bytes 0-1/10", "Content-Range: bytes 8-9/10");
+        assertThat(response.getContentAsByteArray()).hasSize(Integer.parseInt(response.getHeader(HttpHeaders.CONTENT_LENGTH)));
+    }
+
+    @Test
+    void overlappingImageRangesAreEachServedWhole() throws Exception {
+        Long postId = insertTestPost("Ranged", "Content");
+        uploadImage(postId, "abcdefghij".getBytes(StandardCharsets.ISO_8859_1));
+
+        MvcResult result = mockMvc.perform(get("/api/posts/{id}/image", postId)
+                        .header(HttpHeaders.RANGE, "bytes=4-6,0-0,2-5"))
+                .andExpect(status().isPartialContent())
+                .andReturn();
+
+        String body = result.getResponse().getContentAsString(StandardCharsets.ISO_8859_1);
+        assertThat(body).containsSubsequence("Content-Range: bytes 4-6/10", "efg",
+                "Content-Range: bytes 0-0/10", "a", "Content-Range: bytes 2-5/10", "cdef");
+    }
+
+    @Test
+    void imageRangeWithStaleIfRangeReturnsWholeImage() throws Exception {
+        Long postId = insertTestPost("Ranged", "Content");
+        uploadImage(postId, new byte[]{0, 1, 2, 3});
+        String firstETag = mockMvc.perform(get("/api/posts/{id}/image", postId))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        uploadImage(postId, new byte[]{9, 8, 7, 6, 5});
+
+        mockMvc.perform(get("/api/posts/{id}/image", postId)
+                        .header(HttpHeaders.RANGE, "bytes=0-1")
+                        .header(HttpHeaders.IF_RANGE, firstETag))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andExpect(content().bytes(new byte[]{9, 8, 7, 6, 5}));
+    }
+
+    @Test
+    void imageRangeWithCurrentIfRangeReturnsPartialContent() throws Exception {
+        Long postId = insertTestPost("Ranged", "Content");
+        uploadImage(postId, new byte[]{0, 1, 2, 3});
+        String eTag = mockMvc.perform(get("/api/posts/{id}/image", postId))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/posts/{id}/image", postId)
+                        .header(HttpHeaders.RANGE, "bytes=3-")
+                        .header(HttpHeaders.IF_RANGE, eTag))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().bytes(new byte[]{3}));
+    }
+
+    @Test
+    void imageRangeBeyondEndIsNotSatisfiable() throws Exception {
+        Long postId = insertTestPost("Ranged", "Content");
+        uploadImage(postId, new byte[]{0, 1, 2, 3});
+
+        mockMvc.perform(get("/api/posts/{id}/image", postId).header(HttpHeaders.RANGE, "bytes=4-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */4"));
+    }
+
+    @Test
+    void unsatisfiableRangesAreSkippedWhenOthersCanBeServed() throws Exception {
+        Long postId = insertTestPost("Ranged", "Content");
+        uploadImage(postId, new byte[]{0, 1, 2, 3});
+
+        mockMvc.perform(get("/api/posts/{id}/image", postId).header(HttpHeaders.RANGE, "bytes=10-20,1-2"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 1-2/4"))
+                .andExpect(content().bytes(new byte[]{1, 2}));
+    }
+
+    @Test
+    void imageOfPostWithoutImageReturnsNotFound() throws Exception {
+        Long postId = insertTestPost("No image", "Content");
+
+        mockMvc.perform(get("/api/posts/{id}/image", postId))
+                .andExpect(status().isNotFound());
+    }
+
     private Long insertTestPost(String title, String text) {
         String sql = "INSERT INTO posts (title, text, likes_count, created_at, updated_at) " +
                 "VALUES (?, ?, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)";
@@ -190,6 +459,12 @@ class PostControllerIntegrationTest {
         return jdbcTemplate.queryForObject("SELECT MAX(id) FROM posts", Long.class);
     }
 
+    private void uploadImage(Long postId, byte[] image) throws Exception {
+        mockMvc.perform(multipart(HttpMethod.PUT, "/api/posts/{id}/image", postId)
+                        .file(new MockMultipartFile("image", "image.jpg", MediaType.IMAGE_JPEG_VALUE, image)))
+                .andExpect(status().isOk());
+    }
+
     private void insertPostTag(Long postId, String tag) {
         jdbcTemplate.update("INSERT INTO post_tags (post_id, tag) VALUES (?, ?)", postId, tag);
     }
@@ -0,0 +1,103 @@
+package com.blog.integration;
+
+import com.blog.service.PostPurgeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class PostPurgeIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PostPurgeService postPurgeService;
+
+    @Test
+    void deletedPostIsHiddenFromReadsBeforeItIsPurged() throws Exception {
+        Long postId = insertPostWithCommentsAndTag("Soon gone", 3);
+        Long commentId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM comments WHERE post_id = ?", Long.class, postId);
+
+        mockMvc.perform(delete("/api/posts/{id}", postId))
+                .andExpect(status().isOk());
+
+        assertThat(countRows("SELECT COUNT(*) FROM comments WHERE post_id = ?", postId)).isEqualTo(3);
+        mockMvc.perform(get("/api/posts/{id}", postId))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/posts/{id}/image", postId))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/posts/{postId}/comments", postId))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/posts/{postId}/comments/{id}", postId, commentId))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(put("/api/posts/{postId}/comments/{id}", postId, commentId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\":\"Edited\"}"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/posts/{postId}/comments/{id}", postId, commentId))
+                .andExpect(status().isNotFound());
+        assertThat(countRows("SELECT COUNT(*) FROM comments WHERE post_id = ? AND text = 'Edited'", postId)).isZero();
+        mockMvc.perform(get("/api/posts/batch").param("ids", postId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts", hasSize(0)))
+                .andExpect(jsonPath("$.missingIds[0]").value(postId));
+        mockMvc.perform(get("/api/posts")
+                        .param("search", "#purge")
+                        .param("pageNumber", "1")
+                        .param("pageSize", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts", hasSize(0)));
+        mockMvc.perform(delete("/api/posts/{id}", postId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void purgeRemovesCommentsTagsAndPost() throws Exception {
+        Long postId = insertPostWithCommentsAndTag("Purged", 2_500);
+        Long keptId = insertPostWithCommentsAndTag("Kept", 2);
+
+        mockMvc.perform(delete("/api/posts/{id}", postId))
+                .andExpect(status().isOk());
+        postPurgeService.purge();
+
+        assertThat(countRows("SELECT COUNT(*) FROM comments WHERE post_id = ?", postId)).isZero();
+        assertThat(countRows("SELECT COUNT(*) FROM post_tags WHERE post_id = ?", postId)).isZero();
+        assertThat(countRows("SELECT COUNT(*) FROM posts WHERE id = ?", postId)).isZero();
+        assertThat(countRows("SELECT COUNT(*) FROM comments WHERE post_id = ?", keptId)).isEqualTo(2);
+        assertThat(countRows("SELECT COUNT(*) FROM posts WHERE id = ?", keptId)).isEqualTo(1);
+    }
+
+    private Long insertPostWithCommentsAndTag(String title, int comments) {
+        Long postId = jdbcTemplate.queryForObject("INSERT INTO posts (title, text, likes_count, image, created_at, updated_at) " +
+                "VALUES (?, 'Content', 0, '\\x0102'::bytea, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) RETURNING id", Long.class, title);
+        jdbcTemplate.update("INSERT INTO post_tags (post_id, tag) VALUES (?, 'purge')", postId);
+        jdbcTemplate.update("INSERT INTO comments (text, post_id, created_at, updated_at) " +
+                "SELECT 'comment ' || i, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP FROM generate_series(1, ?) AS i", postId, comments);
+        return postId;
+    }
+
+    private int countRows(String sql, Long postId) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, postId);
+    }
+}
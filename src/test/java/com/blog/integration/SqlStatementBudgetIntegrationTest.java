@@ -0,0 +1,121 @@
+package com.blog.integration;
+
+import com.blog.web.SqlStatsResponseAdvice;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Statement budgets per endpoint, read from the {@code X-Sql-Statements} debug header. A budget
+ * that starts failing usually means a new per-row query (N+1) on that path.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class SqlStatementBudgetIntegrationTest {
+
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long postId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("DELETE FROM comments");
+        jdbcTemplate.execute("DELETE FROM post_tags");
+        jdbcTemplate.execute("DELETE FROM posts");
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            jdbcTemplate.update("INSERT INTO posts (title, text, likes_count, created_at, updated_at) " +
+                    "VALUES (?, 'Content', 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", "Post " + i);
+        }
+        postId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM posts", Long.class);
+        jdbcTemplate.update("INSERT INTO post_tags (post_id, tag) VALUES (?, 'java')", postId);
+        jdbcTemplate.update("INSERT INTO comments (text, post_id, created_at, updated_at) " +
+                "VALUES ('Nice', ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", postId);
+    }
+
+    @Test
+    void postByIdRunsThreeStatements() throws Exception {
+        assertThat(statements(get("/api/posts/{id}", postId))).isEqualTo(3);
+    }
+
+    @Test
+    void missingPostRunsOneStatement() throws Exception {
+        assertThat(statements(get("/api/posts/{id}", postId + 1000))).isEqualTo(1);
+    }
+
+    // Page and count, then tags and comment count for every post on the page.
+    @Test
+    void postPageRunsTwoStatementsPerPost() throws Exception {
+        assertThat(statements(page(null))).isLessThanOrEqualTo(2 + 2 * PAGE_SIZE);
+    }
+
+    @Test
+    void postPageWithoutTagsAndCommentsRunsTwoStatements() throws Exception {
+        assertThat(statements(page("id,title"))).isEqualTo(2);
+    }
+
+    @Test
+    void batchRunsThreeStatementsForAnyNumberOfIds() throws Exception {
+        assertThat(statements(get("/api/posts/batch").param("ids", postId + "," + (postId - 1) + "," + (postId - 2))))
+                .isEqualTo(3);
+    }
+
+    @Test
+    void commentsOfPostRunTwoStatements() throws Exception {
+        assertThat(statements(get("/api/posts/{postId}/comments", postId))).isEqualTo(2);
+    }
+
+    @Test
+    void createCommentStaysWithinBudget() throws Exception {
+        RequestBuilder request = post("/api/posts/{postId}/comments", postId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"text\":\"Budget\"}");
+
+        assertThat(statements(request)).isLessThanOrEqualTo(4);
+    }
+
+    // Metadata and one statement with a substring() per range; the image cache is off in tests.
+    @Test
+    void severalImageRangesRunTwoStatements() throws Exception {
+        jdbcTemplate.update("UPDATE posts SET image = ?, image_version = 1 WHERE id = ?",
+                new byte[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9}, postId);
+
+        assertThat(statements(get("/api/posts/{id}/image", postId).header(HttpHeaders.RANGE, "bytes=0-1,4-5,-2")))
+                .isEqualTo(2);
+    }
+
+    private RequestBuilder page(String fields) {
+        var request = get("/api/posts")
+                .param("search", "")
+                .param("pageNumber", "1")
+                .param("pageSize", String.valueOf(PAGE_SIZE));
+        return fields != null ? request.param("fields", fields) : request;
+    }
+
+    private int statements(RequestBuilder request) throws Exception {
+        String header = mockMvc.perform(request).andReturn().getResponse()
+                .getHeader(SqlStatsResponseAdvice.STATEMENTS_HEADER);
+        assertThat(header).as("SQL statement header").isNotNull();
+        return Integer.parseInt(header);
+    }
+}
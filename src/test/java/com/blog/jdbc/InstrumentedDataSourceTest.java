@@ -0,0 +1,79 @@
+package com.blog.jdbc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InstrumentedDataSourceTest {
+
+    private final Connection connection = mock(Connection.class);
+    private final PreparedStatement statement = mock(PreparedStatement.class);
+
+    @AfterEach
+    void tearDown() {
+        SqlStatementStats.clear();
+    }
+
+    @Test
+    void countsStatementsExecutedInsideScope() throws SQLException {
+        InstrumentedDataSource dataSource = dataSource();
+        SqlStatementStats stats = SqlStatementStats.start();
+
+        try (Connection wrapped = dataSource.getConnection()) {
+            PreparedStatement prepared = wrapped.prepareStatement("SELECT * FROM posts WHERE id = ?");
+            prepared.setLong(1, 42L);
+            prepared.executeQuery();
+            prepared.executeQuery();
+        }
+
+        assertThat(stats.statements()).isEqualTo(2);
+        assertThat(stats.elapsedNanos()).isPositive();
+        verify(statement).setLong(1, 42L);
+    }
+
+    @Test
+    void statementsOutsideScopeAreNotCounted() throws SQLException {
+        try (Connection wrapped = dataSource().getConnection()) {
+            wrapped.prepareStatement("SELECT 1").executeQuery();
+        }
+
+        assertThat(SqlStatementStats.current()).isNull();
+    }
+
+    @Test
+    void unwrapReachesTheDriverConnection() throws SQLException {
+        when(connection.unwrap(Runnable.class)).thenReturn(() -> { });
+
+        try (Connection wrapped = dataSource().getConnection()) {
+            assertThat(wrapped.unwrap(Connection.class)).isSameAs(wrapped);
+            assertThat(wrapped.unwrap(Runnable.class)).isNotNull();
+        }
+    }
+
+    @Test
+    void parameterShapesHideValues() {
+        assertThat(InstrumentedDataSource.shapeOf(42L)).isEqualTo("Long");
+        assertThat(InstrumentedDataSource.shapeOf("secret")).isEqualTo("String");
+        assertThat(InstrumentedDataSource.shapeOf(new Long[]{1L, 2L, 3L})).isEqualTo("Long[3]");
+        assertThat(InstrumentedDataSource.shapeOf(null)).isEqualTo("null");
+    }
+
+    private InstrumentedDataSource dataSource() throws SQLException {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(mock(ResultSet.class));
+        return new InstrumentedDataSource(target, 200);
+    }
+}
@@ -0,0 +1,98 @@
+package com.blog.jdbc;
+
+import com.blog.web.ClientContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.setActualTransactionActive;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.setCurrentTransactionReadOnly;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+
+    private ReplicaLagMonitor lagMonitor;
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataSource primary = mock(DataSource.class);
+        DataSource replica = mock(DataSource.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", replica);
+        lagMonitor = new ReplicaLagMonitor(replicas, "SELECT 0", 1000);
+        routingDataSource = new ReplicaRoutingDataSource(primary, replicas, lagMonitor, new ReadYourWritesTracker(5000));
+        routingDataSource.afterPropertiesSet();
+        lagMonitor.recordLag("replica-0", 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        setActualTransactionActive(false);
+        setCurrentTransactionReadOnly(false);
+        ClientContext.clear();
+        lagMonitor.close();
+    }
+
+    @Test
+    void readWriteTransactionUsesPrimary() throws SQLException {
+        inTransaction(false);
+
+        assertThat(routingDataSource.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void readOnlyTransactionUsesHealthyReplica() throws SQLException {
+        inTransaction(true);
+
+        assertThat(routingDataSource.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void readOnlyTransactionFallsBackToPrimaryWhenReplicaLags() throws SQLException {
+        lagMonitor.recordLag("replica-0", 5000);
+        inTransaction(true);
+
+        assertThat(routingDataSource.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void readOnlyTransactionFallsBackToPrimaryWhenReplicaIsDown() throws SQLException {
+        lagMonitor.recordFailure("replica-0");
+        inTransaction(true);
+
+        assertThat(routingDataSource.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void clientReadsItsOwnWritesFromPrimary() throws SQLException {
+        ClientContext.setCurrentClientId("writer");
+        inTransaction(false);
+        routingDataSource.getConnection();
+
+        inTransaction(true);
+        assertThat(routingDataSource.getConnection()).isSameAs(primaryConnection);
+
+        ClientContext.setCurrentClientId("reader");
+        assertThat(routingDataSource.getConnection()).isSameAs(replicaConnection);
+    }
+
+    private void inTransaction(boolean readOnly) {
+        setActualTransactionActive(true);
+        setCurrentTransactionReadOnly(readOnly);
+    }
+}
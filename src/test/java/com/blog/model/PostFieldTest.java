@@ -0,0 +1,28 @@
+package com.blog.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PostFieldTest {
+
+    @Test
+    void blankFieldsSelectEverything() {
+        assertThat(PostField.parse(null)).isEqualTo(PostField.ALL);
+        assertThat(PostField.parse(" ")).isEqualTo(PostField.ALL);
+    }
+
+    @Test
+    void idIsAlwaysIncluded() {
+        assertThat(PostField.parse("title, commentsCount"))
+                .containsExactlyInAnyOrder(PostField.ID, PostField.TITLE, PostField.COMMENTS_COUNT);
+    }
+
+    @Test
+    void unknownFieldIsRejected() {
+        assertThatThrownBy(() -> PostField.parse("title,image"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("image");
+    }
+}
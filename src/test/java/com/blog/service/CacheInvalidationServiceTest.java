@@ -0,0 +1,142 @@
+package com.blog.service;
+
+import com.blog.dao.CacheInvalidationRepository;
+import com.blog.jdbc.PgNotificationListener;
+import com.blog.model.CacheInvalidation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationServiceTest {
+
+    @Mock
+    private CacheInvalidationRepository cacheInvalidationRepository;
+
+    @Mock
+    private PgNotificationListener notificationListener;
+
+    @Mock
+    private CacheInvalidationListener cache;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private CacheInvalidationService cacheInvalidationService;
+
+    @BeforeEach
+    void setUp() {
+        cacheInvalidationService = new CacheInvalidationService(cacheInvalidationRepository, List.of(cache),
+                notificationListener, meterRegistry, 10, 100, 3_600_000);
+    }
+
+    @Test
+    void subscribesToInvalidationChannel() {
+        verify(notificationListener).subscribe(CacheInvalidationRepository.CHANNEL, cacheInvalidationService);
+    }
+
+    @Test
+    void invalidateOutsideTransactionPublishesAndAppliesLocally() {
+        cacheInvalidationService.invalidate("post", 7L);
+
+        verify(cacheInvalidationRepository).publish(eq("post"), eq(7L), anyString());
+        verify(cache).invalidate("post", 7L);
+    }
+
+    @Test
+    void localInvalidationIsNotPublished() {
+        cacheInvalidationService.invalidateLocally("post", 7L);
+
+        verify(cacheInvalidationRepository, never()).publish(anyString(), anyLong(), anyString());
+        verify(cache).invalidate("post", 7L);
+    }
+
+    @Test
+    void notificationFromAnotherNodeIsAppliedAndLagRecorded() {
+        cacheInvalidationService.onNotification("5:post:7:other-node:" + System.currentTimeMillis());
+
+        verify(cache).invalidate("post", 7L);
+        assertThat(meterRegistry.get("blog.cache.invalidation.lag").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void ownNotificationIsNotAppliedTwice() {
+        cacheInvalidationService.invalidate("post", 7L);
+        ArgumentCaptor<String> origin = ArgumentCaptor.forClass(String.class);
+        verify(cacheInvalidationRepository).publish(eq("post"), eq(7L), origin.capture());
+
+        cacheInvalidationService.onNotification("5:post:7:" + origin.getValue() + ":" + System.currentTimeMillis());
+
+        verify(cache, times(1)).invalidate("post", 7L);
+    }
+
+    @Test
+    void malformedNotificationIsIgnored() {
+        cacheInvalidationService.onNotification("garbage");
+
+        verifyNoInteractions(cache);
+    }
+
+    @Test
+    void reconnectReplaysMissedInvalidationsWithOverlap() {
+        cacheInvalidationService.onNotification("50:post:1:other-node:" + System.currentTimeMillis());
+        when(cacheInvalidationRepository.findAfter(40L, 101)).thenReturn(List.of(
+                invalidation(45L, 2L), invalidation(51L, 3L)));
+
+        cacheInvalidationService.onReconnected();
+
+        verify(cache).invalidate("post", 2L);
+        verify(cache).invalidate("post", 3L);
+        verify(cache, never()).invalidateAll();
+        assertThat(meterRegistry.get("blog.cache.invalidation.replayed").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void reconnectFlushesEverythingWhenGapIsTooLarge() {
+        cacheInvalidationService.onNotification("50:post:1:other-node:" + System.currentTimeMillis());
+        List<CacheInvalidation> missed = LongStream.rangeClosed(51, 151)
+                .mapToObj(id -> invalidation(id, id))
+                .toList();
+        when(cacheInvalidationRepository.findAfter(40L, 101)).thenReturn(missed);
+
+        cacheInvalidationService.onReconnected();
+
+        verify(cache).invalidateAll();
+        verify(cache, never()).invalidate("post", 51L);
+        assertThat(meterRegistry.get("blog.cache.invalidation.full-flushes").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void reconnectFlushesEverythingWhenLogCannotBeRead() {
+        cacheInvalidationService.onNotification("50:post:1:other-node:" + System.currentTimeMillis());
+        when(cacheInvalidationRepository.findAfter(anyLong(), anyInt()))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        cacheInvalidationService.onReconnected();
+
+        verify(cache).invalidateAll();
+    }
+
+    @Test
+    void reconnectWithoutKnownPositionFlushesEverything() {
+        cacheInvalidationService.onReconnected();
+
+        verify(cache).invalidateAll();
+        verify(cacheInvalidationRepository, never()).findAfter(anyLong(), anyInt());
+    }
+
+    private static CacheInvalidation invalidation(Long id, Long postId) {
+        return CacheInvalidation.builder().id(id).entity("post").entityId(postId).origin("other-node").build();
+    }
+}
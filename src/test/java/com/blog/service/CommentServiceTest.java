@@ -3,6 +3,8 @@ package com.blog.service;
 import com.blog.dao.CommentRepository;
 import com.blog.dao.PostRepository;
 import com.blog.dto.CommentDto;
+import com.blog.event.CommentAdded;
+import com.blog.event.DomainEventPublisher;
 import com.blog.exception.ResourceNotFoundException;
 import com.blog.model.Comment;
 import com.blog.service.CommentService;
@@ -30,6 +32,12 @@ class CommentServiceTest {
     @Mock
     private PostRepository postRepository;
 
+    @Mock
+    private DomainEventPublisher eventPublisher;
+
+    @Mock
+    private CacheInvalidationService cacheInvalidationService;
+
     @InjectMocks
     private CommentService commentService;
 
@@ -121,6 +129,9 @@ class CommentServiceTest {
 
         verify(postRepository).existsById(1L);
         verify(commentRepository).save(any(Comment.class));
+        verify(commentRepository).notifyChange("created", 1L, 2L);
+        verify(eventPublisher).publish(new CommentAdded(1L, 2L));
+        verify(cacheInvalidationService).invalidate(PostCache.ENTITY, 1L);
     }
 
     @Test
@@ -163,7 +174,9 @@ class CommentServiceTest {
         commentService.deleteComment(1L, 1L);
 
         verify(commentRepository).findByIdAndPostId(1L, 1L);
-        verify(commentRepository).deleteById(1L);
+        verify(commentRepository).deleteByIdAndPostId(1L, 1L);
+        verify(commentRepository).notifyChange("deleted", 1L, 1L);
+        verify(cacheInvalidationService).invalidate(PostCache.ENTITY, 1L);
     }
 
     @Test
@@ -174,6 +187,6 @@ class CommentServiceTest {
                 .isInstanceOf(ResourceNotFoundException.class);
 
         verify(commentRepository).findByIdAndPostId(999L, 1L);
-        verify(commentRepository, never()).deleteById(anyLong());
+        verify(commentRepository, never()).deleteByIdAndPostId(anyLong(), anyLong());
     }
 }
\ No newline at end of file
@@ -0,0 +1,123 @@
+package com.blog.service;
+
+import com.blog.dao.CommentRepository;
+import com.blog.dao.PostRepository;
+import com.blog.exception.ResourceNotFoundException;
+import com.blog.jdbc.PgNotificationListener;
+import com.blog.model.Comment;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CommentStreamServiceTest {
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private PgNotificationListener notificationListener;
+
+    private CommentStreamService commentStreamService;
+
+    @BeforeEach
+    void setUp() {
+        commentStreamService = new CommentStreamService(commentRepository, postRepository, new ObjectMapper(),
+                notificationListener, new SimpleMeterRegistry(), 2, 10, 60_000, 1, 50);
+    }
+
+    @AfterEach
+    void tearDown() {
+        commentStreamService.shutdown();
+    }
+
+    @Test
+    void subscribesToCommentChangesChannel() {
+        verify(notificationListener).subscribe(CommentRepository.CHANGES_CHANNEL, commentStreamService);
+    }
+
+    @Test
+    void changedCommentIsLoadedOnceForAllSubscribersOfPost() {
+        when(postRepository.existsById(1L)).thenReturn(true);
+        when(commentRepository.findByIdAndPostId(7L, 1L)).thenReturn(Optional.of(
+                Comment.builder().id(7L).postId(1L).text("Hi").build()));
+        commentStreamService.subscribe(1L, null);
+        commentStreamService.subscribe(1L, null);
+
+        commentStreamService.onNotification("created:1:7");
+
+        verify(commentRepository, times(1)).findByIdAndPostId(7L, 1L);
+        assertThat(commentStreamService.subscriberCount()).isEqualTo(2);
+    }
+
+    @Test
+    void notificationsForPostsWithoutSubscribersAreSkipped() {
+        commentStreamService.onNotification("updated:5:9");
+        commentStreamService.onNotification("garbage");
+
+        verify(commentRepository, never()).findByIdAndPostId(anyLong(), anyLong());
+    }
+
+    @Test
+    void subscribingToMissingPostThrowsResourceNotFoundException() {
+        when(postRepository.existsById(999L)).thenReturn(false);
+
+        assertThatThrownBy(() -> commentStreamService.subscribe(999L, null))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(commentStreamService.subscriberCount()).isZero();
+    }
+
+    @Test
+    void stalledSubscriberIsEvictedAndDoesNotHoldTheOnlyWriter() throws Exception {
+        when(postRepository.existsById(anyLong())).thenReturn(true);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch stuckSending = new CountDownLatch(1);
+        CountDownLatch delivered = new CountDownLatch(1);
+        SseEmitter stuck = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) {
+                stuckSending.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        SseEmitter healthy = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                delivered.countDown();
+            }
+        };
+        commentStreamService.subscribe(1L, "1", stuck);
+        assertThat(stuckSending.await(5, TimeUnit.SECONDS)).isTrue();
+        commentStreamService.subscribe(2L, "1", healthy);
+
+        Thread.sleep(100);
+        commentStreamService.evictStalled();
+
+        assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(commentStreamService.subscriberCount()).isEqualTo(1);
+        release.countDown();
+    }
+}
@@ -0,0 +1,100 @@
+package com.blog.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageCacheTest {
+
+    private final ImageCache imageCache = new ImageCache(10, 6);
+
+    @Test
+    void cachedImageIsStoredOffHeapAndReadOnly() {
+        imageCache.put(1L, new byte[]{1, 2, 3}, 1, imageCache.epoch());
+
+        ByteBuffer image = imageCache.get(1L).data();
+
+        assertThat(image.isDirect()).isTrue();
+        assertThat(image.isReadOnly()).isTrue();
+        assertThat(image).isEqualTo(ByteBuffer.wrap(new byte[]{1, 2, 3}));
+        assertThat(imageCache.get(1L).version()).isEqualTo(1);
+    }
+
+    @Test
+    void leastRecentlyUsedImagesAreEvictedOverByteBudget() {
+        imageCache.put(1L, new byte[4], 1, imageCache.epoch());
+        imageCache.put(2L, new byte[4], 1, imageCache.epoch());
+        imageCache.get(1L);
+
+        imageCache.put(3L, new byte[4], 1, imageCache.epoch());
+
+        assertThat(imageCache.get(1L)).isNotNull();
+        assertThat(imageCache.get(2L)).isNull();
+        assertThat(imageCache.get(3L)).isNotNull();
+        assertThat(imageCache.usedBytes()).isEqualTo(8);
+    }
+
+    @Test
+    void readsFromManyThreadsKeepImagesCached() throws Exception {
+        imageCache.put(1L, new byte[]{1, 2, 3}, 1, imageCache.epoch());
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(readers.submit(() -> {
+                    for (int j = 0; j < 10_000; j++) {
+                        if (imageCache.get(1L).size() != 3) return false;
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS)).isTrue();
+            }
+        } finally {
+            readers.shutdownNow();
+        }
+        assertThat(imageCache.usedBytes()).isEqualTo(3);
+    }
+
+    @Test
+    void imagesLargerThanEntryLimitAreNotCached() {
+        assertThat(imageCache.put(1L, new byte[7], 1, imageCache.epoch())).isNull();
+        assertThat(imageCache.get(1L)).isNull();
+    }
+
+    @Test
+    void putDropsImageLoadedWhileAnInvalidationWasApplied() {
+        long epoch = imageCache.epoch();
+        imageCache.invalidate(ImageCache.ENTITY, 1L);
+
+        assertThat(imageCache.put(1L, new byte[]{1}, 1, epoch)).isNull();
+        assertThat(imageCache.get(1L)).isNull();
+    }
+
+    @Test
+    void invalidationReleasesBudget() {
+        imageCache.put(1L, new byte[4], 1, imageCache.epoch());
+
+        imageCache.invalidate(ImageCache.ENTITY, 1L);
+        imageCache.invalidate(PostCache.ENTITY, 2L);
+
+        assertThat(imageCache.get(1L)).isNull();
+        assertThat(imageCache.usedBytes()).isZero();
+    }
+
+    @Test
+    void zeroBudgetDisablesCache() {
+        ImageCache disabled = new ImageCache(0, 4);
+
+        assertThat(disabled.put(1L, new byte[]{1}, 1, disabled.epoch())).isNull();
+    }
+}
@@ -0,0 +1,163 @@
+package com.blog.service;
+
+import com.blog.dao.LikeSketchRepository;
+import com.blog.event.PostDeleted;
+import com.blog.model.PostLikeSketch;
+import com.blog.sketch.BloomFilter;
+import com.blog.sketch.HyperLogLog;
+import com.blog.sketch.ScalableBloomFilter;
+import com.blog.sketch.SketchHash;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LikeSketchServiceTest {
+
+    @Mock
+    private LikeSketchRepository likeSketchRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private LikeSketchService likeSketchService;
+
+    @BeforeEach
+    void setUp() {
+        likeSketchService = new LikeSketchService(likeSketchRepository, transactionManager, 0.5);
+    }
+
+    @Test
+    void secondLikeFromSameClientIsRejected() {
+        when(likeSketchRepository.findByPostId(1L)).thenReturn(Optional.empty());
+
+        assertThat(likeSketchService.recordLike(1L, "alice")).isTrue();
+        assertThat(likeSketchService.recordLike(1L, "alice")).isFalse();
+        assertThat(likeSketchService.recordLike(1L, "bob")).isTrue();
+
+        assertThat(likeSketchService.uniqueLikers(1L)).isEqualTo(2);
+        verify(likeSketchRepository, times(1)).findByPostId(1L);
+    }
+
+    @Test
+    void flushMergesWithSketchStoredByOtherNode() {
+        BloomFilter otherBloom = new BloomFilter();
+        HyperLogLog otherHll = new HyperLogLog();
+        otherBloom.put(SketchHash.hash("carol"));
+        otherHll.add(SketchHash.hash("carol"));
+        PostLikeSketch stored = PostLikeSketch.builder()
+                .postId(1L).bloom(otherBloom.toBytes()).hll(otherHll.toBytes()).build();
+
+        when(likeSketchRepository.findByPostId(1L)).thenReturn(Optional.empty());
+        when(likeSketchRepository.insertIfAbsent(any())).thenReturn(false);
+        when(likeSketchRepository.findByPostIdForUpdate(1L)).thenReturn(Optional.of(stored));
+        likeSketchService.recordLike(1L, "alice");
+
+        likeSketchService.flush();
+
+        ArgumentCaptor<PostLikeSketch> saved = ArgumentCaptor.forClass(PostLikeSketch.class);
+        verify(likeSketchRepository).update(saved.capture());
+        ScalableBloomFilter savedBloom = ScalableBloomFilter.fromBytes(saved.getValue().getBloom(), 0.5);
+        assertThat(savedBloom.mightContain(SketchHash.hash("alice"))).isTrue();
+        assertThat(savedBloom.mightContain(SketchHash.hash("carol"))).isTrue();
+        assertThat(likeSketchService.hasLiked(1L, "carol")).isTrue();
+        assertThat(likeSketchService.uniqueLikers(1L)).isEqualTo(2);
+    }
+
+    @Test
+    void deletedPostSketchIsDroppedWithoutFlushing() {
+        when(likeSketchRepository.findByPostId(1L)).thenReturn(Optional.empty());
+        likeSketchService.recordLike(1L, "alice");
+
+        likeSketchService.onEvents(List.of(new PostDeleted(1L, List.of())));
+        likeSketchService.flush();
+
+        verify(likeSketchRepository, never()).insertIfAbsent(any());
+    }
+
+    @Test
+    void likeIsRememberedOnlyWhenItsTransactionCommits() {
+        when(likeSketchRepository.findByPostId(1L)).thenReturn(Optional.empty());
+
+        assertThat(likeInTransaction("alice", TransactionSynchronization.STATUS_ROLLED_BACK)).isTrue();
+        assertThat(likeSketchService.hasLiked(1L, "alice")).isFalse();
+        assertThat(likeInTransaction("alice", TransactionSynchronization.STATUS_COMMITTED)).isTrue();
+
+        assertThat(likeSketchService.hasLiked(1L, "alice")).isTrue();
+        assertThat(likeSketchService.uniqueLikers(1L)).isEqualTo(1);
+    }
+
+    @Test
+    void uncommittedLikeRejectsConcurrentRepeat() {
+        when(likeSketchRepository.findByPostId(1L)).thenReturn(Optional.empty());
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertThat(likeSketchService.recordLike(1L, "alice")).isTrue();
+            assertThat(likeSketchService.recordLike(1L, "alice")).isFalse();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void repeatsAreRejectedOnPostWithManyLikers() {
+        when(likeSketchRepository.findByPostId(1L)).thenReturn(Optional.empty());
+        long counted = IntStream.range(0, 5_000)
+                .filter(i -> likeSketchService.recordLike(1L, "client-" + i))
+                .count();
+
+        assertThat(counted).isGreaterThan(4_900);
+        assertThat(IntStream.range(0, 5_000).noneMatch(i -> likeSketchService.recordLike(1L, "client-" + i))).isTrue();
+    }
+
+    @Test
+    void grownFilterSurvivesFlushAndReload() {
+        when(likeSketchRepository.findByPostId(1L)).thenReturn(Optional.empty());
+        when(likeSketchRepository.insertIfAbsent(any())).thenReturn(true);
+        IntStream.range(0, 3_500).forEach(i -> likeSketchService.recordLike(1L, "client-" + i));
+        likeSketchService.flush();
+
+        ArgumentCaptor<PostLikeSketch> saved = ArgumentCaptor.forClass(PostLikeSketch.class);
+        verify(likeSketchRepository).insertIfAbsent(saved.capture());
+        ScalableBloomFilter stored = ScalableBloomFilter.fromBytes(saved.getValue().getBloom(), 0.5);
+        assertThat(stored.layerCount()).isGreaterThan(1);
+        assertThat(stored.mightContain(SketchHash.hash("client-3499"))).isTrue();
+    }
+
+    @Test
+    void singleLayerFilterStoredEarlierIsStillRead() {
+        BloomFilter legacy = new BloomFilter();
+        legacy.put(SketchHash.hash("alice"));
+        PostLikeSketch stored = PostLikeSketch.builder()
+                .postId(1L).bloom(legacy.toBytes()).hll(new HyperLogLog().toBytes()).build();
+        when(likeSketchRepository.findByPostId(1L)).thenReturn(Optional.of(stored));
+
+        assertThat(likeSketchService.recordLike(1L, "alice")).isFalse();
+    }
+
+    private boolean likeInTransaction(String clientId, int completionStatus) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            boolean counted = likeSketchService.recordLike(1L, clientId);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(completionStatus));
+            return counted;
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.blog.service;
+
+import com.blog.dto.PostDto;
+import com.blog.web.SerializedPayload;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostCacheTest {
+
+    private final PostCache postCache = new PostCache(60_000, 2);
+
+    @Test
+    void putStoresPostLoadedWithoutInterveningInvalidation() {
+        long epoch = postCache.epoch(1L);
+        postCache.put(1L, post(1L), epoch);
+
+        assertThat(postCache.get(1L).value()).isEqualTo(post(1L).value());
+    }
+
+    @Test
+    void putDropsPostLoadedWhileAnInvalidationWasApplied() {
+        long epoch = postCache.epoch(1L);
+        postCache.invalidate(PostCache.ENTITY, 1L);
+        postCache.put(1L, post(1L), epoch);
+
+        assertThat(postCache.get(1L)).isNull();
+    }
+
+    @Test
+    void invalidatingAnotherPostDoesNotDropLoad() {
+        long epoch = postCache.epoch(1L);
+        postCache.invalidate(PostCache.ENTITY, 2L);
+        postCache.put(1L, post(1L), epoch);
+
+        assertThat(postCache.get(1L)).isNotNull();
+    }
+
+    @Test
+    void invalidateAllDropsLoadsInFlight() {
+        long epoch = postCache.epoch(1L);
+        postCache.invalidateAll();
+        postCache.put(1L, post(1L), epoch);
+
+        assertThat(postCache.get(1L)).isNull();
+    }
+
+    @Test
+    void invalidationsOfOtherEntitiesAreIgnored() {
+        postCache.put(1L, post(1L), postCache.epoch(1L));
+        postCache.invalidate("tag", 1L);
+
+        assertThat(postCache.get(1L)).isNotNull();
+    }
+
+    @Test
+    void invalidateAllClearsEveryPost() {
+        postCache.put(1L, post(1L), postCache.epoch(1L));
+        postCache.put(2L, post(2L), postCache.epoch(2L));
+
+        postCache.invalidateAll();
+
+        assertThat(postCache.get(1L)).isNull();
+        assertThat(postCache.get(2L)).isNull();
+    }
+
+    @Test
+    void putIsSkippedWhenCacheIsFull() {
+        postCache.put(1L, post(1L), postCache.epoch(1L));
+        postCache.put(2L, post(2L), postCache.epoch(2L));
+        postCache.put(3L, post(3L), postCache.epoch(3L));
+
+        assertThat(postCache.get(3L)).isNull();
+    }
+
+    @Test
+    void zeroTtlDisablesCache() {
+        PostCache disabled = new PostCache(0, 2);
+        disabled.put(1L, post(1L), disabled.epoch(1L));
+
+        assertThat(disabled.get(1L)).isNull();
+    }
+
+    private static SerializedPayload<PostDto> post(Long id) {
+        return SerializedPayload.of(PostDto.builder().id(id).title("Post " + id).build());
+    }
+}
@@ -0,0 +1,91 @@
+package com.blog.service;
+
+import com.blog.dao.PostRepository;
+import com.blog.event.DomainEventBus;
+import com.blog.event.DomainEventListener;
+import com.blog.event.PostDeleted;
+import com.blog.event.PostRefreshed;
+import com.blog.model.PostSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostIndexRefresherTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private DomainEventBus eventBus;
+
+    @Mock
+    private DomainEventListener tagCloud;
+
+    private PostIndexRefresher refresher;
+
+    @BeforeEach
+    void setUp() {
+        refresher = new PostIndexRefresher(postRepository, eventBus, List.of(tagCloud));
+    }
+
+    @Test
+    void invalidatedPostsAreReadOnceAndPublishedWithTheirCurrentState() {
+        LocalDateTime createdAt = LocalDateTime.now();
+        when(postRepository.findSummariesByIds(any())).thenReturn(List.of(PostSummary.builder()
+                .id(1L).title("Title").tags(Set.of("java")).likesCount(3).commentsCount(2).createdAt(createdAt)
+                .build()));
+
+        refresher.invalidate(PostIndexRefresher.ENTITY, 1L);
+        refresher.invalidate(PostIndexRefresher.ENTITY, 1L);
+        refresher.invalidate(PostIndexRefresher.ENTITY, 2L);
+        refresher.invalidate(PostCache.ENTITY, 3L);
+        refresher.refresh();
+
+        verify(postRepository).findSummariesByIds(argThat(ids -> Set.of(ids).equals(Set.of(1L, 2L))));
+        verify(eventBus).publish(new PostRefreshed(1L, "Title", Set.of("java"), createdAt, 3, 2));
+        verify(eventBus).publish(new PostDeleted(2L, List.of()));
+        verifyNoMoreInteractions(eventBus);
+    }
+
+    @Test
+    void nothingInvalidatedReadsNothing() {
+        refresher.refresh();
+
+        verifyNoInteractions(postRepository, eventBus);
+    }
+
+    @Test
+    void failedReadIsRetriedOnNextRun() {
+        when(postRepository.findSummariesByIds(any()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(List.of());
+
+        refresher.invalidate(PostIndexRefresher.ENTITY, 1L);
+        refresher.refresh();
+        refresher.refresh();
+
+        verify(postRepository, times(2)).findSummariesByIds(any());
+        verify(eventBus).publish(new PostDeleted(1L, List.of()));
+    }
+
+    @Test
+    void missedInvalidationsRebuildEveryIndex() {
+        refresher.invalidate(PostIndexRefresher.ENTITY, 1L);
+        refresher.invalidateAll();
+        refresher.refresh();
+
+        verify(tagCloud).onEventsDropped();
+        verifyNoInteractions(postRepository, eventBus);
+    }
+}
@@ -0,0 +1,113 @@
+package com.blog.service;
+
+import com.blog.dao.CommentRepository;
+import com.blog.dao.PostRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostPurgeServiceTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PostPurgeService postPurgeService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        postPurgeService = new PostPurgeService(postRepository, commentRepository, meterRegistry, BATCH_SIZE, 0, 10);
+    }
+
+    @Test
+    void purgeDeletesCommentsAndTagsInBatchesBeforeThePost() {
+        when(postRepository.countDeleted()).thenReturn(1);
+        when(postRepository.findDeletedIds(10)).thenReturn(List.of(1L));
+        when(commentRepository.deleteBatchByPostId(1L, BATCH_SIZE)).thenReturn(2, 2, 1);
+        when(postRepository.deleteTagsBatch(1L, BATCH_SIZE)).thenReturn(1);
+        when(postRepository.deleteDeletedById(1L)).thenReturn(true);
+
+        postPurgeService.purge();
+
+        InOrder order = inOrder(commentRepository, postRepository);
+        order.verify(commentRepository, times(3)).deleteBatchByPostId(1L, BATCH_SIZE);
+        order.verify(postRepository).deleteTagsBatch(1L, BATCH_SIZE);
+        order.verify(postRepository).deleteDeletedById(1L);
+        assertThat(purgedRows("comments")).isEqualTo(5);
+        assertThat(purgedRows("post_tags")).isEqualTo(1);
+        assertThat(purgedRows("posts")).isEqualTo(1);
+        assertThat(meterRegistry.get("blog.posts.purge.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    void purgeWithoutDeletedPostsDeletesNothing() {
+        when(postRepository.findDeletedIds(10)).thenReturn(List.of());
+
+        postPurgeService.purge();
+
+        verify(commentRepository, never()).deleteBatchByPostId(anyLong(), anyInt());
+        verify(postRepository, never()).deleteDeletedById(anyLong());
+    }
+
+    @Test
+    void stoppedPurgerLeavesRemainingPostsForNextRun() {
+        when(postRepository.findDeletedIds(10)).thenReturn(List.of(1L, 2L));
+        postPurgeService.stop();
+
+        postPurgeService.purge();
+
+        verify(commentRepository, never()).deleteBatchByPostId(anyLong(), anyInt());
+    }
+
+    @Test
+    void failingPostDoesNotBlockTheNextOne() {
+        when(postRepository.findDeletedIds(10)).thenReturn(List.of(1L, 2L));
+        when(commentRepository.deleteBatchByPostId(1L, BATCH_SIZE)).thenThrow(new QueryTimeoutException("timeout"));
+        when(postRepository.deleteDeletedById(2L)).thenReturn(true);
+
+        postPurgeService.purge();
+
+        verify(postRepository, never()).deleteDeletedById(1L);
+        verify(postRepository).deleteDeletedById(2L);
+        assertThat(meterRegistry.get("blog.posts.purge.failures").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void failingPostIsRetriedAfterBackoff() {
+        when(postRepository.findDeletedIds(anyInt())).thenReturn(List.of(1L));
+        when(commentRepository.deleteBatchByPostId(1L, BATCH_SIZE))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(0);
+        when(postRepository.deleteDeletedById(1L)).thenReturn(true);
+
+        postPurgeService.purge();
+        postPurgeService.purge();
+        verify(commentRepository, times(1)).deleteBatchByPostId(1L, BATCH_SIZE);
+
+        postPurgeService.purge();
+        verify(postRepository).deleteDeletedById(1L);
+    }
+
+    private double purgedRows(String table) {
+        return meterRegistry.get("blog.posts.purge.rows").tag("table", table).counter().count();
+    }
+}
@@ -0,0 +1,115 @@
+package com.blog.service;
+
+import com.blog.dto.PostDto;
+import com.blog.exception.ResourceNotFoundException;
+import com.blog.jdbc.ReadYourWritesTracker;
+import com.blog.web.SerializedPayload;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostReadCoalescerTest {
+
+    @Mock
+    private PostService postService;
+
+    @Mock
+    private ViewCounterService viewCounterService;
+
+    @Mock
+    private ObjectProvider<ReadYourWritesTracker> readYourWrites;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PostCache postCache;
+
+    private PostReadCoalescer postReadCoalescer;
+
+    @BeforeEach
+    void setUp() {
+        postCache = new PostCache(0, 100);
+        postReadCoalescer = new PostReadCoalescer(postService, viewCounterService, postCache, readYourWrites,
+                meterRegistry);
+    }
+
+    @Test
+    void concurrentReadsOfSamePostShareOneQueryAndCountEveryView() throws Exception {
+        PostDto post = PostDto.builder().id(1L).title("Viral").build();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(postService.getPostById(1L)).thenAnswer(invocation -> {
+            leaderStarted.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return post;
+        });
+
+        CompletableFuture<SerializedPayload<PostDto>> leader =
+                CompletableFuture.supplyAsync(() -> postReadCoalescer.getPostById(1L));
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<SerializedPayload<PostDto>> follower =
+                CompletableFuture.supplyAsync(() -> postReadCoalescer.getPostById(1L));
+        while (meterRegistry.counter("blog.coalescing.requests",
+                "operation", "post-by-id", "role", "follower").count() == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        SerializedPayload<PostDto> leaderResult = leader.get(5, TimeUnit.SECONDS);
+        assertThat(leaderResult.value()).isSameAs(post);
+        // Followers get the same payload, so the post is serialized once for all of them.
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isSameAs(leaderResult);
+        verify(postService, times(1)).getPostById(1L);
+        verify(viewCounterService, times(2)).recordView(1L);
+        assertThat(meterRegistry.get("blog.coalescing.ratio").tag("operation", "post-by-id").gauge().value())
+                .isEqualTo(0.5);
+    }
+
+    @Test
+    void sequentialReadsAreNotCached() {
+        when(postService.getPostById(1L)).thenReturn(PostDto.builder().id(1L).build());
+
+        postReadCoalescer.getPostById(1L);
+        postReadCoalescer.getPostById(1L);
+
+        verify(postService, times(2)).getPostById(1L);
+    }
+
+    @Test
+    void cachedPostIsServedUntilInvalidated() {
+        postCache = new PostCache(60_000, 100);
+        postReadCoalescer = new PostReadCoalescer(postService, viewCounterService, postCache, readYourWrites,
+                meterRegistry);
+        when(postService.getPostById(1L)).thenReturn(PostDto.builder().id(1L).title("Old").build(),
+                PostDto.builder().id(1L).title("New").build());
+
+        assertThat(postReadCoalescer.getPostById(1L).value().getTitle()).isEqualTo("Old");
+        assertThat(postReadCoalescer.getPostById(1L).value().getTitle()).isEqualTo("Old");
+        postCache.invalidate(PostCache.ENTITY, 1L);
+        assertThat(postReadCoalescer.getPostById(1L).value().getTitle()).isEqualTo("New");
+
+        verify(postService, times(2)).getPostById(1L);
+        verify(viewCounterService, times(3)).recordView(1L);
+    }
+
+    @Test
+    void failureIsPropagatedToCaller() {
+        when(postService.getPostById(999L)).thenThrow(ResourceNotFoundException.postNotFound(999L));
+
+        assertThatThrownBy(() -> postReadCoalescer.getPostById(999L))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(viewCounterService, never()).recordView(999L);
+    }
+}
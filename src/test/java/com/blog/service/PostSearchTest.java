@@ -0,0 +1,35 @@
+package com.blog.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostSearchTest {
+
+    @Test
+    void blankSearchMatchesEverything() {
+        PostSearch search = PostSearch.parse("   ");
+
+        assertThat(search.hasText()).isFalse();
+        assertThat(search.hasTags()).isFalse();
+        assertThat(search.titleFilter()).isEmpty();
+    }
+
+    @Test
+    void hashWordsBecomeTagsAndTheRestTitleText() {
+        PostSearch search = PostSearch.parse("spring  #java boot #sql");
+
+        assertThat(search.text()).isEqualTo("spring boot");
+        assertThat(search.tags()).isEqualTo(List.of("java", "sql"));
+    }
+
+    @Test
+    void tagsOnlyHaveNoText() {
+        PostSearch search = PostSearch.parse("#java");
+
+        assertThat(search.hasText()).isFalse();
+        assertThat(search.tags()).containsExactly("java");
+    }
+}
@@ -2,10 +2,18 @@ package com.blog.service;
 
 import com.blog.dao.CommentRepository;
 import com.blog.dao.PostRepository;
+import com.blog.dto.PostBatchResponseDto;
 import com.blog.dto.PostDto;
 import com.blog.dto.PostListResponseDto;
+import com.blog.event.DomainEventPublisher;
+import com.blog.event.LikeAdded;
+import com.blog.event.PostCreated;
+import com.blog.event.PostDeleted;
 import com.blog.exception.ResourceNotFoundException;
 import com.blog.model.Post;
+import com.blog.model.PostField;
+import com.blog.model.PostImage;
+import com.blog.web.ClientContext;
 import com.blog.service.PostService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,11 +22,16 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.ByteBuffer;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -36,6 +49,24 @@ class PostServiceTest {
     @Mock
     private JdbcTemplate jdbcTemplate;
 
+    @Mock
+    private DomainEventPublisher eventPublisher;
+
+    @Mock
+    private LikeSketchService likeSketchService;
+
+    @Mock
+    private ViewCounterService viewCounterService;
+
+    @Mock
+    private CacheInvalidationService cacheInvalidationService;
+
+    @Mock
+    private ImageCache imageCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private PostService postService;
 
@@ -69,6 +100,7 @@ class PostServiceTest {
         when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
         when(postRepository.findTagsByPostId(1L)).thenReturn(List.of("java", "spring"));
         when(commentRepository.countByPostId(1L)).thenReturn(3);
+        when(viewCounterService.pendingViews(1L)).thenReturn(2L);
 
         PostDto result = postService.getPostById(1L);
 
@@ -77,6 +109,7 @@ class PostServiceTest {
         assertThat(result.getTitle()).isEqualTo("Test Post");
         assertThat(result.getTags()).containsExactlyInAnyOrder("java", "spring");
         assertThat(result.getCommentsCount()).isEqualTo(3);
+        assertThat(result.getViewCount()).isEqualTo(2L);
 
         verify(postRepository).findById(1L);
         verify(postRepository).findTagsByPostId(1L);
@@ -88,7 +121,8 @@ class PostServiceTest {
         when(postRepository.findById(999L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> postService.getPostById(999L))
-                .isInstanceOf(ResourceNotFoundException.class);
+                .isInstanceOf(ResourceNotFoundException.class)
+                .satisfies(e -> assertThat(e.getStackTrace()).isEmpty());
 
         verify(postRepository).findById(999L);
     }
@@ -124,6 +158,9 @@ class PostServiceTest {
 
         verify(postRepository).save(any(Post.class));
         verify(jdbcTemplate, times(1)).update(anyString(), eq(2L), eq("test"));
+        verify(eventPublisher).publish(argThat(event -> event instanceof PostCreated created
+                && created.postId().equals(2L) && created.tags().equals(Set.of("test"))));
+        verify(cacheInvalidationService).invalidate(PostIndexRefresher.ENTITY, 2L);
     }
 
     @Test
@@ -156,7 +193,9 @@ class PostServiceTest {
 
         verify(postRepository).findById(1L);
         verify(postRepository).save(any(Post.class));
-        verify(jdbcTemplate).update(eq("DELETE FROM post_tags WHERE post_id = ?"), eq(1L));
+        verify(jdbcTemplate).queryForList(eq("DELETE FROM post_tags WHERE post_id = ? RETURNING tag"), eq(String.class), eq(1L));
+        verify(cacheInvalidationService).invalidate(PostCache.ENTITY, 1L);
+        verify(cacheInvalidationService).invalidate(PostIndexRefresher.ENTITY, 1L);
     }
 
     @Test
@@ -176,26 +215,30 @@ class PostServiceTest {
     }
 
     @Test
-    void deletePostWhenPostExistsDeletesPostAndRelatedData() {
-        when(postRepository.existsById(1L)).thenReturn(true);
+    void deletePostWhenPostExistsMarksItDeletedAndLeavesRelatedDataToPurger() {
+        when(postRepository.markDeleted(eq(1L), any(LocalDateTime.class))).thenReturn(true);
+        when(postRepository.findTagsByPostId(1L)).thenReturn(List.of("java"));
 
         postService.deletePost(1L);
 
-        verify(postRepository).existsById(1L);
-        verify(commentRepository).deleteAllByPostId(1L);
-        verify(jdbcTemplate).update(eq("DELETE FROM post_tags WHERE post_id = ?"), eq(1L));
-        verify(postRepository).deleteById(1L);
+        verify(postRepository).markDeleted(eq(1L), any(LocalDateTime.class));
+        verify(commentRepository, never()).deleteBatchByPostId(anyLong(), anyInt());
+        verify(postRepository, never()).deleteDeletedById(anyLong());
+        verify(eventPublisher).publish(new PostDeleted(1L, List.of("java")));
+        verify(cacheInvalidationService).invalidate(PostCache.ENTITY, 1L);
+        verify(cacheInvalidationService).invalidate(ImageCache.ENTITY, 1L);
+        verify(cacheInvalidationService).invalidate(PostIndexRefresher.ENTITY, 1L);
     }
 
     @Test
     void deletePostWhenPostNotExistsThrowsResourceNotFoundException() {
-        when(postRepository.existsById(999L)).thenReturn(false);
+        when(postRepository.markDeleted(eq(999L), any(LocalDateTime.class))).thenReturn(false);
 
         assertThatThrownBy(() -> postService.deletePost(999L))
                 .isInstanceOf(ResourceNotFoundException.class);
 
-        verify(postRepository).existsById(999L);
-        verify(postRepository, never()).deleteById(anyLong());
+        verify(eventPublisher, never()).publish(any());
+        verify(cacheInvalidationService, never()).invalidate(anyString(), anyLong());
     }
 
     @Test
@@ -208,12 +251,32 @@ class PostServiceTest {
         assertThat(result).isEqualTo(6);
         verify(postRepository).findById(1L);
         verify(postRepository).save(argThat(post -> post.getLikesCount() == 6));
+        verify(eventPublisher).publish(new LikeAdded(1L, 6));
+        verify(cacheInvalidationService).invalidateLocally(PostCache.ENTITY, 1L);
+        verify(cacheInvalidationService, never()).invalidate(anyString(), anyLong());
+    }
+
+    @Test
+    void addLikeFromClientThatAlreadyLikedKeepsLikesCount() {
+        when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
+        when(likeSketchService.recordLike(1L, "alice")).thenReturn(false);
+
+        ClientContext.setCurrentClientId("alice");
+        try {
+            assertThat(postService.addLike(1L)).isEqualTo(5);
+        } finally {
+            ClientContext.clear();
+        }
+
+        verify(postRepository, never()).save(any(Post.class));
+        verify(eventPublisher, never()).publish(any());
+        verify(cacheInvalidationService, never()).invalidate(anyString(), anyLong());
     }
 
     @Test
     void getPostsWithPaginationWithoutFiltersReturnsAllPosts() {
         List<Post> posts = List.of(testPost);
-        when(postRepository.findByTitleContainingPaginated("", 10, 0)).thenReturn(posts);
+        when(postRepository.findByTitleContainingPaginated("", PostField.ALL, 10, 0)).thenReturn(posts);
         when(postRepository.countByTitleContaining("")).thenReturn(1);
         when(postRepository.findTagsByPostId(1L)).thenReturn(List.of("java", "spring"));
         when(commentRepository.countByPostId(1L)).thenReturn(3);
@@ -223,12 +286,12 @@ class PostServiceTest {
         assertThat(result.getPosts()).hasSize(1);
         assertThat(result.getLastPage()).isEqualTo(1);
 
-        verify(postRepository).findByTitleContainingPaginated("", 10, 0);
+        verify(postRepository).findByTitleContainingPaginated("", PostField.ALL, 10, 0);
     }
 
     @Test
     void getPostsWithPaginationWithTitleSearchFiltersCorrectly() {
-        when(postRepository.findByTitleContainingPaginated("Test", 10, 0))
+        when(postRepository.findByTitleContainingPaginated("Test", PostField.ALL, 10, 0))
                 .thenReturn(List.of(testPost));
         when(postRepository.countByTitleContaining("Test")).thenReturn(1);
         when(postRepository.findTagsByPostId(1L)).thenReturn(List.of());
@@ -237,12 +300,12 @@ class PostServiceTest {
         PostListResponseDto result = postService.getPostsWithPagination("Test", 1, 10);
 
         assertThat(result.getPosts()).hasSize(1);
-        verify(postRepository).findByTitleContainingPaginated("Test", 10, 0);
+        verify(postRepository).findByTitleContainingPaginated("Test", PostField.ALL, 10, 0);
     }
 
     @Test
     void getPostsWithPaginationWithTagsSearchFiltersCorrectly() {
-        when(postRepository.findByTagsPaginated(List.of("java"), 1, 10, 0))
+        when(postRepository.findByTagsPaginated(List.of("java"), 1, PostField.ALL, 10, 0))
                 .thenReturn(List.of(testPost));
         when(postRepository.countByTags(List.of("java"), 1)).thenReturn(1);
         when(postRepository.findTagsByPostId(1L)).thenReturn(List.of("java"));
@@ -251,30 +314,138 @@ class PostServiceTest {
         PostListResponseDto result = postService.getPostsWithPagination("#java", 1, 10);
 
         assertThat(result.getPosts()).hasSize(1);
-        verify(postRepository).findByTagsPaginated(List.of("java"), 1, 10, 0);
+        verify(postRepository).findByTagsPaginated(List.of("java"), 1, PostField.ALL, 10, 0);
+    }
+
+    @Test
+    void getPostsWithPaginationWithSparseFieldsSkipsTagAndCommentQueries() {
+        Set<PostField> fields = PostField.parse("title");
+        Post post = Post.builder().id(1L).title("Test Post").build();
+        when(postRepository.findByTitleContainingPaginated("", fields, 10, 0)).thenReturn(List.of(post));
+        when(postRepository.countByTitleContaining("")).thenReturn(1);
+
+        PostListResponseDto result = postService.getPostsWithPagination("", 1, 10, fields);
+
+        PostDto dto = result.getPosts().get(0);
+        assertThat(dto.getId()).isEqualTo(1L);
+        assertThat(dto.getTitle()).isEqualTo("Test Post");
+        assertThat(dto.getText()).isNull();
+        assertThat(dto.getTags()).isNull();
+        assertThat(dto.getCommentsCount()).isNull();
+        assertThat(dto.getViewCount()).isNull();
+        verify(postRepository, never()).findTagsByPostId(anyLong());
+        verifyNoInteractions(commentRepository, viewCounterService);
     }
 
     @Test
     void updatePostImageWhenPostExistsUpdatesImage() {
         byte[] imageData = new byte[]{1, 2, 3, 4};
-        when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
-        when(postRepository.save(any(Post.class))).thenReturn(testPost);
+        when(postRepository.updateImage(eq(1L), same(imageData), any(LocalDateTime.class))).thenReturn(true);
 
         postService.updatePostImage(1L, imageData);
 
-        verify(postRepository).findById(1L);
-        verify(postRepository).save(argThat(post -> post.getImage() == imageData));
+        verify(postRepository, never()).findById(anyLong());
+        verify(cacheInvalidationService).invalidate(ImageCache.ENTITY, 1L);
     }
 
     @Test
-    void getPostImageWhenPostExistsReturnsImageData() {
+    void updatePostImageWhenPostNotExistsThrowsResourceNotFoundException() {
+        when(postRepository.updateImage(eq(999L), any(), any(LocalDateTime.class))).thenReturn(false);
+
+        assertThatThrownBy(() -> postService.updatePostImage(999L, new byte[]{1}))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(cacheInvalidationService, never()).invalidate(anyString(), anyLong());
+    }
+
+    @Test
+    void getPostImageOnCacheMissReadsImageColumnAndCachesIt() {
         byte[] imageData = new byte[]{1, 2, 3, 4};
-        testPost.setImage(imageData);
-        when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
+        when(imageCache.get(1L)).thenReturn(null);
+        when(imageCache.epoch()).thenReturn(7L);
+        when(postRepository.findImageById(1L)).thenReturn(Optional.of(
+                PostImage.builder().postId(1L).size(4).version(2).data(imageData).build()));
+        when(imageCache.put(1L, imageData, 2L, 7L)).thenReturn(null);
+
+        ImageCache.Image result = postService.getPostImage(1L);
+
+        assertThat(result.data()).isEqualTo(ByteBuffer.wrap(imageData));
+        assertThat(result.version()).isEqualTo(2L);
+        verify(postRepository, never()).findById(anyLong());
+        verify(transactionManager).getTransaction(argThat(definition -> definition.isReadOnly()));
+    }
 
-        byte[] result = postService.getPostImage(1L);
+    @Test
+    void getPostImageOnCacheHitSkipsDatabase() {
+        ImageCache.Image cached = new ImageCache.Image(ByteBuffer.allocateDirect(2).put(new byte[]{5, 6}).flip(), 1);
+        when(imageCache.get(1L)).thenReturn(cached);
 
-        assertThat(result).isEqualTo(imageData);
-        verify(postRepository).findById(1L);
+        assertThat(postService.getPostImage(1L)).isSameAs(cached);
+        verifyNoInteractions(postRepository, transactionManager);
+    }
+
+    @Test
+    void getPostImageRangesSlicesCachedImageOfSameVersion() {
+        ImageCache.Image cached = new ImageCache.Image(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5}), 3);
+        when(imageCache.get(1L)).thenReturn(cached);
+
+        assertThat(postService.getPostImageRanges(1L, 3, new Integer[]{1, 4}, new Integer[]{2, 1}))
+                .contains(List.of(ByteBuffer.wrap(new byte[]{2, 3}), ByteBuffer.wrap(new byte[]{5})));
+        verifyNoInteractions(postRepository, transactionManager);
+    }
+
+    @Test
+    void getPostImageRangesOnMissReadsOnlyTheRangesFromDatabase() {
+        Integer[] offsets = {0, 100};
+        Integer[] lengths = {1, 2};
+        when(imageCache.get(1L)).thenReturn(null);
+        when(postRepository.findImageRanges(1L, 3, offsets, lengths))
+                .thenReturn(Optional.of(List.of(new byte[]{6}, new byte[]{7, 8})));
+
+        assertThat(postService.getPostImageRanges(1L, 3, offsets, lengths))
+                .contains(List.of(ByteBuffer.wrap(new byte[]{6}), ByteBuffer.wrap(new byte[]{7, 8})));
+        verify(postRepository, never()).findImageById(anyLong());
+    }
+
+    @Test
+    void getPostsByIdsReturnsPostsInRequestOrderAndReportsMissingIds() {
+        Post second = Post.builder().id(2L).title("Second").text("Text").likesCount(0).viewCount(4L).build();
+        Long[] ids = {2L, 999L, 1L};
+        when(postRepository.findAllByIds(ids, PostField.ALL)).thenReturn(List.of(testPost, second));
+        when(postRepository.findTagsByPostIds(ids)).thenReturn(Map.of(1L, List.of("java")));
+        when(commentRepository.countByPostIds(ids)).thenReturn(Map.of(2L, 3));
+
+        PostBatchResponseDto result = postService.getPostsByIds(List.of(2L, 999L, 1L, 2L));
+
+        assertThat(result.getPosts()).extracting(PostDto::getId).containsExactly(2L, 1L);
+        assertThat(result.getPosts().get(0).getCommentsCount()).isEqualTo(3);
+        assertThat(result.getPosts().get(0).getTags()).isEmpty();
+        assertThat(result.getPosts().get(1).getTags()).containsExactly("java");
+        assertThat(result.getPosts().get(1).getCommentsCount()).isZero();
+        assertThat(result.getMissingIds()).containsExactly(999L);
+        verify(postRepository, never()).findById(anyLong());
+        verify(commentRepository, never()).countByPostId(anyLong());
+    }
+
+    @Test
+    void getPostsByIdsWithSparseFieldsSkipsTagAndCommentQueries() {
+        Set<PostField> fields = PostField.parse("title,commentsCount");
+        Long[] ids = {1L};
+        when(postRepository.findAllByIds(ids, fields)).thenReturn(List.of(Post.builder().id(1L).title("Test Post").build()));
+        when(commentRepository.countByPostIds(ids)).thenReturn(Map.of(1L, 2));
+
+        PostBatchResponseDto result = postService.getPostsByIds(List.of(1L), fields);
+
+        assertThat(result.getPosts().get(0).getCommentsCount()).isEqualTo(2);
+        assertThat(result.getPosts().get(0).getTags()).isNull();
+        verify(postRepository, never()).findTagsByPostIds(any());
+    }
+
+    @Test
+    void getPostsByIdsRejectsTooManyIds() {
+        List<Long> ids = LongStream.rangeClosed(1, PostService.MAX_BATCH_SIZE + 1).boxed().toList();
+
+        assertThatThrownBy(() -> postService.getPostsByIds(ids))
+                .isInstanceOf(ResponseStatusException.class);
+        verifyNoInteractions(postRepository);
     }
-}
\ No newline at end of file
+}
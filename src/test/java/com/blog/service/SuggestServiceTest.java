@@ -0,0 +1,77 @@
+package com.blog.service;
+
+import com.blog.dao.PostRepository;
+import com.blog.dto.SuggestionDto;
+import com.blog.event.PostCreated;
+import com.blog.event.PostDeleted;
+import com.blog.event.PostUpdated;
+import com.blog.model.PostSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SuggestServiceTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    private SuggestService suggestService;
+
+    @BeforeEach
+    void setUp() {
+        suggestService = new SuggestService(postRepository, 10);
+    }
+
+    @Test
+    void rebuildIndexesTitleTokensAndTagsByPopularity() {
+        when(postRepository.findAllSummaries()).thenReturn(List.of(
+                summary(1L, "Java Streams", Set.of("java")),
+                summary(2L, "Java records", Set.of("java", "jvm")),
+                summary(3L, "JavaScript promises", Set.of("javascript"))
+        ));
+
+        suggestService.rebuild();
+
+        assertThat(suggestService.suggest("Ja", 3))
+                .extracting(SuggestionDto::getText, SuggestionDto::getType, SuggestionDto::getPostsCount)
+                .containsExactly(
+                        tuple("java", "tag", 2),
+                        tuple("java", "title", 2),
+                        tuple("javascript", "tag", 1));
+    }
+
+    @Test
+    void updateReplacesOldTermsAndDeleteRemovesThem() {
+        suggestService.onEvents(List.of(new PostCreated(1L, "Spring Boot", Set.of("spring"), LocalDateTime.now())));
+
+        suggestService.onEvents(List.of(new PostUpdated(1L, "Quarkus", List.of("spring"), Set.of("quarkus"))));
+        assertThat(suggestService.suggest("sp", 10)).isEmpty();
+        assertThat(suggestService.suggest("qu", 10)).extracting(SuggestionDto::getText)
+                .containsExactly("quarkus", "quarkus");
+
+        suggestService.onEvents(List.of(new PostDeleted(1L, List.of("quarkus"))));
+        assertThat(suggestService.suggest("qu", 10)).isEmpty();
+    }
+
+    @Test
+    void blankPrefixReturnsNothing() {
+        suggestService.onEvents(List.of(new PostCreated(1L, "Spring Boot", Set.of(), LocalDateTime.now())));
+
+        assertThat(suggestService.suggest("  ", 10)).isEmpty();
+    }
+
+    private PostSummary summary(Long id, String title, Set<String> tags) {
+        return PostSummary.builder().id(id).title(title).tags(tags).build();
+    }
+}
@@ -0,0 +1,122 @@
+package com.blog.service;
+
+import com.blog.dao.PostRepository;
+import com.blog.dto.TagDto;
+import com.blog.event.PostCreated;
+import com.blog.event.PostDeleted;
+import com.blog.event.PostRefreshed;
+import com.blog.event.PostUpdated;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TagCloudServiceTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    private TagCloudService tagCloudService;
+
+    @BeforeEach
+    void setUp() {
+        tagCloudService = new TagCloudService(postRepository, 10);
+    }
+
+    @Test
+    void rebuildLoadsCountsAndReturnsTopTags() {
+        when(postRepository.findTagsOfAllPosts()).thenReturn(Map.of(
+                1L, Set.of("java", "sql"),
+                2L, Set.of("java", "sql", "spring"),
+                3L, Set.of("sql")));
+
+        tagCloudService.rebuild();
+
+        assertThat(tagCloudService.getTags(null, 2))
+                .extracting(TagDto::getTag, TagDto::getPostsCount)
+                .containsExactly(
+                        tuple("sql", 3),
+                        tuple("java", 2));
+    }
+
+    @Test
+    void prefixFiltersTags() {
+        tagCloudService.onEvents(List.of(
+                new PostCreated(1L, "First", Set.of("java", "javascript", "spring"), LocalDateTime.now()),
+                new PostCreated(2L, "Second", Set.of("javascript"), LocalDateTime.now())));
+
+        assertThat(tagCloudService.getTags("java", 10))
+                .extracting(TagDto::getTag)
+                .containsExactly("javascript", "java");
+    }
+
+    @Test
+    void removingLastPostDropsTag() {
+        tagCloudService.onEvents(List.of(
+                new PostCreated(1L, "First", Set.of("java", "spring"), LocalDateTime.now()),
+                new PostCreated(2L, "Second", Set.of("java"), LocalDateTime.now())));
+
+        tagCloudService.onEvents(List.of(new PostDeleted(1L, List.of("java", "spring"))));
+
+        assertThat(tagCloudService.getTags(null, 10))
+                .extracting(TagDto::getTag, TagDto::getPostsCount)
+                .containsExactly(tuple("java", 1));
+    }
+
+    @Test
+    void updateMovesCountsFromPreviousTags() {
+        tagCloudService.onEvents(List.of(new PostCreated(1L, "First", Set.of("java"), LocalDateTime.now())));
+
+        tagCloudService.onEvents(List.of(new PostUpdated(1L, "First", List.of("java"), Set.of("kotlin"))));
+
+        assertThat(tagCloudService.getTags(null, 10))
+                .extracting(TagDto::getTag, TagDto::getPostsCount)
+                .containsExactly(tuple("kotlin", 1));
+    }
+
+    @Test
+    void refreshFromAnotherNodeIsAppliedOnce() {
+        tagCloudService.onEvents(List.of(new PostCreated(1L, "First", Set.of("java"), LocalDateTime.now())));
+        PostRefreshed refreshed = new PostRefreshed(1L, "First", Set.of("java", "sql"), LocalDateTime.now(), 0, 0);
+
+        tagCloudService.onEvents(List.of(refreshed));
+        tagCloudService.onEvents(List.of(refreshed));
+
+        assertThat(tagCloudService.getTags(null, 10))
+                .extracting(TagDto::getTag, TagDto::getPostsCount)
+                .containsExactly(tuple("java", 1), tuple("sql", 1));
+    }
+
+    @Test
+    void deletionSeenOnlyAsMissingPostDropsItsTags() {
+        tagCloudService.onEvents(List.of(new PostCreated(1L, "First", Set.of("java"), LocalDateTime.now())));
+
+        tagCloudService.onEvents(List.of(new PostDeleted(1L, List.of())));
+
+        assertThat(tagCloudService.getTags(null, 10)).isEmpty();
+    }
+
+    @Test
+    void limitIsCappedAtMaxResults() {
+        Map<Long, Set<String>> tags = new HashMap<>();
+        for (long id = 1; id <= 20; id++) {
+            tags.put(id, Set.of("tag" + id));
+        }
+        when(postRepository.findTagsOfAllPosts()).thenReturn(tags);
+        tagCloudService.rebuild();
+
+        assertThat(tagCloudService.getTags(null, Integer.MAX_VALUE)).hasSize(10);
+    }
+}
@@ -0,0 +1,125 @@
+package com.blog.service;
+
+import com.blog.dao.PostRepository;
+import com.blog.dto.PostDto;
+import com.blog.event.CommentAdded;
+import com.blog.event.LikeAdded;
+import com.blog.event.PostCreated;
+import com.blog.event.PostDeleted;
+import com.blog.event.PostUpdated;
+import com.blog.model.PostSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TrendingServiceTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    private TrendingService trendingService;
+
+    @BeforeEach
+    void setUp() {
+        trendingService = new TrendingService(postRepository, 2, 2, 24, 10);
+    }
+
+    @Test
+    void reconcileRanksPostsByDecayedScore() {
+        LocalDateTime now = LocalDateTime.now();
+        when(postRepository.findTrendingCandidates(20)).thenReturn(List.of(
+                summary(1L, 10, 0, now.minusDays(3)),
+                summary(2L, 10, 0, now),
+                summary(3L, 0, 4, now.minusHours(1))
+        ));
+
+        trendingService.reconcile();
+
+        assertThat(trendingService.getTrending(10))
+                .extracting(PostDto::getId)
+                .containsExactly(2L, 3L);
+    }
+
+    @Test
+    void likesMovePostIntoTopWithoutReconcile() {
+        LocalDateTime now = LocalDateTime.now();
+        when(postRepository.findTrendingCandidates(20)).thenReturn(List.of(
+                summary(1L, 5, 0, now),
+                summary(2L, 3, 0, now),
+                summary(3L, 0, 0, now)
+        ));
+        trendingService.reconcile();
+
+        for (int likes = 1; likes <= 10; likes++) {
+            trendingService.onEvents(List.of(new LikeAdded(3L, likes)));
+        }
+
+        List<PostDto> trending = trendingService.getTrending(10);
+        assertThat(trending).extracting(PostDto::getId).containsExactly(3L, 1L);
+        assertThat(trending.get(0).getLikesCount()).isEqualTo(10);
+    }
+
+    @Test
+    void eventsAppliedWhileReconcilingAreKept() {
+        LocalDateTime now = LocalDateTime.now();
+        when(postRepository.findTrendingCandidates(20)).thenAnswer(invocation -> {
+            trendingService.onEvents(List.of(new LikeAdded(3L, 50)));
+            return List.of(
+                    summary(1L, 5, 0, now),
+                    summary(2L, 3, 0, now),
+                    summary(3L, 0, 0, now));
+        });
+
+        trendingService.reconcile();
+
+        List<PostDto> trending = trendingService.getTrending(10);
+        assertThat(trending).extracting(PostDto::getId).containsExactly(3L, 1L);
+        assertThat(trending.get(0).getLikesCount()).isEqualTo(50);
+    }
+
+    @Test
+    void deletedPostLeavesTrending() {
+        trendingService.onEvents(List.of(
+                new PostCreated(1L, "First", Set.of("java"), LocalDateTime.now()),
+                new CommentAdded(1L, 10L)));
+
+        trendingService.onEvents(List.of(new PostDeleted(1L, List.of("java"))));
+
+        assertThat(trendingService.getTrending(10)).isEmpty();
+    }
+
+    @Test
+    void updatedPostKeepsCountsAndShowsNewTitle() {
+        trendingService.onEvents(List.of(
+                new PostCreated(1L, "Old", Set.of(), LocalDateTime.now()),
+                new LikeAdded(1L, 1)));
+
+        trendingService.onEvents(List.of(new PostUpdated(1L, "New", List.of(), Set.of("spring"))));
+
+        PostDto post = trendingService.getTrending(1).get(0);
+        assertThat(post.getTitle()).isEqualTo("New");
+        assertThat(post.getTags()).containsExactly("spring");
+        assertThat(post.getLikesCount()).isEqualTo(1);
+    }
+
+    private PostSummary summary(Long id, int likes, int comments, LocalDateTime createdAt) {
+        return PostSummary.builder()
+                .id(id)
+                .title("Post " + id)
+                .tags(Set.of())
+                .likesCount(likes)
+                .commentsCount(comments)
+                .createdAt(createdAt)
+                .build();
+    }
+}
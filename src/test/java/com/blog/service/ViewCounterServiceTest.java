@@ -0,0 +1,82 @@
+package com.blog.service;
+
+import com.blog.dao.PostRepository;
+import com.blog.event.PostDeleted;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ViewCounterServiceTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @InjectMocks
+    private ViewCounterService viewCounterService;
+
+    @Test
+    void flushWritesAllPendingViewsInOneSortedBatch() {
+        viewCounterService.recordView(2L);
+        viewCounterService.recordView(1L);
+        viewCounterService.recordView(2L);
+
+        viewCounterService.flush();
+
+        verify(postRepository).incrementViewCounts(new Long[]{1L, 2L}, new Long[]{1L, 2L});
+        assertThat(viewCounterService.pendingViews(2L)).isZero();
+    }
+
+    @Test
+    void flushedPostsStopBeingTracked() {
+        viewCounterService.recordView(1L);
+        viewCounterService.recordView(2L);
+
+        viewCounterService.flush();
+        assertThat(viewCounterService.trackedPosts()).isZero();
+
+        viewCounterService.recordView(1L);
+        viewCounterService.flush();
+
+        verify(postRepository).incrementViewCounts(new Long[]{1L}, new Long[]{1L});
+        assertThat(viewCounterService.trackedPosts()).isZero();
+    }
+
+    @Test
+    void flushWithoutViewsIssuesNoStatement() {
+        viewCounterService.flush();
+
+        verify(postRepository, never()).incrementViewCounts(any(), any());
+    }
+
+    @Test
+    void failedFlushKeepsViewsPending() {
+        viewCounterService.recordView(1L);
+        doThrow(new DataAccessResourceFailureException("down"))
+                .when(postRepository).incrementViewCounts(any(), any());
+
+        viewCounterService.flush();
+
+        assertThat(viewCounterService.pendingViews(1L)).isEqualTo(1);
+        assertThat(viewCounterService.trackedPosts()).isEqualTo(1);
+    }
+
+    @Test
+    void deletedPostViewsAreDiscarded() {
+        viewCounterService.recordView(1L);
+
+        viewCounterService.onEvents(List.of(new PostDeleted(1L, List.of())));
+        viewCounterService.flush();
+
+        verify(postRepository, never()).incrementViewCounts(any(), any());
+    }
+}
@@ -0,0 +1,48 @@
+package com.blog.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void putReportsWhetherValueWasNew() {
+        BloomFilter filter = new BloomFilter();
+        long hash = SketchHash.hash("alice");
+
+        assertThat(filter.mightContain(hash)).isFalse();
+        assertThat(filter.put(hash)).isTrue();
+        assertThat(filter.put(hash)).isFalse();
+        assertThat(filter.mightContain(hash)).isTrue();
+    }
+
+    @Test
+    void falsePositiveRateStaysLowAtDesignCapacity() {
+        BloomFilter filter = new BloomFilter();
+        for (int i = 0; i < 1_000; i++) {
+            filter.put(SketchHash.hash("client-" + i));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(SketchHash.hash("other-" + i))) falsePositives++;
+        }
+        assertThat(falsePositives).isLessThan(100);
+    }
+
+    @Test
+    void mergeAndSerializationKeepMembers() {
+        BloomFilter first = new BloomFilter();
+        BloomFilter second = new BloomFilter();
+        first.put(SketchHash.hash("alice"));
+        second.put(SketchHash.hash("bob"));
+
+        BloomFilter merged = BloomFilter.fromBytes(first.toBytes());
+        merged.merge(second);
+
+        assertThat(merged.toBytes()).hasSize(BloomFilter.SIZE_BYTES);
+        assertThat(merged.mightContain(SketchHash.hash("alice"))).isTrue();
+        assertThat(merged.mightContain(SketchHash.hash("bob"))).isTrue();
+    }
+}
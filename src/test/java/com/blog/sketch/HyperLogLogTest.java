@@ -0,0 +1,40 @@
+package com.blog.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class HyperLogLogTest {
+
+    @Test
+    void estimatesSmallAndLargeCardinalities() {
+        HyperLogLog small = new HyperLogLog();
+        for (int i = 0; i < 10; i++) {
+            small.add(SketchHash.hash("client-" + i));
+            small.add(SketchHash.hash("client-" + i));
+        }
+        assertThat(small.estimate()).isEqualTo(10);
+
+        HyperLogLog large = new HyperLogLog();
+        for (int i = 0; i < 100_000; i++) {
+            large.add(SketchHash.hash("client-" + i));
+        }
+        assertThat((double) large.estimate()).isCloseTo(100_000, within(10_000.0));
+    }
+
+    @Test
+    void mergeCountsUnionOnce() {
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        for (int i = 0; i < 1_000; i++) {
+            first.add(SketchHash.hash("client-" + i));
+            second.add(SketchHash.hash("client-" + (i + 500)));
+        }
+
+        HyperLogLog merged = HyperLogLog.fromBytes(first.toBytes());
+        merged.merge(second);
+
+        assertThat((double) merged.estimate()).isCloseTo(1_500, within(150.0));
+    }
+}
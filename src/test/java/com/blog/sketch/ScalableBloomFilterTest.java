@@ -0,0 +1,73 @@
+package com.blog.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScalableBloomFilterTest {
+
+    @Test
+    void growsInsteadOfSaturating() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(0.5);
+        for (int i = 0; i < 20_000; i++) {
+            filter.put(SketchHash.hash("client-" + i));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(SketchHash.hash("other-" + i))) falsePositives++;
+        }
+        assertThat(filter.layerCount()).isGreaterThan(1);
+        assertThat(falsePositives).isLessThan(200);
+        for (int i = 0; i < 20_000; i++) {
+            assertThat(filter.mightContain(SketchHash.hash("client-" + i))).isTrue();
+        }
+    }
+
+    @Test
+    void serializationKeepsEveryLayer() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(0.5);
+        for (int i = 0; i < 3_000; i++) {
+            filter.put(SketchHash.hash("client-" + i));
+        }
+
+        ScalableBloomFilter copy = ScalableBloomFilter.fromBytes(filter.toBytes(), 0.5);
+
+        assertThat(copy.layerCount()).isEqualTo(filter.layerCount());
+        assertThat(copy.toBytes()).isEqualTo(filter.toBytes());
+    }
+
+    @Test
+    void mergeTakesLayersTheOtherFilterAdded() {
+        ScalableBloomFilter small = new ScalableBloomFilter(0.5);
+        ScalableBloomFilter grown = new ScalableBloomFilter(0.5);
+        small.put(SketchHash.hash("alice"));
+        for (int i = 0; i < 3_000; i++) {
+            grown.put(SketchHash.hash("client-" + i));
+        }
+
+        small.merge(grown);
+
+        assertThat(small.layerCount()).isEqualTo(grown.layerCount());
+        assertThat(small.mightContain(SketchHash.hash("alice"))).isTrue();
+        assertThat(small.mightContain(SketchHash.hash("client-2999"))).isTrue();
+    }
+
+    @Test
+    void plainBloomFilterReadsAsOneLayer() {
+        BloomFilter plain = new BloomFilter();
+        plain.put(SketchHash.hash("alice"));
+
+        ScalableBloomFilter filter = ScalableBloomFilter.fromBytes(plain.toBytes(), 0.5);
+
+        assertThat(filter.layerCount()).isEqualTo(1);
+        assertThat(filter.mightContain(SketchHash.hash("alice"))).isTrue();
+    }
+
+    @Test
+    void truncatedBytesAreRejected() {
+        assertThatThrownBy(() -> ScalableBloomFilter.fromBytes(new byte[BloomFilter.SIZE_BYTES + 8], 0.5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,98 @@
+package com.blog.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlFilterTest {
+
+    private static final String ALICE = "10.0.0.1";
+    private static final String BOB = "10.0.0.2";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void clientOverItsBurstGetsTooManyRequestsWithRetryAfter() throws Exception {
+        AdmissionControlFilter filter = filter(1, 2, Map.of());
+
+        assertThat(perform(filter, ALICE, "GET", "/api/posts", new MockFilterChain()).getStatus()).isEqualTo(200);
+        assertThat(perform(filter, ALICE, "GET", "/api/posts", new MockFilterChain()).getStatus()).isEqualTo(200);
+        MockHttpServletResponse rejected = perform(filter, ALICE, "GET", "/api/posts", new MockFilterChain());
+
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(perform(filter, BOB, "GET", "/api/posts", new MockFilterChain()).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void rotatingClientIdFromOneAddressDoesNotBypassRateLimit() throws Exception {
+        AdmissionControlFilter filter = filter(1, 2, Map.of());
+
+        for (int i = 0; i < 2; i++) {
+            assertThat(perform(filter, ALICE, "crawler-" + i, "GET", "/api/posts", new MockFilterChain()).getStatus())
+                    .isEqualTo(200);
+        }
+        assertThat(perform(filter, ALICE, "crawler-2", "GET", "/api/posts", new MockFilterChain()).getStatus())
+                .isEqualTo(429);
+        assertThat(meterRegistry.get("blog.admission.clients").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void endpointAtItsConcurrencyLimitShedsLoad() throws Exception {
+        Map<String, Integer> concurrency = new LinkedHashMap<>();
+        concurrency.put("GET /api/posts", 1);
+        AdmissionControlFilter filter = filter(1000, 1000, concurrency);
+
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+        FilterChain slowRequest = (request, response) ->
+                nested.set(perform(filter, BOB, "GET", "/api/posts", new MockFilterChain()));
+        perform(filter, ALICE, "GET", "/api/posts", slowRequest);
+
+        assertThat(nested.get().getStatus()).isEqualTo(503);
+        assertThat(nested.get().getHeader("Retry-After")).isEqualTo("1");
+        assertThat(perform(filter, BOB, "GET", "/api/posts", new MockFilterChain()).getStatus()).isEqualTo(200);
+        assertThat(perform(filter, BOB, "GET", "/api/posts/1", new MockFilterChain()).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void requestsOutsideApiAreNotLimited() throws Exception {
+        AdmissionControlFilter filter = filter(1, 1, Map.of());
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(perform(filter, ALICE, "GET", "/actuator/health", new MockFilterChain()).getStatus()).isEqualTo(200);
+        }
+    }
+
+    private AdmissionControlFilter filter(double ratePerSecond, int burst, Map<String, Integer> concurrency) {
+        return new AdmissionControlFilter(new ObjectMapper(), meterRegistry, ratePerSecond, burst, concurrency);
+    }
+
+    private MockHttpServletResponse perform(AdmissionControlFilter filter, String address, String method, String path,
+                                            FilterChain chain) {
+        return perform(filter, address, address, method, path, chain);
+    }
+
+    private MockHttpServletResponse perform(AdmissionControlFilter filter, String address, String clientId,
+                                            String method, String path, FilterChain chain) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(address);
+        request.addHeader(ClientContext.CLIENT_ID_HEADER, clientId);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,63 @@
+package com.blog.web;
+
+import com.blog.dto.CommentDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SerializedPayloadHttpMessageConverterTest {
+
+    private final ObjectMapper jsonMapper = new ObjectMapper().registerModule(new BlackbirdModule());
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory()).registerModule(new BlackbirdModule());
+    private final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory()).registerModule(new BlackbirdModule());
+
+    private final SerializedPayloadHttpMessageConverter converter =
+            new SerializedPayloadHttpMessageConverter(jsonMapper, smileMapper, cborMapper);
+
+    private final SerializedPayload<CommentDto> payload =
+            SerializedPayload.of(CommentDto.builder().id(1L).text("Hello").postId(2L).build());
+
+    @Test
+    void writesJsonByDefault() throws Exception {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        converter.write(payload, null, output);
+
+        assertThat(output.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(output.getHeaders().getContentLength()).isEqualTo(output.getBodyAsBytes().length);
+        assertThat(jsonMapper.readValue(output.getBodyAsBytes(), CommentDto.class)).isEqualTo(payload.value());
+    }
+
+    @Test
+    void writesSmileAndCborWhenRequested() throws Exception {
+        MockHttpOutputMessage smile = new MockHttpOutputMessage();
+        MockHttpOutputMessage cbor = new MockHttpOutputMessage();
+
+        converter.write(payload, SerializedPayloadHttpMessageConverter.APPLICATION_SMILE, smile);
+        converter.write(payload, MediaType.APPLICATION_CBOR, cbor);
+
+        assertThat(smileMapper.readValue(smile.getBodyAsBytes(), CommentDto.class)).isEqualTo(payload.value());
+        assertThat(cborMapper.readValue(cbor.getBodyAsBytes(), CommentDto.class)).isEqualTo(payload.value());
+    }
+
+    @Test
+    void serializesEachFormatOnce() throws Exception {
+        assertThat(payload.bytes(jsonMapper)).isSameAs(payload.bytes(jsonMapper));
+        assertThat(payload.bytes(smileMapper)).isNotSameAs(payload.bytes(jsonMapper));
+    }
+
+    @Test
+    void onlyWritesPayloads() {
+        assertThat(converter.canWrite(SerializedPayload.class, MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(converter.canWrite(List.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canRead(SerializedPayload.class, MediaType.APPLICATION_JSON)).isFalse();
+    }
+}
@@ -1,31 +0,0 @@
--- schema.sql PostgreSQL
-
-DROP TABLE IF EXISTS comments CASCADE;
-DROP TABLE IF EXISTS post_tags CASCADE;
-DROP TABLE IF EXISTS posts CASCADE;
-
-CREATE TABLE posts (
-                       id BIGSERIAL PRIMARY KEY,
-                       title VARCHAR(255) NOT NULL,
-                       text TEXT NOT NULL,
-                       likes_count INT DEFAULT 0,
-                       image BYTEA,
-                       created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                       updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
-);
-
-CREATE TABLE comments (
-                          id BIGSERIAL PRIMARY KEY,
-                          text TEXT NOT NULL,
-                          post_id BIGINT NOT NULL,
-                          created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                          updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                          CONSTRAINT fk_comments_post FOREIGN KEY (post_id) REFERENCES posts(id) ON DELETE CASCADE
-);
-
-CREATE TABLE post_tags (
-                           post_id BIGINT NOT NULL,
-                           tag VARCHAR(50) NOT NULL,
-                           CONSTRAINT fk_post_tags_post FOREIGN KEY (post_id) REFERENCES posts(id) ON DELETE CASCADE,
-                           PRIMARY KEY (post_id, tag)
-);
\ No newline at end of file